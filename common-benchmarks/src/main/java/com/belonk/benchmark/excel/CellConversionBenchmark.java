@@ -0,0 +1,124 @@
+package com.belonk.benchmark.excel;
+
+import com.belonk.msoffice.excel.ExcelCellDef;
+import com.belonk.msoffice.excel.ExcelCellValue;
+import com.belonk.msoffice.excel.ExcelRowDef;
+import com.belonk.msoffice.excel.util.POIExcelUtil;
+import org.apache.poi.ss.usermodel.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.IOException;
+import java.text.DecimalFormat;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Excel导入时单元格转换的基准测试。
+ * <p>
+ * 在加载好的工作表上比较预编译转换器和原先每个单元格创建<code>DecimalFormat</code>/<code>SimpleDateFormat</code>的转换方式，
+ * 日期列分别按{@link Date}和文本读取，另外测试完整的{@link POIExcelUtil#getSheetData}。
+ * <p>
+ * 运行：<code>java -jar common-benchmarks/target/benchmarks.jar CellConversionBenchmark</code>
+ * <p>
+ * Created by sun on 2026/10/19.
+ *
+ * @author sunfuchang03@126.com
+ * @version 1.0
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+public class CellConversionBenchmark {
+    //~ Instance fields ================================================================================================
+
+    @Param({"100000"})
+    public int rows;
+
+    @Param({"java.util.Date", "java.lang.String"})
+    public String dateType;
+
+    private Sheet sheet;
+    private ExcelRowDef rowDef;
+
+    //~ Methods ========================================================================================================
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException, ClassNotFoundException {
+        File file = SyntheticWorkbooks.xlsx(rows, 1);
+        sheet = POIExcelUtil.createWorkbook(file).getSheetAt(0);
+        rowDef = SyntheticWorkbooks.rowDef();
+        rowDef.getCell(3).setJavaType(Class.forName(dateType));
+    }
+
+    @Benchmark
+    public void converter(Blackhole blackhole) {
+        ExcelCellValue cellValue = new ExcelCellValue();
+        for (int i = 1; i <= sheet.getLastRowNum(); i++) {
+            Row row = sheet.getRow(i);
+            for (int j = 0; j < rowDef.getExcelCellDefListSize(); j++) {
+                cellValue.set(row.getCell(j));
+                if (cellValue.getType() == Cell.CELL_TYPE_NUMERIC) {
+                    blackhole.consume(rowDef.getCell(j).getConverter().convert(cellValue));
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void legacy(Blackhole blackhole) {
+        ExcelCellValue cellValue = new ExcelCellValue();
+        for (int i = 1; i <= sheet.getLastRowNum(); i++) {
+            Row row = sheet.getRow(i);
+            for (int j = 0; j < rowDef.getExcelCellDefListSize(); j++) {
+                cellValue.set(row.getCell(j));
+                if (cellValue.getType() == Cell.CELL_TYPE_NUMERIC) {
+                    blackhole.consume(legacyConvert(cellValue, rowDef.getCell(j)));
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public List<List<Object>> getSheetData() {
+        return POIExcelUtil.getSheetData(sheet, rowDef, 1, new ArrayList<Object>());
+    }
+
+    /**
+     * 原先的数值单元格转换方式
+     */
+    private static Object legacyConvert(ExcelCellValue cell, ExcelCellDef cellDef) {
+        if (cell.isDateFormatted()) {
+            if (Date.class.getName().equals(cellDef.getJavaType().getName())) {
+                return cell.getDateValue();
+            }
+            SimpleDateFormat sdf;
+            if (cell.getDataFormat() == BuiltinFormats.getBuiltinFormat("h:mm")) {
+                sdf = new SimpleDateFormat("HH:mm");
+            } else {
+                sdf = new SimpleDateFormat("yyyy-MM-dd");
+            }
+            return sdf.format(cell.getDateValue());
+        }
+        double value = cell.getNumericValue();
+        int valueInt = (int) value;
+        DecimalFormat format = new DecimalFormat("#");
+        boolean isIntegerNum = value == valueInt;
+        if (Long.class.getName().equals(cellDef.getJavaType().getName())) {
+            return isIntegerNum ? Long.valueOf(format.format(value)) : null;
+        } else if (Integer.class.getName().equals(cellDef.getJavaType().getName())) {
+            return isIntegerNum ? Integer.valueOf(format.format(value)) : null;
+        } else if (Double.class.getName().equals(cellDef.getJavaType().getName())) {
+            return value;
+        }
+        return String.valueOf(value);
+    }
+}
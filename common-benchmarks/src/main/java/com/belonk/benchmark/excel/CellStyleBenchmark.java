@@ -0,0 +1,95 @@
+package com.belonk.benchmark.excel;
+
+import com.belonk.msoffice.excel.ExcelStyle;
+import com.belonk.msoffice.excel.util.ExcelStyleRegistry;
+import com.belonk.msoffice.excel.util.POIExcelUtil;
+import org.apache.poi.ss.usermodel.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 单元格样式设置的基准测试。
+ * <p>
+ * 在已写入数据的工作表上为所有单元格设置样式：按列预先获取样式后直接设置，与每个单元格都通过{@link ExcelStyleRegistry#get(ExcelStyle)}
+ * 查找样式比较，后者的差值即注册表按样式属性查找的开销。配合GC分析器同时输出吞吐量和内存分配速率。
+ * <p>
+ * 运行：<code>java -jar common-benchmarks/target/benchmarks.jar CellStyleBenchmark -prof gc</code>
+ * <p>
+ * Created by sun on 2026/10/19.
+ *
+ * @author sunfuchang03@126.com
+ * @version 1.0
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+public class CellStyleBenchmark {
+    //~ Instance fields ================================================================================================
+
+    @Param({"HSSF", "XSSF"})
+    public String workbookType;
+
+    @Param({"10000"})
+    public int rows;
+
+    private Sheet sheet;
+    private ExcelStyleRegistry styleRegistry;
+    private ExcelStyle[] styles;
+    private CellStyle[] columnStyles;
+
+    //~ Methods ========================================================================================================
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Workbook workbook = "HSSF".equals(workbookType) ? POIExcelUtil.createHSSFWorkbook() : POIExcelUtil.createXSSFWorkbook();
+        sheet = workbook.createSheet("sheet0");
+        POIExcelUtil.setHeader(sheet, SyntheticWorkbooks.HEADERS);
+        POIExcelUtil.setWorkbookData(sheet, SyntheticWorkbooks.rows(rows, 0));
+        styleRegistry = new ExcelStyleRegistry(workbook);
+        styles = new ExcelStyle[SyntheticWorkbooks.HEADERS.length];
+        for (int i = 0; i < styles.length; i++) {
+            // 每次都新建样式定义，查找时需要按属性比较
+            styles[i] = new ExcelStyle.Builder(ExcelStyle.BORDERED)
+                    .dataFormat(i == 3 ? "yyyy-MM-dd" : null)
+                    .build();
+        }
+        columnStyles = styleRegistry.get(styles);
+    }
+
+    /**
+     * 按列预先获取样式
+     */
+    @Benchmark
+    public int columnStyles() {
+        int count = 0;
+        for (int i = 1; i <= rows; i++) {
+            Row row = sheet.getRow(i);
+            for (int j = 0; j < columnStyles.length; j++) {
+                row.getCell(j).setCellStyle(columnStyles[j]);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 每个单元格都从注册表查找样式
+     */
+    @Benchmark
+    public int registryPerCell() {
+        int count = 0;
+        for (int i = 1; i <= rows; i++) {
+            Row row = sheet.getRow(i);
+            for (int j = 0; j < styles.length; j++) {
+                row.getCell(j).setCellStyle(styleRegistry.get(styles[j]));
+                count++;
+            }
+        }
+        return count;
+    }
+}
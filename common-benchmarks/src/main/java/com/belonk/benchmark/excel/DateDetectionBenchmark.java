@@ -0,0 +1,97 @@
+package com.belonk.benchmark.excel;
+
+import com.belonk.msoffice.excel.ExcelDateFormat;
+import com.belonk.msoffice.excel.ExcelDateFormatCache;
+import com.belonk.msoffice.excel.ExcelFormat;
+import com.belonk.msoffice.excel.util.POIExcelUtil;
+import org.apache.poi.ss.usermodel.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 日期格式判断的基准测试。
+ * <p>
+ * 对合成工作表中所有数值单元格判断是否为日期格式，比较POI的{@link DateUtil#isCellDateFormatted}、
+ * {@link ExcelDateFormat#isCellDateFormatted}和按数据格式索引缓存的{@link ExcelDateFormatCache}。缓存在每次调用时新建，
+ * 包含解析格式的开销。配合GC分析器同时输出吞吐量和内存分配速率。
+ * <p>
+ * 运行：<code>java -jar common-benchmarks/target/benchmarks.jar DateDetectionBenchmark -prof gc</code>
+ * <p>
+ * Created by sun on 2026/10/19.
+ *
+ * @author sunfuchang03@126.com
+ * @version 1.0
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+public class DateDetectionBenchmark {
+    //~ Instance fields ================================================================================================
+
+    @Param({"XLS", "XLSX"})
+    public ExcelFormat format;
+
+    @Param({"10000"})
+    public int rows;
+
+    private Workbook workbook;
+    private Cell[] cells;
+
+    //~ Methods ========================================================================================================
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        workbook = POIExcelUtil.createWorkbook(SyntheticWorkbooks.workbook(format, rows, 1));
+        List<Cell> numericCells = new ArrayList<Cell>();
+        for (Row row : workbook.getSheetAt(0)) {
+            for (Cell cell : row) {
+                if (cell.getCellType() == Cell.CELL_TYPE_NUMERIC) {
+                    numericCells.add(cell);
+                }
+            }
+        }
+        cells = numericCells.toArray(new Cell[numericCells.size()]);
+    }
+
+    @Benchmark
+    public int dateUtil() {
+        int dates = 0;
+        for (Cell cell : cells) {
+            if (DateUtil.isCellDateFormatted(cell)) {
+                dates++;
+            }
+        }
+        return dates;
+    }
+
+    @Benchmark
+    public int excelDateFormat() {
+        int dates = 0;
+        for (Cell cell : cells) {
+            if (ExcelDateFormat.isCellDateFormatted(cell)) {
+                dates++;
+            }
+        }
+        return dates;
+    }
+
+    @Benchmark
+    public int cache() {
+        ExcelDateFormatCache cache = ExcelDateFormatCache.of(workbook);
+        int dates = 0;
+        for (Cell cell : cells) {
+            if (cache.isCellDateFormatted(cell)) {
+                dates++;
+            }
+        }
+        return dates;
+    }
+}
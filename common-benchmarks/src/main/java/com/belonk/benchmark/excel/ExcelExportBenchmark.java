@@ -0,0 +1,131 @@
+package com.belonk.benchmark.excel;
+
+import com.belonk.msoffice.excel.ExcelStyle;
+import com.belonk.msoffice.excel.util.ExcelStyleRegistry;
+import com.belonk.msoffice.excel.util.POIExcelUtil;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Excel导出的基准测试。
+ * <p>
+ * 使用{@link POIExcelUtil#setWorkbookData(Sheet, java.util.Iterator, CellStyle[])}写入合成数据，比较.xls、.xlsx和流式写入的.xlsx，
+ * 以及不设置样式、整行使用同一样式和按列使用{@link ExcelStyleRegistry}样式的差异。{@link #write}另外包含输出工作簿的时间。
+ * 配合GC分析器同时输出吞吐量和内存分配速率。
+ * <p>
+ * 运行：<code>java -jar common-benchmarks/target/benchmarks.jar ExcelExportBenchmark -prof gc</code>
+ * <p>
+ * Created by sun on 2026/10/19.
+ *
+ * @author sunfuchang03@126.com
+ * @version 1.0
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+public class ExcelExportBenchmark {
+    //~ Static fields/initializers =====================================================================================
+
+    private static final ExcelStyle[] COLUMN_STYLES = {
+            ExcelStyle.BORDERED, ExcelStyle.BORDERED, ExcelStyle.BORDERED,
+            new ExcelStyle.Builder(ExcelStyle.BORDERED).dataFormat("yyyy-MM-dd").build(), ExcelStyle.BORDERED
+    };
+
+    //~ Instance fields ================================================================================================
+
+    @Param({"HSSF", "XSSF", "SXSSF"})
+    public String workbookType;
+
+    @Param({"10000"})
+    public int rows;
+
+    /**
+     * NONE：不设置样式；SHARED：所有单元格使用{@link POIExcelUtil#getCellStyle}创建的同一样式；COLUMN：按列使用注册表中的样式
+     */
+    @Param({"NONE", "SHARED", "COLUMN"})
+    public String styles;
+
+    //~ Methods ========================================================================================================
+
+    /**
+     * 写入数据行
+     */
+    @Benchmark
+    public int setWorkbookData() {
+        Workbook workbook = createWorkbook();
+        try {
+            return fill(workbook);
+        } finally {
+            dispose(workbook);
+        }
+    }
+
+    /**
+     * 写入数据行并输出工作簿
+     */
+    @Benchmark
+    public int write() throws IOException {
+        Workbook workbook = createWorkbook();
+        try {
+            int count = fill(workbook);
+            workbook.write(new NullOutputStream());
+            return count;
+        } finally {
+            dispose(workbook);
+        }
+    }
+
+    private int fill(Workbook workbook) {
+        Sheet sheet = workbook.createSheet("sheet0");
+        POIExcelUtil.setHeader(sheet, SyntheticWorkbooks.HEADERS);
+        CellStyle[] columnStyles = null;
+        if ("SHARED".equals(styles)) {
+            CellStyle cellStyle = POIExcelUtil.getCellStyle(workbook, false);
+            columnStyles = new CellStyle[]{cellStyle, cellStyle, cellStyle, cellStyle, cellStyle};
+        } else if ("COLUMN".equals(styles)) {
+            columnStyles = new ExcelStyleRegistry(workbook).get(COLUMN_STYLES);
+        }
+        return POIExcelUtil.setWorkbookData(sheet, SyntheticWorkbooks.rows(rows, 0), columnStyles);
+    }
+
+    private Workbook createWorkbook() {
+        switch (workbookType) {
+            case "HSSF":
+                return POIExcelUtil.createHSSFWorkbook();
+            case "XSSF":
+                return POIExcelUtil.createXSSFWorkbook();
+            default:
+                return POIExcelUtil.createSXSSFWorkbook();
+        }
+    }
+
+    private static void dispose(Workbook workbook) {
+        if (workbook instanceof SXSSFWorkbook) {
+            ((SXSSFWorkbook) workbook).dispose();
+        }
+    }
+
+    /**
+     * 丢弃所有数据的输出流
+     */
+    private static class NullOutputStream extends OutputStream {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.belonk.benchmark.excel;
+
+import com.belonk.msoffice.excel.ExcelFormat;
+import com.belonk.msoffice.excel.ExcelRowDef;
+import com.belonk.msoffice.excel.stream.ExcelRowHandler;
+import com.belonk.msoffice.excel.stream.ExcelStreamReader;
+import com.belonk.msoffice.excel.util.ExcelWorkbookFile;
+import com.belonk.msoffice.excel.util.POIExcelUtil;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Excel导入的基准测试。
+ * <p>
+ * 分别测试已加载工作簿上的{@link POIExcelUtil#getSheetData}、按文件打开工作簿后读取，以及{@link ExcelStreamReader}流式读取，
+ * xls和xlsx使用内容相同的合成文件。配合GC分析器同时输出吞吐量和内存分配速率。
+ * <p>
+ * 运行：<code>java -jar common-benchmarks/target/benchmarks.jar ExcelImportBenchmark -prof gc</code>
+ * <p>
+ * Created by sun on 2026/10/19.
+ *
+ * @author sunfuchang03@126.com
+ * @version 1.0
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+public class ExcelImportBenchmark {
+    //~ Instance fields ================================================================================================
+
+    @Param({"XLS", "XLSX"})
+    public ExcelFormat format;
+
+    @Param({"10000"})
+    public int rows;
+
+    private File file;
+    private Workbook workbook;
+    private ExcelRowDef rowDef;
+
+    //~ Methods ========================================================================================================
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        file = SyntheticWorkbooks.workbook(format, rows, 1);
+        workbook = POIExcelUtil.createWorkbook(file);
+        rowDef = SyntheticWorkbooks.rowDef();
+    }
+
+    /**
+     * 已加载的工作簿上读取数据，只包含校验和转换
+     */
+    @Benchmark
+    public List<List<Object>> getSheetData() {
+        return POIExcelUtil.getSheetData(workbook.getSheetAt(0), rowDef, 1, new ArrayList<Object>());
+    }
+
+    /**
+     * 按文件打开工作簿并读取数据
+     */
+    @Benchmark
+    public List<List<Object>> openAndGetSheetData() throws IOException {
+        try (ExcelWorkbookFile workbookFile = ExcelWorkbookFile.open(file)) {
+            return POIExcelUtil.getSheetData(workbookFile.getWorkbook().getSheetAt(0), rowDef, 1, new ArrayList<Object>());
+        }
+    }
+
+    /**
+     * 流式读取
+     */
+    @Benchmark
+    public int streamRead(Blackhole blackhole) throws IOException {
+        return new ExcelStreamReader(rowDef, new ExcelRowHandler() {
+            @Override
+            public void handle(int rowNum, List<Object> rowData) {
+                blackhole.consume(rowData);
+            }
+
+            @Override
+            public void handleError(int rowNum, List<Object> errorData) {
+                blackhole.consume(errorData);
+            }
+        }).read(file, new ArrayList<Object>());
+    }
+}
@@ -0,0 +1,188 @@
+package com.belonk.benchmark.excel;
+
+import com.belonk.msoffice.excel.ExcelFormat;
+import com.belonk.msoffice.excel.ExcelRowDef;
+import com.belonk.msoffice.excel.ExcelStyle;
+import com.belonk.msoffice.excel.util.ExcelStyleRegistry;
+import com.belonk.msoffice.excel.util.POIExcelUtil;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * 基准测试用的合成Excel文件生成器。
+ * <p>
+ * 生成的工作表包含名称、数量、价格、日期、编号五列，第一行为表头，内容由固定随机种子生成，相同参数生成的文件完全一致。
+ * 已生成的文件会被复用，避免每次fork都重新生成。
+ * <p>
+ * Created by sun on 2026/10/19.
+ *
+ * @author sunfuchang03@126.com
+ * @version 1.0
+ * @since 1.0
+ */
+public class SyntheticWorkbooks {
+    //~ Static fields/initializers =====================================================================================
+
+    public static final String[] HEADERS = {"名称", "数量", "价格", "日期", "编号"};
+
+    private static final File DIR = new File(System.getProperty("java.io.tmpdir"), "common-benchmarks");
+    private static final long START_DATE = 1546300800000L;
+
+    //~ Constructors ===================================================================================================
+
+    private SyntheticWorkbooks() {
+    }
+
+    //~ Methods ========================================================================================================
+
+    /**
+     * 与合成工作表对应的行定义，日期列按{@link Date}读取
+     *
+     * @return 行定义
+     */
+    public static ExcelRowDef rowDef() {
+        ExcelRowDef rowDef = new ExcelRowDef(HEADERS.length);
+        rowDef.addCell(HEADERS[0], Cell.CELL_TYPE_STRING, String.class, true);
+        rowDef.addCell(HEADERS[1], Cell.CELL_TYPE_NUMERIC, Integer.class);
+        rowDef.addCell(HEADERS[2], Cell.CELL_TYPE_NUMERIC, Double.class);
+        rowDef.addCell(HEADERS[3], Cell.CELL_TYPE_NUMERIC, Date.class);
+        rowDef.addCell(HEADERS[4], Cell.CELL_TYPE_NUMERIC, Long.class);
+        return rowDef;
+    }
+
+    /**
+     * 获取合成的xlsx文件，不存在时生成
+     *
+     * @param rows   每个工作表的数据行数
+     * @param sheets 工作表数量
+     * @return 文件
+     * @throws IOException IO异常
+     */
+    public static File xlsx(int rows, int sheets) throws IOException {
+        File file = new File(DIR, "workbook-" + rows + "-" + sheets + ".xlsx");
+        if (file.exists()) {
+            return file;
+        }
+        SXSSFWorkbook workbook = POIExcelUtil.createSXSSFWorkbook(1000, false);
+        fill(workbook, rows, sheets);
+        File tmp = tmpFile(file);
+        try (OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(tmp))) {
+            POIExcelUtil.write(workbook, outputStream);
+        }
+        return rename(tmp, file);
+    }
+
+    /**
+     * 获取合成的xls文件，不存在时生成
+     *
+     * @param rows   每个工作表的数据行数，不能超过65535
+     * @param sheets 工作表数量
+     * @return 文件
+     * @throws IOException IO异常
+     */
+    public static File xls(int rows, int sheets) throws IOException {
+        File file = new File(DIR, "workbook-" + rows + "-" + sheets + ".xls");
+        if (file.exists()) {
+            return file;
+        }
+        HSSFWorkbook workbook = POIExcelUtil.createHSSFWorkbook();
+        fill(workbook, rows, sheets);
+        File tmp = tmpFile(file);
+        try (OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(tmp))) {
+            workbook.write(outputStream);
+        }
+        return rename(tmp, file);
+    }
+
+    /**
+     * 按文件格式获取合成的Excel文件，不存在时生成
+     *
+     * @param format 文件格式，xls或xlsx
+     * @param rows   每个工作表的数据行数
+     * @param sheets 工作表数量
+     * @return 文件
+     * @throws IOException IO异常
+     */
+    public static File workbook(ExcelFormat format, int rows, int sheets) throws IOException {
+        switch (format) {
+            case XLS:
+                return xls(rows, sheets);
+            case XLSX:
+                return xlsx(rows, sheets);
+            default:
+                throw new IllegalArgumentException("Unsupported format : " + format);
+        }
+    }
+
+    /**
+     * 日期列的样式
+     *
+     * @return 样式定义
+     */
+    public static ExcelStyle dateStyle() {
+        return new ExcelStyle.Builder().dataFormat("yyyy-MM-dd").build();
+    }
+
+    private static void fill(Workbook workbook, int rows, int sheets) {
+        ExcelStyleRegistry styleRegistry = new ExcelStyleRegistry(workbook);
+        for (int i = 0; i < sheets; i++) {
+            Sheet sheet = workbook.createSheet("sheet" + i);
+            POIExcelUtil.setHeader(sheet, HEADERS);
+            POIExcelUtil.setWorkbookData(sheet, rows(rows, i), styleRegistry.get(null, null, null, dateStyle(), null));
+        }
+    }
+
+    private static File tmpFile(File file) throws IOException {
+        if (!DIR.exists() && !DIR.mkdirs()) {
+            throw new IOException("Can not create directory " + DIR);
+        }
+        return new File(DIR, file.getName() + ".tmp");
+    }
+
+    private static File rename(File tmp, File file) throws IOException {
+        if (!tmp.renameTo(file)) {
+            throw new IOException("Can not rename " + tmp + " to " + file);
+        }
+        return file;
+    }
+
+    /**
+     * 按需生成的数据行
+     *
+     * @param rows 数据行数
+     * @param seed 随机种子
+     * @return 数据行迭代器
+     */
+    public static Iterator<List<Object>> rows(final int rows, long seed) {
+        final Random random = new Random(seed);
+        return new Iterator<List<Object>>() {
+            private int row;
+
+            @Override
+            public boolean hasNext() {
+                return row < rows;
+            }
+
+            @Override
+            public List<Object> next() {
+                if (row >= rows) {
+                    throw new NoSuchElementException();
+                }
+                row++;
+                List<Object> data = new ArrayList<Object>(HEADERS.length);
+                data.add("商品" + random.nextInt(100000));
+                data.add((double) random.nextInt(1000));
+                data.add(random.nextInt(1000000) / 100.0);
+                data.add(new Date(START_DATE + random.nextInt(3650) * 86400000L));
+                data.add((double) (1000000000L + row));
+                return data;
+            }
+        };
+    }
+}
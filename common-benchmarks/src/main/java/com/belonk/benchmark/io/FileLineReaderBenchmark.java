@@ -0,0 +1,65 @@
+package com.belonk.benchmark.io;
+
+import com.belonk.io.FileLineReader;
+import com.belonk.io.ReadMode;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link FileLineReader}单线程读取基准测试。
+ * <p>
+ * 运行：<code>java -jar common-benchmarks/target/benchmarks.jar FileLineReaderBenchmark -p fileSizeMb=256</code>
+ * <p>
+ * Created by sun on 2026/10/19.
+ *
+ * @author sunfuchang03@126.com
+ * @version 1.0
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FileLineReaderBenchmark {
+    //~ Instance fields ================================================================================================
+
+    @Param({"16", "128"})
+    public int fileSizeMb;
+
+    @Param({"80", "1024"})
+    public int lineLength;
+
+    @Param({"utf-8", "gbk"})
+    public String charset;
+
+    @Param({"8192", "65536"})
+    public int bufferSize;
+
+    @Param({"MMAP", "CHANNEL"})
+    public ReadMode readMode;
+
+    private File file;
+
+    //~ Methods ========================================================================================================
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        file = SyntheticFiles.lines(fileSizeMb, lineLength, charset);
+    }
+
+    @Benchmark
+    public long read(Blackhole blackhole) throws IOException {
+        FileLineReader.Builder builder = new FileLineReader.Builder(file.getPath(), blackhole::consume);
+        builder.charset(charset).bufferSize(bufferSize).readMode(readMode);
+        try (FileLineReader reader = builder.build()) {
+            reader.read();
+            return reader.getTotalCount();
+        }
+    }
+}
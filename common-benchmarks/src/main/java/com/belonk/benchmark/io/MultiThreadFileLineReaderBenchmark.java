@@ -0,0 +1,73 @@
+package com.belonk.benchmark.io;
+
+import com.belonk.io.MultiThreadFileLineReader;
+import com.belonk.io.ReadMode;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link MultiThreadFileLineReader}多线程读取基准测试。
+ * <p>
+ * 读取是异步执行的，每次调用在{@link MultiThreadFileLineReader#close()}等待所有线程结束后计时结束。行处理器在多个线程中执行，
+ * 因此累加行长度而不是使用<code>Blackhole</code>。
+ * <p>
+ * 运行：<code>java -jar common-benchmarks/target/benchmarks.jar MultiThreadFileLineReaderBenchmark -p threadSize=4</code>
+ * <p>
+ * Created by sun on 2026/10/19.
+ *
+ * @author sunfuchang03@126.com
+ * @version 1.0
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MultiThreadFileLineReaderBenchmark {
+    //~ Instance fields ================================================================================================
+
+    @Param({"128"})
+    public int fileSizeMb;
+
+    @Param({"80", "1024"})
+    public int lineLength;
+
+    @Param({"utf-8", "gbk"})
+    public String charset;
+
+    @Param({"65536"})
+    public int bufferSize;
+
+    @Param({"1", "2", "4", "8"})
+    public int threadSize;
+
+    @Param({"MMAP", "CHANNEL"})
+    public ReadMode readMode;
+
+    private File file;
+
+    //~ Methods ========================================================================================================
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        file = SyntheticFiles.lines(fileSizeMb, lineLength, charset);
+    }
+
+    @Benchmark
+    public long read() {
+        LongAdder length = new LongAdder();
+        MultiThreadFileLineReader.Builder builder = new MultiThreadFileLineReader.Builder(file.getPath(), line -> length.add(line.length()));
+        builder.threadSize(threadSize).charset(charset).bufferSize(bufferSize).readMode(readMode);
+        MultiThreadFileLineReader reader = builder.build();
+        reader.read();
+        // 等待所有读取线程结束
+        reader.close();
+        return length.sum();
+    }
+}
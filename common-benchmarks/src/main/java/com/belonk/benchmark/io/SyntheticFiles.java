@@ -0,0 +1,78 @@
+package com.belonk.benchmark.io;
+
+import java.io.*;
+import java.util.Random;
+
+/**
+ * 基准测试用的合成文本文件生成器。
+ * <p>
+ * 按文件大小、行长度和字符集在本地临时目录生成文本文件，内容由固定随机种子生成，相同参数生成的文件完全一致。
+ * 已生成的文件会被复用，避免每次fork都重新生成。
+ * <p>
+ * Created by sun on 2026/10/19.
+ *
+ * @author sunfuchang03@126.com
+ * @version 1.0
+ * @since 1.0
+ */
+public class SyntheticFiles {
+    //~ Static fields/initializers =====================================================================================
+
+    private static final String ASCII = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789,;:-_ ";
+    private static final String CJK = "航班机票价格舱位日期出发到达城市北京上海广州深圳成都";
+    private static final File DIR = new File(System.getProperty("java.io.tmpdir"), "common-benchmarks");
+
+    //~ Constructors ===================================================================================================
+
+    private SyntheticFiles() {
+    }
+
+    //~ Methods ========================================================================================================
+
+    /**
+     * 获取合成文本文件，不存在时生成。
+     * <p>
+     * 每行约四分之一为中文字符，其余为ASCII字符，行尾统一为<code>\n</code>。
+     *
+     * @param fileSizeMb 文件大小，单位MB
+     * @param lineLength 每行字符数
+     * @param charset    字符集
+     * @return 文件
+     * @throws IOException IO异常
+     */
+    public static synchronized File lines(int fileSizeMb, int lineLength, String charset) throws IOException {
+        File file = new File(DIR, "lines-" + fileSizeMb + "m-" + lineLength + "c-" + charset + ".txt");
+        long fileSize = fileSizeMb * 1024L * 1024L;
+        if (file.exists() && file.length() >= fileSize) {
+            return file;
+        }
+        if (!DIR.exists() && !DIR.mkdirs()) {
+            throw new IOException("Can not create directory : " + DIR);
+        }
+        File tmp = new File(DIR, file.getName() + ".tmp");
+        Random random = new Random(fileSizeMb * 31L + lineLength);
+        StringBuilder line = new StringBuilder(lineLength + 1);
+        long written = 0;
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(tmp), 64 * 1024)) {
+            while (written < fileSize) {
+                line.setLength(0);
+                for (int i = 0; i < lineLength; i++) {
+                    if (random.nextInt(4) == 0) {
+                        line.append(CJK.charAt(random.nextInt(CJK.length())));
+                    } else {
+                        line.append(ASCII.charAt(random.nextInt(ASCII.length())));
+                    }
+                }
+                line.append('\n');
+                // 逐行编码，按已编码的字节数计算大小，缓冲区只在关闭时刷新
+                byte[] bytes = line.toString().getBytes(charset);
+                out.write(bytes);
+                written += bytes.length;
+            }
+        }
+        if (!tmp.renameTo(file)) {
+            throw new IOException("Can not rename file : " + tmp);
+        }
+        return file;
+    }
+}
@@ -0,0 +1,84 @@
+package com.belonk.benchmark.json;
+
+import com.belonk.common.json.JacksonAccelerator;
+import com.belonk.common.json.JacksonMapper;
+import com.belonk.common.map.baidu.vo.BaiduMapUnGeocoder;
+import com.belonk.common.map.baidu.vo.Poi;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson字节码加速的基准测试。
+ * <p>
+ * 分别以未注册和注册{@link JacksonAccelerator}选择的加速模块的{@link JacksonMapper}读写典型的DTO：单个{@link Poi}
+ * 和包含若干poi的{@link BaiduMapUnGeocoder}，都以UTF-8字节读写。配合GC分析器同时输出吞吐量和内存分配速率。
+ * <p>
+ * 运行：<code>java -jar common-benchmarks/target/benchmarks.jar JsonAccelerationBenchmark -prof gc</code>
+ * <p>
+ * Created by sun on 2026/10/19.
+ *
+ * @author sunfuchang03@126.com
+ * @version 1.0
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonAccelerationBenchmark {
+    //~ Instance fields ================================================================================================
+
+    @Param({"false", "true"})
+    public boolean accelerated;
+
+    /**
+     * 逆地理编码结果中的poi数量
+     */
+    @Param({"20"})
+    public int pois;
+
+    private JacksonMapper mapper;
+    private Poi poi;
+    private byte[] poiJson;
+    private BaiduMapUnGeocoder unGeocoder;
+    private byte[] unGeocoderJson;
+
+    //~ Methods ========================================================================================================
+
+    @Setup(Level.Trial)
+    public void setup() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        if (accelerated && !JacksonAccelerator.register(objectMapper)) {
+            throw new IllegalStateException("No jackson acceleration module found");
+        }
+        mapper = new JacksonMapper(objectMapper);
+        unGeocoder = SyntheticJson.unGeocoder(pois);
+        unGeocoderJson = mapper.toJsonBytes(unGeocoder);
+        poi = unGeocoder.getPois().get(0);
+        poiJson = mapper.toJsonBytes(poi);
+    }
+
+    @Benchmark
+    public byte[] writePoi() {
+        return mapper.toJsonBytes(poi);
+    }
+
+    @Benchmark
+    public Poi readPoi() {
+        return mapper.fromJson(poiJson, Poi.class);
+    }
+
+    @Benchmark
+    public byte[] writeUnGeocoder() {
+        return mapper.toJsonBytes(unGeocoder);
+    }
+
+    @Benchmark
+    public BaiduMapUnGeocoder readUnGeocoder() {
+        return mapper.fromJson(unGeocoderJson, BaiduMapUnGeocoder.class);
+    }
+}
@@ -0,0 +1,99 @@
+package com.belonk.benchmark.json;
+
+import com.belonk.common.json.JacksonUtil;
+import com.belonk.common.map.baidu.vo.BaiduMapUnGeocoder;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link JacksonUtil}字节接口的基准测试。
+ * <p>
+ * 以UTF-8字节作为HTTP请求体/响应体的模拟：读取时比较先解码为String再{@link JacksonUtil#fromJson(String, Class)}、
+ * 直接读取byte[]、堆外ByteBuffer和InputStream；写出时比较{@link JacksonUtil#toJson(Object)}后再编码、
+ * {@link JacksonUtil#toJsonBytes}和写入OutputStream。配合GC分析器同时输出吞吐量和内存分配速率。
+ * <p>
+ * 运行：<code>java -jar common-benchmarks/target/benchmarks.jar JsonBytesBenchmark -prof gc</code>
+ * <p>
+ * Created by sun on 2026/10/19.
+ *
+ * @author sunfuchang03@126.com
+ * @version 1.0
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonBytesBenchmark {
+    //~ Instance fields ================================================================================================
+
+    /**
+     * 周边poi数量，决定json大小
+     */
+    @Param({"10", "1000"})
+    public int pois;
+
+    private BaiduMapUnGeocoder value;
+    private byte[] json;
+    private ByteBuffer directJson;
+    private ByteArrayOutputStream outputStream;
+
+    //~ Methods ========================================================================================================
+
+    @Setup(Level.Trial)
+    public void setup() {
+        value = SyntheticJson.unGeocoder(pois);
+        json = JacksonUtil.toJsonBytes(value);
+        directJson = ByteBuffer.allocateDirect(json.length);
+        directJson.put(json).flip();
+        outputStream = new ByteArrayOutputStream(json.length);
+    }
+
+    @Benchmark
+    public BaiduMapUnGeocoder readString() {
+        return JacksonUtil.fromJson(new String(json, StandardCharsets.UTF_8), BaiduMapUnGeocoder.class);
+    }
+
+    @Benchmark
+    public BaiduMapUnGeocoder readBytes() {
+        return JacksonUtil.fromJson(json, BaiduMapUnGeocoder.class);
+    }
+
+    @Benchmark
+    public BaiduMapUnGeocoder readDirectBuffer() {
+        return JacksonUtil.fromJson(directJson, BaiduMapUnGeocoder.class);
+    }
+
+    @Benchmark
+    public BaiduMapUnGeocoder readStream() throws IOException {
+        return JacksonUtil.fromJson(new ByteArrayInputStream(json), BaiduMapUnGeocoder.class);
+    }
+
+    @Benchmark
+    public byte[] writeString() {
+        return JacksonUtil.toJson(value).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] writeBytes() {
+        return JacksonUtil.toJsonBytes(value);
+    }
+
+    /**
+     * 写入复用的输出流，模拟直接写入响应体
+     */
+    @Benchmark
+    public int writeStream() throws IOException {
+        outputStream.reset();
+        JacksonUtil.toJson(value, outputStream);
+        return outputStream.size();
+    }
+}
@@ -0,0 +1,78 @@
+package com.belonk.benchmark.json;
+
+import com.belonk.common.json.engine.JsonEngine;
+import com.belonk.common.json.engine.JsonEngines;
+import com.belonk.common.map.baidu.vo.BaiduMapUnGeocoder;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link JsonEngine}各实现的基准测试。
+ * <p>
+ * 以相同的{@link BaiduMapUnGeocoder}载荷比较jackson、gson和fastjson读写字符串和UTF-8字节的性能，输入的json由各引擎自己生成，
+ * 避免不同引擎对null属性等默认行为不同带来的差异。结果用于为每类载荷选择引擎，对应{@link JsonEngines#ENGINE_PROPERTY}等配置。
+ * 配合GC分析器同时输出吞吐量和内存分配速率。
+ * <p>
+ * 运行：<code>java -jar common-benchmarks/target/benchmarks.jar JsonEngineBenchmark -prof gc</code>
+ * <p>
+ * Created by sun on 2026/10/19.
+ *
+ * @author sunfuchang03@126.com
+ * @version 1.0
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonEngineBenchmark {
+    //~ Instance fields ================================================================================================
+
+    @Param({"jackson", "gson", "fastjson"})
+    public String engineName;
+
+    /**
+     * 周边poi数量，决定json大小
+     */
+    @Param({"10", "1000"})
+    public int pois;
+
+    private JsonEngine engine;
+    private BaiduMapUnGeocoder value;
+    private String json;
+    private byte[] jsonBytes;
+
+    //~ Methods ========================================================================================================
+
+    @Setup(Level.Trial)
+    public void setup() {
+        engine = JsonEngines.get(engineName);
+        value = SyntheticJson.unGeocoder(pois);
+        json = engine.toJson(value);
+        jsonBytes = json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public String writeString() {
+        return engine.toJson(value);
+    }
+
+    @Benchmark
+    public byte[] writeBytes() {
+        return engine.toJsonBytes(value);
+    }
+
+    @Benchmark
+    public BaiduMapUnGeocoder readString() {
+        return engine.fromJson(json, BaiduMapUnGeocoder.class);
+    }
+
+    @Benchmark
+    public BaiduMapUnGeocoder readBytes() {
+        return engine.fromJson(jsonBytes, BaiduMapUnGeocoder.class);
+    }
+}
@@ -0,0 +1,84 @@
+package com.belonk.benchmark.json;
+
+import com.belonk.common.map.baidu.vo.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 基准测试用的合成json数据生成器。
+ * <p>
+ * 以百度地图逆地理编码结果{@link BaiduMapUnGeocoder}为载荷，周边poi数量决定json大小，内容由固定随机种子生成，相同参数生成的对象完全一致。
+ * <p>
+ * Created by sun on 2026/10/19.
+ *
+ * @author sunfuchang03@126.com
+ * @version 1.0
+ * @since 1.0
+ */
+public class SyntheticJson {
+    //~ Static fields/initializers =====================================================================================
+
+    private static final String[] NAMES = {"中关村大厦", "人民大学", "苏州街地铁站", "海淀医院", "当代商城", "鼎好电子城"};
+    private static final String[] DIRECTIONS = {"东", "南", "西", "北", "东北", "西南"};
+
+    //~ Constructors ===================================================================================================
+
+    private SyntheticJson() {
+    }
+
+    //~ Methods ========================================================================================================
+
+    /**
+     * 生成逆地理编码结果
+     *
+     * @param pois 周边poi数量
+     * @return 逆地理编码结果
+     */
+    public static BaiduMapUnGeocoder unGeocoder(int pois) {
+        Random random = new Random(pois);
+        BaiduMapUnGeocoder unGeocoder = new BaiduMapUnGeocoder();
+        BaiduPointXY location = new BaiduPointXY();
+        location.setLat(39.983424 + random.nextDouble() / 100);
+        location.setLng(116.322987 + random.nextDouble() / 100);
+        unGeocoder.setLocation(location);
+        unGeocoder.setFormatted_address("北京市海淀区中关村大街27号");
+        unGeocoder.setBusiness("人民大学,中关村,苏州街");
+        AddressComponent addressComponent = new AddressComponent();
+        addressComponent.setCountry("中国");
+        addressComponent.setProvince("北京市");
+        addressComponent.setCity("北京市");
+        addressComponent.setDistrict("海淀区");
+        addressComponent.setStreet("中关村大街");
+        addressComponent.setStreet_number("27号");
+        addressComponent.setAdcode("110108");
+        addressComponent.setCountry_code("0");
+        unGeocoder.setAddressComponent(addressComponent);
+        List<Poi> poiList = new ArrayList<>(pois);
+        for (int i = 0; i < pois; i++) {
+            poiList.add(poi(random, i));
+        }
+        unGeocoder.setPois(poiList);
+        unGeocoder.setSematic_description("中关村大厦附近0米");
+        return unGeocoder;
+    }
+
+    private static Poi poi(Random random, int i) {
+        Poi poi = new Poi();
+        poi.setAddr("北京市海淀区中关村大街" + (i + 1) + "号");
+        poi.setCp("NavInfo");
+        poi.setDirection(DIRECTIONS[random.nextInt(DIRECTIONS.length)]);
+        poi.setDistance(String.valueOf(random.nextInt(1000)));
+        poi.setName(NAMES[random.nextInt(NAMES.length)] + i);
+        poi.setPoiType("办公大厦,商务大厦");
+        BaiduPoint point = new BaiduPoint();
+        point.setLat(39.98 + random.nextDouble() / 100);
+        point.setLng(116.32 + random.nextDouble() / 100);
+        poi.setPoint(point);
+        poi.setTel("(010)" + (62000000 + random.nextInt(1000000)));
+        poi.setUid(Long.toHexString(random.nextLong()));
+        poi.setZip("100080");
+        return poi;
+    }
+}
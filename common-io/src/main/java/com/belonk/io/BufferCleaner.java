@@ -0,0 +1,95 @@
+package com.belonk.io;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+
+/**
+ * 直接缓冲区释放工具。
+ * <p>
+ * 内存映射缓冲区和直接缓冲区默认要等到GC时才会释放，期间映射的文件无法删除、虚拟内存也不会归还。本类通过JDK内部的cleaner
+ * 主动释放缓冲区：JDK 9及以上使用<code>sun.misc.Unsafe.invokeCleaner</code>，JDK 8使用<code>DirectBuffer.cleaner().clean()</code>。
+ * 当前JDK不支持时不做任何处理，缓冲区仍由GC回收。
+ * <p>
+ * 释放后的缓冲区不能再访问，否则可能导致JVM崩溃，调用方需保证缓冲区已不再使用。其他模块映射临时文件时也使用本类，
+ * 如common-msoffice的共享字符串表。
+ * <p>
+ * Created by sun on 2026/10/19.
+ *
+ * @author sunfuchang03@126.com
+ * @version 1.0
+ * @since 1.1
+ */
+public final class BufferCleaner {
+    //~ Static fields/initializers =====================================================================================
+
+    private static Logger log = LoggerFactory.getLogger(BufferCleaner.class);
+
+    private static final MethodHandle CLEANER = lookupCleaner();
+
+    //~ Constructors ===================================================================================================
+
+    private BufferCleaner() {
+    }
+
+    //~ Methods ========================================================================================================
+
+    /**
+     * 当前JDK是否支持主动释放缓冲区。
+     *
+     * @return true：支持；false：不支持
+     */
+    public static boolean isSupported() {
+        return CLEANER != null;
+    }
+
+    /**
+     * 释放直接缓冲区，非直接缓冲区或不支持时忽略。
+     *
+     * @param buffer 缓冲区
+     */
+    public static void clean(ByteBuffer buffer) {
+        if (CLEANER == null || buffer == null || !buffer.isDirect()) {
+            return;
+        }
+        try {
+            CLEANER.invokeExact(buffer);
+        } catch (Throwable e) {
+            log.debug("Clean buffer failed : " + e.getMessage());
+        }
+    }
+
+    private static MethodHandle lookupCleaner() {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            // JDK 9+
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            return lookup.unreflect(invokeCleaner).bindTo(theUnsafe.get(null));
+        } catch (Exception e) {
+            // 继续尝试JDK 8方式
+        }
+        try {
+            // JDK 8
+            ByteBuffer probe = ByteBuffer.allocateDirect(1);
+            Method cleanerMethod = probe.getClass().getMethod("cleaner");
+            cleanerMethod.setAccessible(true);
+            Method cleanMethod = cleanerMethod.getReturnType().getMethod("clean");
+            cleanMethod.setAccessible(true);
+            MethodHandle cleaner = lookup.unreflect(cleanerMethod).asType(MethodType.methodType(Object.class, ByteBuffer.class));
+            MethodHandle clean = lookup.unreflect(cleanMethod).asType(MethodType.methodType(void.class, Object.class));
+            return MethodHandles.filterReturnValue(cleaner, clean);
+        } catch (Exception e) {
+            log.info("Buffer cleaner is not supported, mapped buffers will be released by GC.");
+        }
+        return null;
+    }
+}
@@ -0,0 +1,78 @@
+package com.belonk.io;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 直接缓冲区池。
+ * <p>
+ * 直接缓冲区的分配和回收代价较高，通道读取时从池中获取缓冲区，用完后归还以便复用。池中最多保留指定数量的缓冲区，
+ * 超出部分归还时直接丢弃。
+ * <p>
+ * Created by sun on 2026/10/19.
+ *
+ * @author sunfuchang03@126.com
+ * @version 1.0
+ * @since 1.1
+ */
+class DirectBufferPool {
+    //~ Instance fields ================================================================================================
+
+    private final int bufferSize;
+    private final int maxPooled;
+    private final ConcurrentLinkedQueue<ByteBuffer> buffers = new ConcurrentLinkedQueue<ByteBuffer>();
+    private final AtomicInteger pooled = new AtomicInteger(0);
+
+    //~ Constructors ===================================================================================================
+
+    DirectBufferPool(int bufferSize, int maxPooled) {
+        this.bufferSize = bufferSize;
+        this.maxPooled = maxPooled;
+    }
+
+    //~ Methods ========================================================================================================
+
+    /**
+     * 获取一个已清空的缓冲区，池中没有可用缓冲区时新分配一个。
+     *
+     * @return 直接缓冲区
+     */
+    ByteBuffer acquire() {
+        ByteBuffer buffer = buffers.poll();
+        if (buffer == null) {
+            return ByteBuffer.allocateDirect(bufferSize);
+        }
+        pooled.decrementAndGet();
+        buffer.clear();
+        return buffer;
+    }
+
+    /**
+     * 归还缓冲区。
+     *
+     * @param buffer 缓冲区
+     */
+    void release(ByteBuffer buffer) {
+        if (buffer == null) {
+            return;
+        }
+        if (pooled.incrementAndGet() <= maxPooled) {
+            buffers.offer(buffer);
+        } else {
+            pooled.decrementAndGet();
+            BufferCleaner.clean(buffer);
+        }
+    }
+
+    /**
+     * 清空缓冲区池，并主动释放池中的缓冲区。
+     */
+    void clear() {
+        ByteBuffer buffer;
+        while ((buffer = buffers.poll()) != null) {
+            pooled.decrementAndGet();
+            BufferCleaner.clean(buffer);
+        }
+    }
+}
@@ -4,25 +4,37 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.*;
+import java.nio.ByteBuffer;
 import java.nio.MappedByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
 import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * 按行读取文本文件工具类。
  * <p>
- * 按行读取大文本文件，
+ * 按行读取大文本文件，使用完毕后需调用{@link #close()}关闭，以释放文件句柄、内存映射和直接缓冲区。
  * Created by sun on 2017/9/20.
  *
  * @author sunfuchang03@126.com
  * @version 1.0
  * @since 1.0
  */
-public class FileLineReader {
+public class FileLineReader implements AutoCloseable {
     //~ Static fields/initializers =====================================================================================
 
     private static Logger log = LoggerFactory.getLogger(FileLineReader.class);
 
+    /**
+     * 默认的单次内存映射大小，64MB
+     */
+    public static final long DEFAULT_MAP_SIZE = 64L * 1024 * 1024;
+
     //~ Instance fields ================================================================================================
 
     protected String charset;
@@ -31,16 +43,38 @@ public class FileLineReader {
     protected long fileLength;
     protected AtomicLong counter = new AtomicLong(0);
     protected RandomAccessFile randomAccessFile;
+    protected File file;
+    protected ReadMode readMode = ReadMode.AUTO;
+    protected DirectBufferPool bufferPool;
+    protected long mapSize = DEFAULT_MAP_SIZE;
+    protected Semaphore mappingPermits;
+    private volatile AsynchronousFileChannel asyncChannel;
+    private AtomicBoolean closed = new AtomicBoolean(false);
     private byte[] readBuff;
 
     //~ Constructors ===================================================================================================
 
     protected FileLineReader(File file, LineHandler handler, String charset, int bufferSize) {
+        this(file, handler, charset, bufferSize, ReadMode.AUTO);
+    }
+
+    protected FileLineReader(File file, LineHandler handler, String charset, int bufferSize, ReadMode readMode) {
+        this(file, handler, charset, bufferSize, readMode, DEFAULT_MAP_SIZE, 1);
+    }
+
+    protected FileLineReader(File file, LineHandler handler, String charset, int bufferSize, ReadMode readMode,
+                             long mapSize, int maxMappings) {
+        this.file = file;
         this.fileLength = file.length();
         this.handler = handler;
         this.charset = charset;
         this.bufferSize = bufferSize;
+        this.readMode = readMode;
+        this.mapSize = mapSize;
+        this.mappingPermits = new Semaphore(maxMappings);
         this.readBuff = new byte[bufferSize];
+        // 每个读取线程同时最多使用两个缓冲区：当前块和预读块
+        this.bufferPool = new DirectBufferPool(bufferSize, 2);
 
         try {
             this.randomAccessFile = new RandomAccessFile(file, "r");
@@ -72,14 +106,33 @@ public class FileLineReader {
     }
 
     /**
-     * 关闭资源
+     * 关闭资源，同{@link #close()}。
      */
     public void shutdown() {
+        close();
+    }
+
+    /**
+     * 关闭资源，关闭文件通道并释放池化的直接缓冲区。
+     * <p>
+     * 内存映射在每个映射区读取完毕后即已释放，关闭后不再持有任何映射。重复调用无副作用。
+     */
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
         try {
-            this.randomAccessFile.close();
+            if (this.randomAccessFile != null) {
+                this.randomAccessFile.close();
+            }
+            if (this.asyncChannel != null) {
+                this.asyncChannel.close();
+            }
         } catch (IOException e) {
             e.printStackTrace();
         }
+        this.bufferPool.clear();
     }
 
     /**
@@ -93,47 +146,188 @@ public class FileLineReader {
      * @throws IOException IO异常
      */
     public long read(long start, long sliceSize) throws IOException {
-        if (sliceSize > fileLength) {
-            sliceSize = fileLength;
+        if (start + sliceSize > fileLength) {
+            sliceSize = fileLength - start;
         }
-        if (sliceSize < fileLength) {
+        if (start + sliceSize < fileLength) {
             // 找到定位位置的换行，读取一行
-            randomAccessFile.seek(sliceSize);
+            randomAccessFile.seek(start + sliceSize);
             byte tmp = (byte) randomAccessFile.read();
             while (tmp != '\n' && tmp != '\r') {
                 sliceSize++;
-                if (sliceSize > fileLength) {
-                    sliceSize = fileLength;
+                if (start + sliceSize > fileLength) {
+                    sliceSize = fileLength - start;
                     break;
                 }
-                randomAccessFile.seek(sliceSize);
+                randomAccessFile.seek(start + sliceSize);
                 tmp = (byte) randomAccessFile.read();
             }
         }
-        MappedByteBuffer mapBuffer = randomAccessFile.getChannel().map(FileChannel.MapMode.READ_ONLY, start, sliceSize);
+        readSlice(start, sliceSize, readBuff);
+        return sliceSize;
+    }
+
+    /**
+     * 读取文件片段，片段末尾需已对齐到行尾。
+     * <p>
+     * 根据读取方式选择内存映射或通道读取，{@link ReadMode#AUTO}模式下内存映射失败时自动回退到通道读取。
+     *
+     * @param start     开始位置
+     * @param sliceSize 读取长度
+     * @param buff      读取缓冲区，多线程读取时每个线程使用单独的缓冲区
+     * @throws IOException IO异常
+     */
+    protected void readSlice(long start, long sliceSize, byte[] buff) throws IOException {
         ByteArrayOutputStream bos = new ByteArrayOutputStream();
-        for (int offset = 0; offset < sliceSize; offset += bufferSize) {
-            int readLength;
-            if (offset + bufferSize <= sliceSize) {
-                readLength = bufferSize;
-            } else {
-                readLength = (int) (sliceSize - offset);
+        long end = start + sliceSize;
+        long position = start;
+        if (readMode != ReadMode.CHANNEL) {
+            position = readByMapping(start, end, buff, bos);
+        }
+        if (position < end) {
+            readByChannel(position, end, buff, bos);
+        }
+        if (bos.size() > 0) {
+            handle(bos.toByteArray());
+        }
+    }
+
+    /**
+     * 按映射区大小分段映射文件并按行读取，每段读取完毕后立即释放映射。
+     * <p>
+     * 同时存在的映射数量受<code>maxMappings</code>限制。
+     *
+     * @return 读取到的位置，{@link ReadMode#AUTO}模式下映射失败时小于<code>end</code>，剩余部分由通道读取
+     */
+    private long readByMapping(long position, long end, byte[] buff, ByteArrayOutputStream bos) throws IOException {
+        while (position < end) {
+            long size = Math.min(mapSize, end - position);
+            acquireMapping();
+            try {
+                MappedByteBuffer mapBuffer;
+                try {
+                    mapBuffer = randomAccessFile.getChannel().map(FileChannel.MapMode.READ_ONLY, position, size);
+                } catch (IOException e) {
+                    if (readMode == ReadMode.MMAP) {
+                        throw e;
+                    }
+                    log.warn("Map file failed, fall back to channel read : " + e.getMessage());
+                    return position;
+                }
+                try {
+                    for (long offset = 0; offset < size; offset += buff.length) {
+                        int readLength = (int) Math.min(buff.length, size - offset);
+                        mapBuffer.get(buff, 0, readLength);
+                        scan(buff, readLength, bos);
+                    }
+                } finally {
+                    BufferCleaner.clean(mapBuffer);
+                }
+            } finally {
+                mappingPermits.release();
+            }
+            position += size;
+        }
+        return position;
+    }
+
+    private void acquireMapping() throws IOException {
+        try {
+            mappingPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Read interrupted.");
+        }
+    }
+
+    /**
+     * 通过异步文件通道按位置读取到直接缓冲区，在处理当前块的同时预读下一块。
+     */
+    private void readByChannel(long position, long end, byte[] buff, ByteArrayOutputStream bos) throws IOException {
+        AsynchronousFileChannel channel = getAsyncChannel();
+        ByteBuffer current = bufferPool.acquire();
+        ByteBuffer next = bufferPool.acquire();
+        Future<Integer> pending = readBlock(channel, current, position, end);
+        try {
+            while (pending != null) {
+                int readLength = await(pending);
+                pending = null;
+                if (readLength <= 0) {
+                    break;
+                }
+                position += readLength;
+                // 预读下一块
+                if (position < end) {
+                    pending = readBlock(channel, next, position, end);
+                }
+                current.flip();
+                current.get(buff, 0, readLength);
+                scan(buff, readLength, bos);
+
+                ByteBuffer tmp = current;
+                current = next;
+                next = tmp;
             }
-            mapBuffer.get(readBuff, 0, readLength);
-            for (int i = 0; i < readLength; i++) {
-                byte tmp = readBuff[i];
-                if (tmp == '\n' || tmp == '\r') {
-                    handle(bos.toByteArray());
-                    bos.reset();
-                } else {
-                    bos.write(tmp);
+        } finally {
+            // 预读未完成时需等待其结束才能归还缓冲区
+            if (pending != null) {
+                try {
+                    await(pending);
+                } catch (IOException e) {
+                    log.debug("Pending read failed : " + e.getMessage());
                 }
             }
+            bufferPool.release(current);
+            bufferPool.release(next);
         }
-        if (bos.size() > 0) {
-            handle(bos.toByteArray());
+    }
+
+    private Future<Integer> readBlock(AsynchronousFileChannel channel, ByteBuffer buffer, long position, long end) {
+        buffer.clear();
+        if (end - position < buffer.capacity()) {
+            buffer.limit((int) (end - position));
+        }
+        return channel.read(buffer, position);
+    }
+
+    private int await(Future<Integer> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Read interrupted.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private AsynchronousFileChannel getAsyncChannel() throws IOException {
+        if (asyncChannel == null) {
+            synchronized (this) {
+                if (asyncChannel == null) {
+                    asyncChannel = AsynchronousFileChannel.open(file.toPath(), StandardOpenOption.READ);
+                }
+            }
+        }
+        return asyncChannel;
+    }
+
+    /**
+     * 扫描缓冲区中的字节，遇到换行时处理一行，未结束的行保留在<code>bos</code>中。
+     */
+    private void scan(byte[] buff, int length, ByteArrayOutputStream bos) throws UnsupportedEncodingException {
+        for (int i = 0; i < length; i++) {
+            byte tmp = buff[i];
+            if (tmp == '\n' || tmp == '\r') {
+                handle(bos.toByteArray());
+                bos.reset();
+            } else {
+                bos.write(tmp);
+            }
         }
-        return sliceSize;
     }
 
     /**
@@ -164,6 +358,9 @@ public class FileLineReader {
         protected int bufferSize = 1024;
         protected LineHandler handler;
         protected File file;
+        protected ReadMode readMode = ReadMode.AUTO;
+        protected long mapSize = DEFAULT_MAP_SIZE;
+        protected int maxMappings = 0;
 
         public Builder(String file, LineHandler handler) {
             this.file = new File(file);
@@ -199,8 +396,56 @@ public class FileLineReader {
             return this;
         }
 
+        /**
+         * 设置文件读取方式，默认为{@link ReadMode#AUTO}。
+         * <p>
+         * 使用{@link ReadMode#CHANNEL}时，缓冲区大小即为每次按位置读取的块大小，建议设置为64KB以上。
+         *
+         * @param readMode 读取方式
+         * @return 构建器
+         */
+        public FileLineReader.Builder readMode(ReadMode readMode) {
+            if (readMode != null) {
+                this.readMode = readMode;
+            }
+            return this;
+        }
+
+        /**
+         * 设置单次内存映射的大小，默认为{@link FileLineReader#DEFAULT_MAP_SIZE}，不能超过<code>Integer.MAX_VALUE</code>。
+         * <p>
+         * 文件按该大小分段映射，每段读取完毕后立即释放。
+         *
+         * @param mapSize 映射大小
+         * @return 构建器
+         */
+        public FileLineReader.Builder mapSize(long mapSize) {
+            if (mapSize > 0 && mapSize <= Integer.MAX_VALUE) {
+                this.mapSize = mapSize;
+            }
+            return this;
+        }
+
+        /**
+         * 设置同时存在的内存映射数量上限，默认与读取线程数相同。
+         *
+         * @param maxMappings 映射数量上限
+         * @return 构建器
+         */
+        public FileLineReader.Builder maxMappings(int maxMappings) {
+            if (maxMappings > 0) {
+                this.maxMappings = maxMappings;
+            }
+            return this;
+        }
+
+        protected int getMaxMappings() {
+            return this.maxMappings > 0 ? this.maxMappings : this.threadSize;
+        }
+
         public FileLineReader build() {
-            return new FileLineReader(this.file, this.handler, this.charset, this.bufferSize);
+            return new FileLineReader(this.file, this.handler, this.charset, this.bufferSize, this.readMode,
+                    this.mapSize, getMaxMappings());
         }
     }
 }
\ No newline at end of file
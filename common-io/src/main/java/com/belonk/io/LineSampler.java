@@ -0,0 +1,356 @@
+package com.belonk.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 文本文件行抽样工具类。
+ * <p>
+ * 从大文本文件中随机抽取指定数量的行，无需将文件全部读入内存，提供两种抽样方式：
+ * <ul>
+ * <li>{@link #reservoirSample(int)}：蓄水池抽样，完整扫描一遍文件，每行被抽中的概率相同。多线程读取时每个线程维护各自的蓄水池，
+ * 读取完毕后合并；</li>
+ * <li>{@link #stratifiedSample(int)}：分层近似抽样，将文件按字节均分为若干层，在每层中随机定位并读取该位置所在的行，
+ * 只需读取少量数据即可完成抽样。每行被抽中的概率与其字节数（含行尾换行符和其后的空行）成正比，行越长越容易被抽中，
+ * 适用于行长度比较均匀的文件。</li>
+ * </ul>
+ * 与{@link FileLineReader}一致，空行不参与抽样。
+ * <p>
+ * Created by sun on 2026/10/19.
+ *
+ * @author sunfuchang03@126.com
+ * @version 1.0
+ * @see FileLineReader
+ * @see MultiThreadFileLineReader
+ * @since 1.1
+ */
+public class LineSampler {
+    //~ Instance fields ================================================================================================
+
+    private File file;
+    private String charset;
+    private int bufferSize;
+    private int threadSize;
+    private ReadMode readMode;
+    private Long seed;
+
+    //~ Constructors ===================================================================================================
+
+    private LineSampler(Builder builder) {
+        this.file = builder.file;
+        this.charset = builder.charset;
+        this.bufferSize = builder.bufferSize;
+        this.threadSize = builder.threadSize;
+        this.readMode = builder.readMode;
+        this.seed = builder.seed;
+    }
+
+    //~ Methods ========================================================================================================
+
+    /**
+     * 蓄水池抽样。
+     * <p>
+     * 为每一行生成一个随机键，保留键最小的<code>sampleSize</code>行，各线程的蓄水池合并时同样取键最小的行，
+     * 因此合并结果与单线程抽样的分布一致。
+     *
+     * @param sampleSize 抽样行数
+     * @return 抽中的行，顺序随机；文件行数不足时返回全部行
+     * @throws IOException IO异常
+     */
+    public List<String> reservoirSample(int sampleSize) throws IOException {
+        if (sampleSize <= 0) {
+            return new ArrayList<String>();
+        }
+        final List<Reservoir> reservoirs = Collections.synchronizedList(new ArrayList<Reservoir>());
+        final AtomicLong reservoirIndex = new AtomicLong(0);
+        final ThreadLocal<Reservoir> local = ThreadLocal.withInitial(() -> {
+            Reservoir reservoir = new Reservoir(sampleSize, newRandom(reservoirIndex.getAndIncrement()));
+            reservoirs.add(reservoir);
+            return reservoir;
+        });
+        LineHandler handler = line -> local.get().offer(line);
+
+        FileLineReader.Builder builder;
+        if (threadSize > 1) {
+            builder = new MultiThreadFileLineReader.Builder(file.getPath(), handler).threadSize(threadSize);
+        } else {
+            builder = new FileLineReader.Builder(file.getPath(), handler);
+        }
+        builder.charset(charset).bufferSize(bufferSize).readMode(readMode);
+        try (FileLineReader reader = builder.build()) {
+            reader.read();
+        }
+
+        // 合并各线程的蓄水池
+        Reservoir merged = new Reservoir(sampleSize, null);
+        synchronized (reservoirs) {
+            for (Reservoir reservoir : reservoirs) {
+                for (Sample sample : reservoir.samples) {
+                    merged.offer(sample);
+                }
+            }
+        }
+        List<String> lines = new ArrayList<String>(merged.samples.size());
+        for (Sample sample : merged.samples) {
+            lines.add(sample.line);
+        }
+        Collections.shuffle(lines, newRandom(reservoirIndex.get()));
+        return lines;
+    }
+
+    /**
+     * 分层近似抽样。
+     * <p>
+     * 将文件按字节均分为<code>sampleSize</code>层，在每层中随机选取一个位置，读取该位置所在的行。位置落在换行符或空行上时，
+     * 归属于其前面的非空行；落在文件开头的空行上时取第一个非空行。多个位置落在同一行时只保留一次，
+     * 因此返回的行数可能少于<code>sampleSize</code>。
+     *
+     * @param sampleSize 抽样行数
+     * @return 抽中的行，按文件中的顺序排列
+     * @throws IOException IO异常
+     */
+    public List<String> stratifiedSample(int sampleSize) throws IOException {
+        List<String> lines = new ArrayList<String>();
+        long fileLength = file.length();
+        if (sampleSize <= 0 || fileLength == 0) {
+            return lines;
+        }
+        Random random = newRandom(0);
+        double stride = (double) fileLength / sampleSize;
+        Set<Long> lineStarts = new HashSet<Long>();
+        ByteBuffer buffer = ByteBuffer.allocate(bufferSize);
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r")) {
+            FileChannel channel = randomAccessFile.getChannel();
+            for (int i = 0; i < sampleSize; i++) {
+                long offset = (long) (i * stride + random.nextDouble() * stride);
+                long lineStart = findLineStart(channel, Math.min(offset, fileLength - 1), buffer);
+                lineStart = readLine(channel, lineStart, fileLength, buffer, bos);
+                if (lineStart >= 0 && lineStarts.add(lineStart)) {
+                    lines.add(decode(bos.toByteArray()));
+                }
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * 查找指定位置所在行的行首。
+     * <p>
+     * 从该位置向前查找，先跳过位置上的换行符（换行符和空行归属于前面的行），再找到前一个换行符，其后即为行首。
+     *
+     * @return 行首位置，向前没有换行符时为0
+     */
+    private long findLineStart(FileChannel channel, long offset, ByteBuffer buffer) throws IOException {
+        long position = offset;
+        boolean inLine = false;
+        while (position >= 0) {
+            long chunkStart = Math.max(0, position - buffer.capacity() + 1);
+            int length = (int) (position - chunkStart + 1);
+            buffer.clear();
+            buffer.limit(length);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, chunkStart + buffer.position()) < 0) {
+                    throw new IOException("Unexpected end of file : " + file);
+                }
+            }
+            for (int i = length - 1; i >= 0; i--) {
+                byte tmp = buffer.get(i);
+                boolean newLine = tmp == '\n' || tmp == '\r';
+                if (!inLine) {
+                    inLine = !newLine;
+                } else if (newLine) {
+                    return chunkStart + i + 1;
+                }
+            }
+            position = chunkStart - 1;
+        }
+        return 0;
+    }
+
+    /**
+     * 从行首开始读取第一个非空行到<code>bos</code>。
+     *
+     * @return 读取到的行的开始位置，之后没有非空行时返回-1
+     */
+    private long readLine(FileChannel channel, long start, long fileLength, ByteBuffer buffer,
+                          ByteArrayOutputStream bos) throws IOException {
+        bos.reset();
+        long position = start;
+        long lineStart = -1;
+        while (position < fileLength) {
+            buffer.clear();
+            int readLength = channel.read(buffer, position);
+            if (readLength <= 0) {
+                break;
+            }
+            for (int i = 0; i < readLength; i++) {
+                byte tmp = buffer.get(i);
+                if (tmp == '\n' || tmp == '\r') {
+                    if (bos.size() > 0) {
+                        return lineStart;
+                    }
+                } else {
+                    if (bos.size() == 0) {
+                        lineStart = position + i;
+                    }
+                    bos.write(tmp);
+                }
+            }
+            position += readLength;
+        }
+        return bos.size() > 0 ? lineStart : -1;
+    }
+
+    private String decode(byte[] bytes) throws IOException {
+        return charset == null ? new String(bytes) : new String(bytes, charset);
+    }
+
+    private Random newRandom(long index) {
+        if (seed == null) {
+            return new Random(ThreadLocalRandom.current().nextLong());
+        }
+        return new Random(seed + index);
+    }
+
+    /**
+     * 抽样行
+     */
+    private static class Sample {
+        private final double key;
+        private final String line;
+
+        Sample(double key, String line) {
+            this.key = key;
+            this.line = line;
+        }
+    }
+
+    /**
+     * 蓄水池，保留随机键最小的若干行
+     */
+    private static class Reservoir {
+        private final int size;
+        private final Random random;
+        // 按键降序排列，堆顶为当前键最大的行
+        private final PriorityQueue<Sample> samples;
+
+        Reservoir(int size, Random random) {
+            this.size = size;
+            this.random = random;
+            this.samples = new PriorityQueue<Sample>((a, b) -> Double.compare(b.key, a.key));
+        }
+
+        void offer(String line) {
+            double key = random.nextDouble();
+            if (samples.size() < size) {
+                samples.add(new Sample(key, line));
+            } else if (key < samples.peek().key) {
+                samples.poll();
+                samples.add(new Sample(key, line));
+            }
+        }
+
+        void offer(Sample sample) {
+            if (samples.size() < size) {
+                samples.add(sample);
+            } else if (sample.key < samples.peek().key) {
+                samples.poll();
+                samples.add(sample);
+            }
+        }
+    }
+
+    /**
+     * 构建器
+     */
+    public static class Builder {
+        protected File file;
+        protected String charset = "utf-8";
+        protected int bufferSize = 8192;
+        protected int threadSize = 1;
+        protected ReadMode readMode = ReadMode.AUTO;
+        protected Long seed;
+
+        public Builder(String file) {
+            this.file = new File(file);
+            if (!this.file.exists()) {
+                throw new IllegalArgumentException("File can not be found.");
+            }
+        }
+
+        /**
+         * 设置字符集，默认为<code>UTF-8</code>。
+         *
+         * @param charset 字符集
+         * @return 构建器
+         */
+        public Builder charset(String charset) {
+            if (charset != null && !"".equals(charset)) {
+                this.charset = charset;
+            }
+            return this;
+        }
+
+        /**
+         * 设置缓冲区大小，默认为8192字节。
+         *
+         * @param bufferSize 大小
+         * @return 构建器
+         */
+        public Builder bufferSize(int bufferSize) {
+            if (bufferSize > 0) {
+                this.bufferSize = bufferSize;
+            }
+            return this;
+        }
+
+        /**
+         * 设置蓄水池抽样的读取线程数，默认为1。
+         *
+         * @param size 线程数量
+         * @return 构建器
+         */
+        public Builder threadSize(int size) {
+            if (size > 0) {
+                this.threadSize = size;
+            }
+            return this;
+        }
+
+        /**
+         * 设置蓄水池抽样的文件读取方式，默认为{@link ReadMode#AUTO}。
+         *
+         * @param readMode 读取方式
+         * @return 构建器
+         */
+        public Builder readMode(ReadMode readMode) {
+            if (readMode != null) {
+                this.readMode = readMode;
+            }
+            return this;
+        }
+
+        /**
+         * 设置随机种子，便于复现抽样结果。多线程蓄水池抽样时文件片段与线程的对应关系不固定，结果不保证可复现。
+         *
+         * @param seed 随机种子
+         * @return 构建器
+         */
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public LineSampler build() {
+            return new LineSampler(this);
+        }
+    }
+}
@@ -3,16 +3,14 @@ package com.belonk.io;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
-import java.nio.MappedByteBuffer;
-import java.nio.channels.FileChannel;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.concurrent.CyclicBarrier;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 多线程按行文本文件读取器。
@@ -33,19 +31,27 @@ public class MultiThreadFileLineReader extends FileLineReader {
 
     private static Logger log = LoggerFactory.getLogger(MultiThreadFileLineReader.class);
 
+    /**
+     * 默认的关闭等待时间，毫秒
+     */
+    public static final long DEFAULT_CLOSE_TIMEOUT = TimeUnit.MINUTES.toMillis(10);
+
     //~ Instance fields ================================================================================================
 
     private ExecutorService executorService;
     private Set<StartEndPair> startEndPairs;
     private CyclicBarrier cyclicBarrier;
     private int threadSize = 1;
+    private long closeTimeout;
 
     //~ Constructors ===================================================================================================
 
-    private MultiThreadFileLineReader(File file, LineHandler handler, String charset, int bufferSize, int threadSize) {
-        super(file, handler, charset, bufferSize);
+    private MultiThreadFileLineReader(File file, LineHandler handler, String charset, int bufferSize, int threadSize,
+                                      ReadMode readMode, long mapSize, int maxMappings, long closeTimeout) {
+        super(file, handler, charset, bufferSize, readMode, mapSize, maxMappings);
         this.threadSize = threadSize;
-        this.executorService = Executors.newFixedThreadPool(threadSize);
+        this.closeTimeout = closeTimeout;
+        this.bufferPool = new DirectBufferPool(bufferSize, threadSize * 2);
         startEndPairs = new HashSet<StartEndPair>();
     }
 
@@ -53,19 +59,28 @@ public class MultiThreadFileLineReader extends FileLineReader {
 
     @Override
     public long read() {
-        long everySize = this.fileLength / this.threadSize;
+        // 文件比线程数还小时每块至少一个字节
+        long everySize = Math.max(1, this.fileLength / this.threadSize);
         try {
             calculateStartEnd(0, everySize);
         } catch (IOException e) {
             e.printStackTrace();
         }
+        if (startEndPairs.isEmpty()) {
+            MultiThreadFileLineReader.super.close();
+            return fileLength;
+        }
+        // 按行对齐后分块数可能比线程数多一个，每个分块一个线程，保证所有分块都能到达屏障
+        this.executorService = Executors.newFixedThreadPool(startEndPairs.size());
 
         final long startTime = System.currentTimeMillis();
         // 所有线程都执行完后，选择一个线程来执行Ruunable的代码
         cyclicBarrier = new CyclicBarrier(startEndPairs.size(), () -> {
             log.info("Use time : " + (System.currentTimeMillis() - startTime) + "ms.");
             log.info("Read total lines : " + counter.get());
-            shutdown(); // 关闭资源
+            // 关闭资源，所有线程都已读取完毕，无需等待
+            executorService.shutdown();
+            MultiThreadFileLineReader.super.close();
         });
         for (StartEndPair pair : startEndPairs) {
             log.debug("Slice size : " + pair);
@@ -104,10 +119,27 @@ public class MultiThreadFileLineReader extends FileLineReader {
         calculateStartEnd(endPosition + 1, size);
     }
 
+    /**
+     * 关闭资源。
+     * <p>
+     * 读取是异步执行的，该方法会等待所有读取线程执行完毕后再关闭文件通道，因此不能在{@link LineHandler}中调用。
+     * 等待超过{@link Builder#closeTimeout(long, TimeUnit)}设置的时间后中断读取线程。
+     */
     @Override
-    public void shutdown() {
-        super.shutdown();
-        this.executorService.shutdown();
+    public void close() {
+        if (this.executorService != null) {
+            this.executorService.shutdown();
+            try {
+                if (!this.executorService.awaitTermination(closeTimeout, TimeUnit.MILLISECONDS)) {
+                    log.warn("Reader threads not finished in " + closeTimeout + "ms, interrupt them.");
+                    this.executorService.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                this.executorService.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+        super.close();
     }
 
     /**
@@ -150,32 +182,16 @@ public class MultiThreadFileLineReader extends FileLineReader {
         @Override
         public void run() {
             try {
-                MappedByteBuffer mapBuffer = randomAccessFile.getChannel().map(FileChannel.MapMode.READ_ONLY, start, sliceSize);
-                ByteArrayOutputStream bos = new ByteArrayOutputStream();
-                for (int offset = 0; offset < sliceSize; offset += bufferSize) {
-                    int readLength;
-                    if (offset + bufferSize <= sliceSize) {
-                        readLength = bufferSize;
-                    } else {
-                        readLength = (int) (sliceSize - offset);
-                    }
-                    mapBuffer.get(readBuff, 0, readLength);
-                    for (int i = 0; i < readLength; i++) {
-                        byte tmp = readBuff[i];
-                        if (tmp == '\n' || tmp == '\r') {
-                            handle(bos.toByteArray());
-                            bos.reset();
-                        } else {
-                            bos.write(tmp);
-                        }
-                    }
-                }
-                if (bos.size() > 0) {
-                    handle(bos.toByteArray());
-                }
-                cyclicBarrier.await();
+                readSlice(start, sliceSize, readBuff);
             } catch (Exception e) {
                 e.printStackTrace();
+            } finally {
+                // 读取失败也需要到达屏障，否则其他线程会一直等待
+                try {
+                    cyclicBarrier.await();
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
             }
         }
     }
@@ -184,6 +200,8 @@ public class MultiThreadFileLineReader extends FileLineReader {
      * 构建器
      */
     public static class Builder extends FileLineReader.Builder {
+        private long closeTimeout = DEFAULT_CLOSE_TIMEOUT;
+
         public Builder(String file, LineHandler handler) {
             super(file, handler);
         }
@@ -201,9 +219,24 @@ public class MultiThreadFileLineReader extends FileLineReader {
             return this;
         }
 
+        /**
+         * 设置{@link MultiThreadFileLineReader#close()}等待读取线程结束的最长时间，默认10分钟
+         *
+         * @param timeout 时间
+         * @param unit    时间单位
+         * @return 构建器
+         */
+        public Builder closeTimeout(long timeout, TimeUnit unit) {
+            if (timeout > 0) {
+                this.closeTimeout = unit.toMillis(timeout);
+            }
+            return this;
+        }
+
         @Override
         public MultiThreadFileLineReader build() {
-            return new MultiThreadFileLineReader(this.file, this.handler, this.charset, this.bufferSize, this.threadSize);
+            return new MultiThreadFileLineReader(this.file, this.handler, this.charset, this.bufferSize, this.threadSize,
+                    this.readMode, this.mapSize, getMaxMappings(), this.closeTimeout);
         }
     }
 }
@@ -0,0 +1,30 @@
+package com.belonk.io;
+
+/**
+ * 文件读取方式。
+ * <p>
+ * Created by sun on 2026/10/19.
+ *
+ * @author sunfuchang03@126.com
+ * @version 1.0
+ * @see FileLineReader.Builder#readMode(ReadMode)
+ * @since 1.1
+ */
+public enum ReadMode {
+    /**
+     * 内存映射读取，使用<code>FileChannel.map</code>将文件映射到内存后读取。
+     */
+    MMAP,
+
+    /**
+     * 通道读取，使用<code>AsynchronousFileChannel</code>按位置读取到池化的直接缓冲区，并在处理当前块时预读下一块。
+     * <p>
+     * 适用于地址空间较小的容器环境或内存映射较慢的网络文件系统。
+     */
+    CHANNEL,
+
+    /**
+     * 自动选择，优先使用内存映射，映射失败时自动回退到通道读取。
+     */
+    AUTO
+}
@@ -0,0 +1,123 @@
+package com.belonk.common.json;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Jackson字节码加速模块的选择与注册。
+ * <p>
+ * 默认的Bean序列化器通过反射读写属性，加速模块在运行时生成直接调用getter/setter、构造器的代码代替反射。按运行的JDK选择：
+ * Java 11及以上优先使用Blackbird（基于MethodHandle和LambdaMetafactory，要求Jackson 2.12+），否则使用Afterburner
+ * （生成字节码并定义到Bean的类加载器中）。模块都是可选依赖，按类名查找，需要由使用者引入与jackson-databind版本一致的
+ * jackson-module-blackbird或jackson-module-afterburner，都不存在时不做任何修改。
+ * <p>
+ * 加速只对public的类和属性生效，其余情况模块自动回退到反射，结果与未加速时一致。
+ * <p>
+ * Created by sun on 2026/10/19.
+ *
+ * @author sunfuchang03@126.com
+ * @version 1.0
+ * @since 1.0
+ * @see JacksonMapperRegistry#enableAcceleration()
+ */
+public final class JacksonAccelerator {
+    /*
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     *
+     * Static fields/constants/initializer
+     *
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     */
+
+    private static Logger log = LoggerFactory.getLogger(JacksonAccelerator.class);
+
+    private static final String BLACKBIRD = "com.fasterxml.jackson.module.blackbird.BlackbirdModule";
+    private static final String AFTERBURNER = "com.fasterxml.jackson.module.afterburner.AfterburnerModule";
+
+    /*
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     *
+     * Constructors
+     *
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     */
+
+    private JacksonAccelerator() {
+    }
+
+    /*
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     *
+     * Public Methods
+     *
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     */
+
+    /**
+     * 创建适合当前JDK的加速模块
+     *
+     * @return 加速模块，类路径中没有可用模块时返回null
+     */
+    public static Module module() {
+        Module module = null;
+        if (javaVersion() >= 11) {
+            module = newModule(BLACKBIRD);
+        }
+        if (module == null) {
+            module = newModule(AFTERBURNER);
+        }
+        return module;
+    }
+
+    /**
+     * 向ObjectMapper注册加速模块，需在使用ObjectMapper之前调用
+     *
+     * @param objectMapper ObjectMapper
+     * @return 注册成功返回true，没有可用模块时返回false
+     */
+    public static boolean register(ObjectMapper objectMapper) {
+        Module module = module();
+        if (module == null) {
+            log.warn("No jackson acceleration module found, add jackson-module-blackbird or jackson-module-afterburner to classpath");
+            return false;
+        }
+        objectMapper.registerModule(module);
+        return true;
+    }
+
+    /*
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     *
+     * Private Methods
+     *
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     */
+
+    private static Module newModule(String className) {
+        try {
+            return (Module) Class.forName(className, true, JacksonAccelerator.class.getClassLoader()).newInstance();
+        } catch (ClassNotFoundException | LinkageError e) {
+            return null;
+        } catch (ReflectiveOperationException e) {
+            log.warn("Create jackson module failed : " + className, e);
+            return null;
+        }
+    }
+
+    /**
+     * 运行时的Java主版本号，Java 8及以前为"1.x"格式
+     */
+    private static int javaVersion() {
+        String version = System.getProperty("java.specification.version", "1.8");
+        if (version.startsWith("1.")) {
+            version = version.substring(2);
+        }
+        try {
+            return Integer.parseInt(version);
+        } catch (NumberFormatException e) {
+            return 8;
+        }
+    }
+}
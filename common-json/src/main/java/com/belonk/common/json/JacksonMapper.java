@@ -0,0 +1,551 @@
+package com.belonk.common.json;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * 预先配置的{@link ObjectMapper}及其按类型缓存的{@link ObjectReader}、{@link ObjectWriter}。
+ * <p>
+ * {@link ObjectMapper#readValue}每次调用都要按目标类型查找根反序列化器，{@link ObjectReader}和{@link ObjectWriter}是不可变的，
+ * 创建后即绑定了类型和配置，可以在多个线程中共享。这里按目标类型缓存它们，同一类型只解析一次。
+ * <p>
+ * 除字符串外还支持直接读写UTF-8字节：byte[]、{@link ByteBuffer}和输入/输出流，Jackson直接解析或生成字节，
+ * 不经过中间的String，减少一次解码/编码和内存复制。字节数组和缓冲区的方法与字符串方法一样，转换失败时记录日志并返回null；
+ * 流的读写错误可能来自流本身，直接抛出由调用者处理。
+ * <p>
+ * 大量元素的json数组使用流式读写：{@link #readArray}逐个解析数组元素，{@link #writeArray}逐个写出元素，
+ * 内存中只保留当前元素。{@link #readLines}和{@link #writeLines}以JSON Lines格式读写，每行一个json值，
+ * 写出的文件也可以使用common-io的按行读取工具读取，每行再由{@link #fromJson(String, Class)}转换。
+ * <p>
+ * 读写器创建时复制了ObjectMapper的配置，ObjectMapper必须在创建本对象之前配置完毕，之后的修改对已缓存的读写器无效。
+ * <p>
+ * Created by sun on 2026/10/19.
+ *
+ * @author sunfuchang03@126.com
+ * @version 1.0
+ * @since 1.0
+ * @see JacksonMapperRegistry
+ */
+public final class JacksonMapper {
+    /*
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     *
+     * Static fields/constants/initializer
+     *
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     */
+
+    private static Logger log = LoggerFactory.getLogger(JacksonMapper.class);
+
+    /*
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     *
+     * Instance fields
+     *
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     */
+
+    private final ObjectMapper objectMapper;
+    private final ConcurrentMap<Type, ObjectReader> readers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+    private final ObjectWriter arrayWriter;
+    private final ObjectWriter lineWriter;
+
+    /*
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     *
+     * Constructors
+     *
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     */
+
+    /**
+     * @param objectMapper 已配置完毕的ObjectMapper
+     */
+    public JacksonMapper(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        // 逐个写出元素时不必每个元素都刷新输出流
+        this.arrayWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.lineWriter = arrayWriter.without(SerializationFeature.INDENT_OUTPUT).withRootValueSeparator("\n");
+    }
+
+    /*
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     *
+     * Public Methods
+     *
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     */
+
+    /**
+     * 获取指定类型的读取器，同一类型只创建一次
+     *
+     * @param clazz 目标类型
+     * @return 读取器
+     */
+    public ObjectReader reader(Class<?> clazz) {
+        return reader((Type) clazz);
+    }
+
+    /**
+     * 获取泛型类型的读取器，按{@link TypeReference#getType()}缓存
+     *
+     * @param typeReference 目标类型
+     * @return 读取器
+     */
+    public ObjectReader reader(TypeReference<?> typeReference) {
+        return reader(typeReference.getType());
+    }
+
+    /**
+     * 获取任意类型的读取器，同一类型只创建一次
+     *
+     * @param type 目标类型，Class或参数化类型等
+     * @return 读取器
+     */
+    public ObjectReader reader(Type type) {
+        ObjectReader reader = readers.get(type);
+        if (reader == null) {
+            reader = objectMapper.readerFor(objectMapper.getTypeFactory().constructType(type));
+            ObjectReader existing = readers.putIfAbsent(type, reader);
+            if (existing != null) {
+                reader = existing;
+            }
+        }
+        return reader;
+    }
+
+    /**
+     * 获取指定类型的写入器，同一类型只创建一次
+     *
+     * @param clazz 对象的实际类型
+     * @return 写入器
+     */
+    public ObjectWriter writer(Class<?> clazz) {
+        ObjectWriter writer = writers.get(clazz);
+        if (writer == null) {
+            writer = objectMapper.writerFor(clazz);
+            ObjectWriter existing = writers.putIfAbsent(clazz, writer);
+            if (existing != null) {
+                writer = existing;
+            }
+        }
+        return writer;
+    }
+
+    /**
+     * 对象转为json，按对象的实际类型使用缓存的写入器
+     *
+     * @param t   对象
+     * @param <T> 对象类型
+     * @return json字符串，失败时返回null
+     */
+    public <T> String toJson(T t) {
+        try {
+            return writerFor(t).writeValueAsString(t);
+        } catch (JsonProcessingException e) {
+            log.error("Convert object to json failed : ", e);
+        }
+        return null;
+    }
+
+    /**
+     * json转为对象
+     *
+     * @param json  json字符串
+     * @param clazz 目标类型
+     * @param <T>   对象类型
+     * @return 对象，失败时返回null
+     */
+    public <T> T fromJson(String json, Class<T> clazz) {
+        try {
+            return reader(clazz).readValue(json);
+        } catch (IOException e) {
+            log.error("Convert json to object failed : ", e);
+        }
+        return null;
+    }
+
+    /**
+     * json转为泛型对象
+     *
+     * @param json          json字符串
+     * @param typeReference 目标类型
+     * @param <T>           对象类型
+     * @return 对象，失败时返回null
+     */
+    public <T> T fromJson(String json, TypeReference<T> typeReference) {
+        try {
+            return reader(typeReference).readValue(json);
+        } catch (IOException e) {
+            log.error("Convert json to object failed : ", e);
+        }
+        return null;
+    }
+
+    /**
+     * 对象转为UTF-8编码的json字节
+     *
+     * @param t   对象
+     * @param <T> 对象类型
+     * @return json字节，失败时返回null
+     */
+    public <T> byte[] toJsonBytes(T t) {
+        try {
+            return writerFor(t).writeValueAsBytes(t);
+        } catch (JsonProcessingException e) {
+            log.error("Convert object to json failed : ", e);
+        }
+        return null;
+    }
+
+    /**
+     * 对象转为UTF-8编码的json字节缓冲区
+     *
+     * @param t   对象
+     * @param <T> 对象类型
+     * @return 包装json字节的缓冲区，position为0，失败时返回null
+     */
+    public <T> ByteBuffer toJsonByteBuffer(T t) {
+        byte[] bytes = toJsonBytes(t);
+        return bytes == null ? null : ByteBuffer.wrap(bytes);
+    }
+
+    /**
+     * 对象以UTF-8编码的json写入输出流
+     *
+     * @param t            对象
+     * @param outputStream 输出流，写入完毕后不会关闭
+     * @param <T>          对象类型
+     * @throws IOException 转换失败或写入失败
+     */
+    public <T> void toJson(T t, OutputStream outputStream) throws IOException {
+        // 由生成器禁用自动关闭，不必为每次调用派生新的写入器
+        try (JsonGenerator generator = createGenerator(outputStream)) {
+            writerFor(t).writeValue(generator, t);
+        }
+    }
+
+    /**
+     * json字节转为对象，编码按json规范自动识别
+     *
+     * @param json  json字节
+     * @param clazz 目标类型
+     * @param <T>   对象类型
+     * @return 对象，失败时返回null
+     */
+    public <T> T fromJson(byte[] json, Class<T> clazz) {
+        try {
+            return reader(clazz).readValue(json);
+        } catch (IOException e) {
+            log.error("Convert json to object failed : ", e);
+        }
+        return null;
+    }
+
+    /**
+     * json字节转为泛型对象，编码按json规范自动识别
+     *
+     * @param json          json字节
+     * @param typeReference 目标类型
+     * @param <T>           对象类型
+     * @return 对象，失败时返回null
+     */
+    public <T> T fromJson(byte[] json, TypeReference<T> typeReference) {
+        try {
+            return reader(typeReference).readValue(json);
+        } catch (IOException e) {
+            log.error("Convert json to object failed : ", e);
+        }
+        return null;
+    }
+
+    /**
+     * 缓冲区中剩余的json字节转为对象，不改变缓冲区的position
+     *
+     * @param json  json字节缓冲区
+     * @param clazz 目标类型
+     * @param <T>   对象类型
+     * @return 对象，失败时返回null
+     */
+    public <T> T fromJson(ByteBuffer json, Class<T> clazz) {
+        try {
+            return readValue(reader(clazz), json);
+        } catch (IOException e) {
+            log.error("Convert json to object failed : ", e);
+        }
+        return null;
+    }
+
+    /**
+     * 缓冲区中剩余的json字节转为泛型对象，不改变缓冲区的position
+     *
+     * @param json          json字节缓冲区
+     * @param typeReference 目标类型
+     * @param <T>           对象类型
+     * @return 对象，失败时返回null
+     */
+    public <T> T fromJson(ByteBuffer json, TypeReference<T> typeReference) {
+        try {
+            return readValue(reader(typeReference), json);
+        } catch (IOException e) {
+            log.error("Convert json to object failed : ", e);
+        }
+        return null;
+    }
+
+    /**
+     * 从输入流读取json并转为对象
+     *
+     * @param inputStream 输入流，读取完毕后不会关闭
+     * @param clazz       目标类型
+     * @param <T>         对象类型
+     * @return 对象
+     * @throws IOException 转换失败或读取失败
+     */
+    public <T> T fromJson(InputStream inputStream, Class<T> clazz) throws IOException {
+        return readValue(reader(clazz), inputStream);
+    }
+
+    /**
+     * 从输入流读取json并转为泛型对象
+     *
+     * @param inputStream   输入流，读取完毕后不会关闭
+     * @param typeReference 目标类型
+     * @param <T>           对象类型
+     * @return 对象
+     * @throws IOException 转换失败或读取失败
+     */
+    public <T> T fromJson(InputStream inputStream, TypeReference<T> typeReference) throws IOException {
+        return readValue(reader(typeReference), inputStream);
+    }
+
+    /**
+     * 逐个读取json数组的元素
+     *
+     * @param inputStream 输入流，内容必须是json数组，读取完毕后不会关闭
+     * @param clazz       元素类型
+     * @param <T>         元素类型
+     * @return 元素迭代器，中途放弃时需要关闭
+     * @throws IOException 读取失败或内容不是json数组
+     */
+    public <T> JsonValueIterator<T> readArray(InputStream inputStream, Class<T> clazz) throws IOException {
+        JsonParser parser = createParser(inputStream);
+        try {
+            JsonToken token = parser.nextToken();
+            if (token != JsonToken.START_ARRAY) {
+                throw new JsonParseException(parser, "Expected json array, but was " + token);
+            }
+            // 跳过数组开始标记，MappingIterator从第一个元素开始读取，在数组结束时停止
+            parser.clearCurrentToken();
+            return new JsonValueIterator<>(parser, reader(clazz).<T>readValues(parser));
+        } catch (IOException e) {
+            parser.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 逐个读取json数组的元素并交给回调处理
+     *
+     * @param inputStream 输入流，内容必须是json数组，读取完毕后不会关闭
+     * @param clazz       元素类型
+     * @param consumer    元素处理器
+     * @param <T>         元素类型
+     * @return 读取的元素个数
+     * @throws IOException 读取失败或内容不是json数组
+     */
+    public <T> long readArray(InputStream inputStream, Class<T> clazz, Consumer<? super T> consumer) throws IOException {
+        try (JsonValueIterator<T> iterator = readArray(inputStream, clazz)) {
+            return consume(iterator, consumer);
+        }
+    }
+
+    /**
+     * 逐行读取JSON Lines格式的值，值之间以任意空白分隔
+     *
+     * @param inputStream 输入流，读取完毕后不会关闭
+     * @param clazz       值类型
+     * @param <T>         值类型
+     * @return 值迭代器，中途放弃时需要关闭
+     * @throws IOException 读取失败
+     */
+    public <T> JsonValueIterator<T> readLines(InputStream inputStream, Class<T> clazz) throws IOException {
+        JsonParser parser = createParser(inputStream);
+        return new JsonValueIterator<>(parser, reader(clazz).<T>readValues(parser));
+    }
+
+    /**
+     * 逐行读取JSON Lines格式的值并交给回调处理
+     *
+     * @param inputStream 输入流，读取完毕后不会关闭
+     * @param clazz       值类型
+     * @param consumer    值处理器
+     * @param <T>         值类型
+     * @return 读取的值个数
+     * @throws IOException 读取失败
+     */
+    public <T> long readLines(InputStream inputStream, Class<T> clazz, Consumer<? super T> consumer) throws IOException {
+        try (JsonValueIterator<T> iterator = readLines(inputStream, clazz)) {
+            return consume(iterator, consumer);
+        }
+    }
+
+    /**
+     * 逐个写出元素为UTF-8编码的json数组
+     *
+     * @param values       元素
+     * @param outputStream 输出流，写入完毕后不会关闭
+     * @return 写出的元素个数
+     * @throws IOException 转换失败或写入失败
+     */
+    public long writeArray(Iterator<?> values, OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = createGenerator(outputStream);
+             SequenceWriter sequenceWriter = arrayWriter.writeValuesAsArray(generator)) {
+            return write(values, sequenceWriter);
+        }
+    }
+
+    /**
+     * 逐个写出元素为UTF-8编码的json数组，流中的元素按需生成
+     *
+     * @param values       元素
+     * @param outputStream 输出流，写入完毕后不会关闭
+     * @return 写出的元素个数
+     * @throws IOException 转换失败或写入失败
+     */
+    public long writeArray(Stream<?> values, OutputStream outputStream) throws IOException {
+        return writeArray(values.iterator(), outputStream);
+    }
+
+    /**
+     * 逐个写出值为UTF-8编码的JSON Lines，每个值一行，以换行符结尾，忽略ObjectMapper的缩进配置
+     *
+     * @param values       值
+     * @param outputStream 输出流，写入完毕后不会关闭
+     * @return 写出的值个数
+     * @throws IOException 转换失败或写入失败
+     */
+    public long writeLines(Iterator<?> values, OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = createGenerator(outputStream)) {
+            long count;
+            try (SequenceWriter sequenceWriter = lineWriter.writeValues(generator)) {
+                count = write(values, sequenceWriter);
+            }
+            if (count > 0) {
+                generator.writeRaw('\n');
+            }
+            return count;
+        }
+    }
+
+    /**
+     * 逐个写出值为UTF-8编码的JSON Lines，流中的值按需生成
+     *
+     * @param values       值
+     * @param outputStream 输出流，写入完毕后不会关闭
+     * @return 写出的值个数
+     * @throws IOException 转换失败或写入失败
+     */
+    public long writeLines(Stream<?> values, OutputStream outputStream) throws IOException {
+        return writeLines(values.iterator(), outputStream);
+    }
+
+    /**
+     * 获取ObjectMapper，修改其配置不会影响已缓存的读写器
+     *
+     * @return ObjectMapper
+     */
+    public ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
+    /*
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     *
+     * Private Methods
+     *
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     */
+
+    /**
+     * 按对象的实际类型获取写入器，null使用不绑定类型的写入器
+     */
+    private ObjectWriter writerFor(Object t) {
+        return t == null ? objectMapper.writer() : writer(t.getClass());
+    }
+
+    private <T> T readValue(ObjectReader reader, InputStream inputStream) throws IOException {
+        try (JsonParser parser = createParser(inputStream)) {
+            return reader.readValue(parser);
+        }
+    }
+
+    /**
+     * 创建不关闭输入流的解析器
+     */
+    private JsonParser createParser(InputStream inputStream) throws IOException {
+        JsonParser parser = objectMapper.getFactory().createParser(inputStream);
+        parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+        return parser;
+    }
+
+    /**
+     * 创建不关闭输出流的UTF-8生成器
+     */
+    private JsonGenerator createGenerator(OutputStream outputStream) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream, JsonEncoding.UTF8);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        return generator;
+    }
+
+    private static <T> long consume(JsonValueIterator<T> iterator, Consumer<? super T> consumer) throws IOException {
+        long count = 0;
+        while (iterator.hasNextValue()) {
+            consumer.accept(iterator.nextValue());
+            count++;
+        }
+        return count;
+    }
+
+    private static long write(Iterator<?> values, SequenceWriter sequenceWriter) throws IOException {
+        long count = 0;
+        while (values.hasNext()) {
+            sequenceWriter.write(values.next());
+            count++;
+        }
+        return count;
+    }
+
+    private static <T> T readValue(ObjectReader reader, ByteBuffer json) throws IOException {
+        if (json.hasArray()) {
+            return reader.readValue(json.array(), json.arrayOffset() + json.position(), json.remaining());
+        }
+        // 直接缓冲区通过副本读取，不改变原缓冲区的position
+        return reader.readValue(new ByteBufferBackedInputStream(json.duplicate()));
+    }
+}
@@ -0,0 +1,137 @@
+package com.belonk.common.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+
+/**
+ * 命名的{@link JacksonMapper}注册表。
+ * <p>
+ * 日期格式、命名策略、是否忽略未知属性等配置不同的场景，在启动时按名称注册各自配置好的ObjectMapper，使用时按名称获取，
+ * 不必在调用处临时创建ObjectMapper，也不必每次重新预热。默认名称{@link #DEFAULT}对应{@link JacksonUtil}使用的默认配置。
+ * <p>
+ * Created by sun on 2026/10/19.
+ *
+ * @author sunfuchang03@126.com
+ * @version 1.0
+ * @since 1.0
+ */
+public final class JacksonMapperRegistry {
+    /*
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     *
+     * Static fields/constants/initializer
+     *
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     */
+
+    /**
+     * 默认配置的名称
+     */
+    public static final String DEFAULT = "default";
+
+    private static final ConcurrentMap<String, JacksonMapper> mappers = new ConcurrentHashMap<>();
+
+    static {
+        mappers.put(DEFAULT, new JacksonMapper(new ObjectMapper()));
+    }
+
+    /*
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     *
+     * Constructors
+     *
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     */
+
+    private JacksonMapperRegistry() {
+    }
+
+    /*
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     *
+     * Public Methods
+     *
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     */
+
+    /**
+     * 注册ObjectMapper，同名的已有配置会被替换，已缓存的读写器随之失效
+     *
+     * @param name         名称
+     * @param objectMapper 已配置完毕的ObjectMapper
+     * @return 注册的JacksonMapper
+     */
+    public static JacksonMapper register(String name, ObjectMapper objectMapper) {
+        JacksonMapper mapper = new JacksonMapper(objectMapper);
+        mappers.put(name, mapper);
+        return mapper;
+    }
+
+    /**
+     * 以默认配置为基础创建并注册ObjectMapper
+     *
+     * @param name       名称
+     * @param configurer 配置新创建的ObjectMapper，如启用/禁用特性、注册模块
+     * @return 注册的JacksonMapper
+     */
+    public static JacksonMapper register(String name, Consumer<ObjectMapper> configurer) {
+        ObjectMapper objectMapper = new ObjectMapper();
+        configurer.accept(objectMapper);
+        return register(name, objectMapper);
+    }
+
+    /**
+     * 按名称获取
+     *
+     * @param name 名称
+     * @return JacksonMapper
+     * @throws IllegalArgumentException 名称未注册
+     */
+    public static JacksonMapper get(String name) {
+        JacksonMapper mapper = mappers.get(name);
+        if (mapper == null) {
+            throw new IllegalArgumentException("Jackson mapper not registered : " + name);
+        }
+        return mapper;
+    }
+
+    /**
+     * 获取默认配置
+     *
+     * @return JacksonMapper
+     */
+    public static JacksonMapper getDefault() {
+        return get(DEFAULT);
+    }
+
+    /**
+     * 为默认配置启用字节码加速，以当前默认配置的副本注册{@link JacksonAccelerator}选择的模块后替换默认配置，
+     * {@link JacksonUtil}随之使用加速后的配置。应在启动时调用，其他配置可以通过{@code register(name, JacksonAccelerator::register)}启用
+     *
+     * @return 启用成功返回true，类路径中没有可用的加速模块时返回false，默认配置保持不变
+     */
+    public static synchronized boolean enableAcceleration() {
+        ObjectMapper objectMapper = getDefault().getObjectMapper().copy();
+        if (!JacksonAccelerator.register(objectMapper)) {
+            return false;
+        }
+        register(DEFAULT, objectMapper);
+        return true;
+    }
+
+    /**
+     * 移除注册，默认配置不能移除
+     *
+     * @param name 名称
+     * @return 被移除的JacksonMapper，不存在时返回null
+     */
+    public static JacksonMapper remove(String name) {
+        if (DEFAULT.equals(name)) {
+            throw new IllegalArgumentException("Default jackson mapper can not be removed");
+        }
+        return mappers.remove(name);
+    }
+}
@@ -1,14 +1,20 @@
 package com.belonk.common.json;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
+ * Jackson工具类。
+ * <p>
+ * 使用{@link JacksonMapperRegistry}中的默认配置，按目标类型缓存读写器。需要其他配置时，通过{@link #mapper(String)}获取已注册的
+ * {@link JacksonMapper}。
+ * <p>
  * Created by sun on 2018/5/30.
  *
  * @author sunfuchang03@126.com
@@ -24,8 +30,6 @@ public class JacksonUtil {
      * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
      */
 
-    private static Logger log = LoggerFactory.getLogger(JacksonUtil.class);
-    private static ObjectMapper om = new ObjectMapper();
 
     /*
      * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
@@ -57,30 +61,163 @@ public class JacksonUtil {
      */
 
     public static <T> String toJson(T t) {
-        try {
-            return om.writeValueAsString(t);
-        } catch (JsonProcessingException e) {
-            log.error("Convert object to json failed : ", e);
-        }
-        return null;
+        return JacksonMapperRegistry.getDefault().toJson(t);
     }
 
     public static <T> T fromJson(String json, Class<T> clazz) {
-        try {
-            return om.readValue(json, clazz);
-        } catch (IOException e) {
-            log.error("Convert json to object failed : ", e);
-        }
-        return null;
+        return JacksonMapperRegistry.getDefault().fromJson(json, clazz);
     }
 
     public static <T> T fromJson(String json, TypeReference<T> typeReference) {
-        try {
-            return om.readValue(json, typeReference);
-        } catch (IOException e) {
-            log.error("Convert json to object failed : ", e);
-        }
-        return null;
+        return JacksonMapperRegistry.getDefault().fromJson(json, typeReference);
+    }
+
+    /**
+     * 对象转为UTF-8编码的json字节，不经过中间的String
+     *
+     * @param t   对象
+     * @param <T> 对象类型
+     * @return json字节，失败时返回null
+     */
+    public static <T> byte[] toJsonBytes(T t) {
+        return JacksonMapperRegistry.getDefault().toJsonBytes(t);
+    }
+
+    /**
+     * 对象转为UTF-8编码的json字节缓冲区
+     *
+     * @param t   对象
+     * @param <T> 对象类型
+     * @return json字节缓冲区，失败时返回null
+     */
+    public static <T> ByteBuffer toJsonByteBuffer(T t) {
+        return JacksonMapperRegistry.getDefault().toJsonByteBuffer(t);
+    }
+
+    /**
+     * 对象以UTF-8编码的json写入输出流
+     *
+     * @param t            对象
+     * @param outputStream 输出流，写入完毕后不会关闭
+     * @param <T>          对象类型
+     * @throws IOException 转换失败或写入失败
+     */
+    public static <T> void toJson(T t, OutputStream outputStream) throws IOException {
+        JacksonMapperRegistry.getDefault().toJson(t, outputStream);
+    }
+
+    public static <T> T fromJson(byte[] json, Class<T> clazz) {
+        return JacksonMapperRegistry.getDefault().fromJson(json, clazz);
+    }
+
+    public static <T> T fromJson(byte[] json, TypeReference<T> typeReference) {
+        return JacksonMapperRegistry.getDefault().fromJson(json, typeReference);
+    }
+
+    public static <T> T fromJson(ByteBuffer json, Class<T> clazz) {
+        return JacksonMapperRegistry.getDefault().fromJson(json, clazz);
+    }
+
+    public static <T> T fromJson(ByteBuffer json, TypeReference<T> typeReference) {
+        return JacksonMapperRegistry.getDefault().fromJson(json, typeReference);
+    }
+
+    /**
+     * 从输入流读取json并转为对象
+     *
+     * @param inputStream 输入流，读取完毕后不会关闭
+     * @param clazz       目标类型
+     * @param <T>         对象类型
+     * @return 对象
+     * @throws IOException 转换失败或读取失败
+     */
+    public static <T> T fromJson(InputStream inputStream, Class<T> clazz) throws IOException {
+        return JacksonMapperRegistry.getDefault().fromJson(inputStream, clazz);
+    }
+
+    /**
+     * 从输入流读取json并转为泛型对象
+     *
+     * @param inputStream   输入流，读取完毕后不会关闭
+     * @param typeReference 目标类型
+     * @param <T>           对象类型
+     * @return 对象
+     * @throws IOException 转换失败或读取失败
+     */
+    public static <T> T fromJson(InputStream inputStream, TypeReference<T> typeReference) throws IOException {
+        return JacksonMapperRegistry.getDefault().fromJson(inputStream, typeReference);
+    }
+
+    /**
+     * 逐个读取json数组的元素
+     *
+     * @param inputStream 输入流，内容必须是json数组，读取完毕后不会关闭
+     * @param clazz       元素类型
+     * @param <T>         元素类型
+     * @return 元素迭代器，中途放弃时需要关闭
+     * @throws IOException 读取失败或内容不是json数组
+     * @see JacksonMapper#readArray(InputStream, Class)
+     */
+    public static <T> JsonValueIterator<T> readArray(InputStream inputStream, Class<T> clazz) throws IOException {
+        return JacksonMapperRegistry.getDefault().readArray(inputStream, clazz);
+    }
+
+    public static <T> long readArray(InputStream inputStream, Class<T> clazz, Consumer<? super T> consumer) throws IOException {
+        return JacksonMapperRegistry.getDefault().readArray(inputStream, clazz, consumer);
+    }
+
+    /**
+     * 逐行读取JSON Lines格式的值
+     *
+     * @param inputStream 输入流，读取完毕后不会关闭
+     * @param clazz       值类型
+     * @param <T>         值类型
+     * @return 值迭代器，中途放弃时需要关闭
+     * @throws IOException 读取失败
+     * @see JacksonMapper#readLines(InputStream, Class)
+     */
+    public static <T> JsonValueIterator<T> readLines(InputStream inputStream, Class<T> clazz) throws IOException {
+        return JacksonMapperRegistry.getDefault().readLines(inputStream, clazz);
+    }
+
+    public static <T> long readLines(InputStream inputStream, Class<T> clazz, Consumer<? super T> consumer) throws IOException {
+        return JacksonMapperRegistry.getDefault().readLines(inputStream, clazz, consumer);
+    }
+
+    /**
+     * 逐个写出元素为UTF-8编码的json数组
+     *
+     * @param values       元素，按需生成
+     * @param outputStream 输出流，写入完毕后不会关闭
+     * @return 写出的元素个数
+     * @throws IOException 转换失败或写入失败
+     */
+    public static long writeArray(Stream<?> values, OutputStream outputStream) throws IOException {
+        return JacksonMapperRegistry.getDefault().writeArray(values, outputStream);
+    }
+
+    /**
+     * 逐个写出值为UTF-8编码的JSON Lines，每个值一行
+     *
+     * @param values       值，按需生成
+     * @param outputStream 输出流，写入完毕后不会关闭
+     * @return 写出的值个数
+     * @throws IOException 转换失败或写入失败
+     */
+    public static long writeLines(Stream<?> values, OutputStream outputStream) throws IOException {
+        return JacksonMapperRegistry.getDefault().writeLines(values, outputStream);
+    }
+
+    /**
+     * 获取已注册的JacksonMapper
+     *
+     * @param name 注册名称
+     * @return JacksonMapper
+     * @throws IllegalArgumentException 名称未注册
+     * @see JacksonMapperRegistry#register
+     */
+    public static JacksonMapper mapper(String name) {
+        return JacksonMapperRegistry.get(name);
     }
 
     /*
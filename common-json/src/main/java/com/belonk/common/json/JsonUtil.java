@@ -0,0 +1,112 @@
+package com.belonk.common.json;
+
+import com.belonk.common.json.engine.JsonEngine;
+import com.belonk.common.json.engine.JsonEngineException;
+import com.belonk.common.json.engine.JsonEngines;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Type;
+
+/**
+ * 与具体库无关的json工具类。
+ * <p>
+ * 使用{@link JsonEngines#getDefault()}的引擎转换，引擎由配置选择，失败时记录日志并返回null。需要指定引擎时，
+ * 通过{@link #engine(String)}获取，引擎抛出的{@link JsonEngineException}由调用者处理。
+ * <p>
+ * Created by sun on 2026/10/19.
+ *
+ * @author sunfuchang03@126.com
+ * @version 1.0
+ * @since 1.0
+ */
+public class JsonUtil {
+    /*
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     *
+     * Static fields/constants/initializer
+     *
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     */
+
+    private static Logger log = LoggerFactory.getLogger(JsonUtil.class);
+
+    /*
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     *
+     * Public Methods
+     *
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     */
+
+    public static String toJson(Object value) {
+        try {
+            return JsonEngines.getDefault().toJson(value);
+        } catch (JsonEngineException e) {
+            log.error("Convert object to json failed : ", e);
+        }
+        return null;
+    }
+
+    public static byte[] toJsonBytes(Object value) {
+        try {
+            return JsonEngines.getDefault().toJsonBytes(value);
+        } catch (JsonEngineException e) {
+            log.error("Convert object to json failed : ", e);
+        }
+        return null;
+    }
+
+    public static <T> T fromJson(String json, Class<T> clazz) {
+        return fromJson(json, (Type) clazz);
+    }
+
+    /**
+     * json转为对象
+     *
+     * @param json json字符串
+     * @param type 目标类型，Class或参数化类型等
+     * @param <T>  对象类型
+     * @return 对象，失败时返回null
+     */
+    public static <T> T fromJson(String json, Type type) {
+        try {
+            return JsonEngines.getDefault().fromJson(json, type);
+        } catch (JsonEngineException e) {
+            log.error("Convert json to object failed : ", e);
+        }
+        return null;
+    }
+
+    public static <T> T fromJson(byte[] json, Class<T> clazz) {
+        return fromJson(json, (Type) clazz);
+    }
+
+    /**
+     * UTF-8编码的json字节转为对象
+     *
+     * @param json json字节
+     * @param type 目标类型，Class或参数化类型等
+     * @param <T>  对象类型
+     * @return 对象，失败时返回null
+     */
+    public static <T> T fromJson(byte[] json, Type type) {
+        try {
+            return JsonEngines.getDefault().fromJson(json, type);
+        } catch (JsonEngineException e) {
+            log.error("Convert json to object failed : ", e);
+        }
+        return null;
+    }
+
+    /**
+     * 按名称获取引擎
+     *
+     * @param name 引擎名称
+     * @return 引擎
+     * @throws IllegalArgumentException 引擎不可用
+     */
+    public static JsonEngine engine(String name) {
+        return JsonEngines.get(name);
+    }
+}
@@ -0,0 +1,123 @@
+package com.belonk.common.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.MappingIterator;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
+
+/**
+ * 逐个读取json值的迭代器。
+ * <p>
+ * 由{@link JacksonMapper#readArray(java.io.InputStream, Class)}或{@link JacksonMapper#readLines(java.io.InputStream, Class)}创建，
+ * 每次只解析一个元素，内存占用与元素总数无关。{@link #hasNext()}和{@link #next()}把读取错误包装为
+ * {@link com.fasterxml.jackson.databind.RuntimeJsonMappingException}，需要受检异常时使用{@link #hasNextValue()}和{@link #nextValue()}。
+ * <p>
+ * 读取完毕后自动释放解析器，中途放弃时需调用{@link #close()}。底层的输入流始终不会被关闭。
+ * <p>
+ * Created by sun on 2026/10/19.
+ *
+ * @author sunfuchang03@126.com
+ * @version 1.0
+ * @since 1.0
+ */
+public final class JsonValueIterator<T> implements Iterator<T>, Closeable {
+    /*
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     *
+     * Instance fields
+     *
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     */
+
+    private final JsonParser parser;
+    private final MappingIterator<T> iterator;
+
+    /*
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     *
+     * Constructors
+     *
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     */
+
+    JsonValueIterator(JsonParser parser, MappingIterator<T> iterator) {
+        this.parser = parser;
+        this.iterator = iterator;
+    }
+
+    /*
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     *
+     * Public Methods
+     *
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     */
+
+    @Override
+    public boolean hasNext() {
+        boolean hasNext = iterator.hasNext();
+        if (!hasNext) {
+            closeQuietly();
+        }
+        return hasNext;
+    }
+
+    @Override
+    public T next() {
+        return iterator.next();
+    }
+
+    /**
+     * 是否还有下一个值
+     *
+     * @return 有下一个值时返回true
+     * @throws IOException 读取失败
+     */
+    public boolean hasNextValue() throws IOException {
+        boolean hasNext = iterator.hasNextValue();
+        if (!hasNext) {
+            close();
+        }
+        return hasNext;
+    }
+
+    /**
+     * 读取下一个值
+     *
+     * @return 值
+     * @throws IOException 读取或转换失败
+     * @throws java.util.NoSuchElementException 没有更多的值
+     */
+    public T nextValue() throws IOException {
+        return iterator.nextValue();
+    }
+
+    /**
+     * 释放解析器，不关闭底层的输入流
+     *
+     * @throws IOException 释放失败
+     */
+    @Override
+    public void close() throws IOException {
+        iterator.close();
+        parser.close();
+    }
+
+    /*
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     *
+     * Private Methods
+     *
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     */
+
+    private void closeQuietly() {
+        try {
+            close();
+        } catch (IOException e) {
+            // 输入流不会被关闭，释放解析器的缓冲区不会失败
+        }
+    }
+}
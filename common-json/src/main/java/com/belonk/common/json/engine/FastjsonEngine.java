@@ -0,0 +1,89 @@
+package com.belonk.common.json.engine;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONException;
+
+import java.lang.reflect.Type;
+
+/**
+ * 基于fastjson的json引擎，使用fastjson的全局配置。
+ * <p>
+ * Created by sun on 2026/10/19.
+ *
+ * @author sunfuchang03@126.com
+ * @version 1.0
+ * @since 1.0
+ */
+public class FastjsonEngine implements JsonEngine {
+    /*
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     *
+     * Static fields/constants/initializer
+     *
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     */
+
+    public static final String NAME = "fastjson";
+
+    /*
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     *
+     * Constructors
+     *
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     */
+
+    public FastjsonEngine() {
+        // 加载fastjson的类，类路径中没有fastjson时抛出NoClassDefFoundError，由JsonEngines跳过该引擎
+        JSON.class.getName();
+    }
+
+    /*
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     *
+     * Public Methods
+     *
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     */
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public String toJson(Object value) {
+        try {
+            return JSON.toJSONString(value);
+        } catch (JSONException e) {
+            throw new JsonEngineException(NAME, e);
+        }
+    }
+
+    @Override
+    public byte[] toJsonBytes(Object value) {
+        try {
+            return JSON.toJSONBytes(value);
+        } catch (JSONException e) {
+            throw new JsonEngineException(NAME, e);
+        }
+    }
+
+    @Override
+    public <T> T fromJson(String json, Type type) {
+        try {
+            return JSON.parseObject(json, type);
+        } catch (JSONException e) {
+            throw new JsonEngineException(NAME, e);
+        }
+    }
+
+    @Override
+    public <T> T fromJson(byte[] json, Type type) {
+        try {
+            return JSON.parseObject(json, type);
+        } catch (JSONException e) {
+            throw new JsonEngineException(NAME, e);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.belonk.common.json.engine;
+
+import com.belonk.common.json.JacksonMapper;
+import com.belonk.common.json.JacksonMapperRegistry;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * 基于Jackson的json引擎，使用{@link JacksonMapper}缓存的读写器。
+ * <p>
+ * 默认构造的实例每次调用都从{@link JacksonMapperRegistry#getDefault()}获取配置，与{@link com.belonk.common.json.JacksonUtil}一致，
+ * 包括{@link JacksonMapperRegistry#enableAcceleration()}启用的加速。
+ * <p>
+ * Created by sun on 2026/10/19.
+ *
+ * @author sunfuchang03@126.com
+ * @version 1.0
+ * @since 1.0
+ */
+public class JacksonEngine implements JsonEngine {
+    /*
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     *
+     * Static fields/constants/initializer
+     *
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     */
+
+    public static final String NAME = "jackson";
+
+    /*
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     *
+     * Instance fields
+     *
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     */
+
+    private final JacksonMapper mapper;
+
+    /*
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     *
+     * Constructors
+     *
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     */
+
+    public JacksonEngine() {
+        this(null);
+    }
+
+    /**
+     * @param mapper 使用的配置，为null时使用注册表中的默认配置
+     */
+    public JacksonEngine(JacksonMapper mapper) {
+        this.mapper = mapper;
+        // 初始化默认配置时加载jackson的类，类路径中没有jackson时抛出NoClassDefFoundError，由JsonEngines跳过该引擎
+        JacksonMapperRegistry.getDefault();
+    }
+
+    /*
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     *
+     * Public Methods
+     *
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     */
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public String toJson(Object value) {
+        JacksonMapper mapper = mapper();
+        try {
+            return writer(mapper, value).writeValueAsString(value);
+        } catch (IOException e) {
+            throw new JsonEngineException(NAME, e);
+        }
+    }
+
+    @Override
+    public byte[] toJsonBytes(Object value) {
+        JacksonMapper mapper = mapper();
+        try {
+            return writer(mapper, value).writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new JsonEngineException(NAME, e);
+        }
+    }
+
+    @Override
+    public <T> T fromJson(String json, Type type) {
+        try {
+            return mapper().reader(type).readValue(json);
+        } catch (IOException e) {
+            throw new JsonEngineException(NAME, e);
+        }
+    }
+
+    @Override
+    public <T> T fromJson(byte[] json, Type type) {
+        try {
+            return mapper().reader(type).readValue(json);
+        } catch (IOException e) {
+            throw new JsonEngineException(NAME, e);
+        }
+    }
+
+    /*
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     *
+     * Private Methods
+     *
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     */
+
+    private JacksonMapper mapper() {
+        return mapper != null ? mapper : JacksonMapperRegistry.getDefault();
+    }
+
+    private static ObjectWriter writer(JacksonMapper mapper, Object value) {
+        return value == null ? mapper.getObjectMapper().writer() : mapper.writer(value.getClass());
+    }
+}
@@ -0,0 +1,75 @@
+package com.belonk.common.json.engine;
+
+import java.lang.reflect.Type;
+
+/**
+ * json引擎SPI，统一Jackson、Gson、fastjson等实现的对象与json互转。
+ * <p>
+ * 实现类通过{@link java.util.ServiceLoader}注册（META-INF/services/com.belonk.common.json.engine.JsonEngine），
+ * 由{@link JsonEngines}加载并按名称获取。实现必须在构造时加载底层库的类，使底层库不在类路径中时实例化失败而被跳过。实现必须是线程安全的。
+ * <p>
+ * 各引擎的默认行为不完全相同，如是否输出null属性、是否忽略未知属性，切换引擎前应确认载荷在两种引擎下的结果一致。
+ * 转换失败统一抛出{@link JsonEngineException}。
+ * <p>
+ * Created by sun on 2026/10/19.
+ *
+ * @author sunfuchang03@126.com
+ * @version 1.0
+ * @since 1.0
+ */
+public interface JsonEngine {
+    /**
+     * 引擎名称，用于{@link JsonEngines#get(String)}和配置
+     *
+     * @return 名称
+     */
+    String getName();
+
+    /**
+     * 对象转为json
+     *
+     * @param value 对象
+     * @return json字符串
+     * @throws JsonEngineException 转换失败
+     */
+    String toJson(Object value);
+
+    /**
+     * 对象转为UTF-8编码的json字节
+     *
+     * @param value 对象
+     * @return json字节
+     * @throws JsonEngineException 转换失败
+     */
+    byte[] toJsonBytes(Object value);
+
+    /**
+     * json转为对象
+     *
+     * @param json json字符串
+     * @param type 目标类型，Class或参数化类型等
+     * @param <T>  对象类型
+     * @return 对象
+     * @throws JsonEngineException 转换失败
+     */
+    <T> T fromJson(String json, Type type);
+
+    /**
+     * UTF-8编码的json字节转为对象
+     *
+     * @param json json字节
+     * @param type 目标类型，Class或参数化类型等
+     * @param <T>  对象类型
+     * @return 对象
+     * @throws JsonEngineException 转换失败
+     */
+    <T> T fromJson(byte[] json, Type type);
+
+    default <T> T fromJson(String json, Class<T> clazz) {
+        return fromJson(json, (Type) clazz);
+    }
+
+    default <T> T fromJson(byte[] json, Class<T> clazz) {
+        return fromJson(json, (Type) clazz);
+    }
+}
@@ -0,0 +1,18 @@
+package com.belonk.common.json.engine;
+
+/**
+ * json引擎转换失败，包装底层库抛出的异常。
+ * <p>
+ * Created by sun on 2026/10/19.
+ *
+ * @author sunfuchang03@126.com
+ * @version 1.0
+ * @since 1.0
+ */
+public class JsonEngineException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public JsonEngineException(String engine, Throwable cause) {
+        super("Json engine " + engine + " failed : " + cause.getMessage(), cause);
+    }
+}
@@ -0,0 +1,154 @@
+package com.belonk.common.json.engine;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * {@link JsonEngine}的注册表。
+ * <p>
+ * 类加载时通过{@link ServiceLoader}加载类路径中可用的引擎，引擎在构造时加载底层库的类，底层库缺失的引擎实例化失败而被跳过。不同场景可以按名称获取各自的引擎，
+ * 名称来自配置，根据基准测试结果为每类载荷选择最快的引擎，而不必在代码中直接依赖某个库。
+ * <p>
+ * 默认引擎由系统属性{@value #ENGINE_PROPERTY}指定，未指定时按jackson、gson、fastjson的顺序选择第一个可用的引擎。
+ * <p>
+ * Created by sun on 2026/10/19.
+ *
+ * @author sunfuchang03@126.com
+ * @version 1.0
+ * @since 1.0
+ */
+public final class JsonEngines {
+    /*
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     *
+     * Static fields/constants/initializer
+     *
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     */
+
+    /**
+     * 指定默认引擎名称的系统属性
+     */
+    public static final String ENGINE_PROPERTY = "common.json.engine";
+
+    private static Logger log = LoggerFactory.getLogger(JsonEngines.class);
+
+    private static final String[] PREFERRED = {JacksonEngine.NAME, GsonEngine.NAME, FastjsonEngine.NAME};
+
+    private static final ConcurrentMap<String, JsonEngine> engines = new ConcurrentHashMap<>();
+
+    private static volatile JsonEngine defaultEngine;
+
+    static {
+        Iterator<JsonEngine> iterator = ServiceLoader.load(JsonEngine.class, JsonEngines.class.getClassLoader()).iterator();
+        while (iterator.hasNext()) {
+            try {
+                JsonEngine engine = iterator.next();
+                engines.put(engine.getName(), engine);
+            } catch (ServiceConfigurationError | LinkageError e) {
+                log.debug("Json engine not available : " + e.getMessage());
+            }
+        }
+        String name = System.getProperty(ENGINE_PROPERTY);
+        if (name != null) {
+            defaultEngine = engines.get(name);
+            if (defaultEngine == null) {
+                log.warn("Json engine configured by " + ENGINE_PROPERTY + " not available : " + name);
+            }
+        }
+        for (int i = 0; defaultEngine == null && i < PREFERRED.length; i++) {
+            defaultEngine = engines.get(PREFERRED[i]);
+        }
+    }
+
+    /*
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     *
+     * Constructors
+     *
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     */
+
+    private JsonEngines() {
+    }
+
+    /*
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     *
+     * Public Methods
+     *
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+     */
+
+    /**
+     * 注册引擎，同名的已有引擎会被替换，可用于注册自定义配置的引擎
+     *
+     * @param engine 引擎
+     */
+    public static void register(JsonEngine engine) {
+        engines.put(engine.getName(), engine);
+    }
+
+    /**
+     * 按名称获取
+     *
+     * @param name 名称
+     * @return 引擎
+     * @throws IllegalArgumentException 引擎不可用
+     */
+    public static JsonEngine get(String name) {
+        JsonEngine engine = engines.get(name);
+        if (engine == null) {
+            throw new IllegalArgumentException("Json engine not available : " + name + ", available engines : " + engines.keySet());
+        }
+        return engine;
+    }
+
+    /**
+     * 按名称获取，名称为null或引擎不可用时返回默认引擎，适用于名称来自可选配置的场景
+     *
+     * @param name 名称
+     * @return 引擎
+     */
+    public static JsonEngine getOrDefault(String name) {
+        JsonEngine engine = name == null ? null : engines.get(name);
+        return engine != null ? engine : getDefault();
+    }
+
+    /**
+     * 获取默认引擎
+     *
+     * @return 引擎
+     * @throws IllegalStateException 类路径中没有可用的引擎
+     */
+    public static JsonEngine getDefault() {
+        JsonEngine engine = defaultEngine;
+        if (engine == null) {
+            throw new IllegalStateException("No json engine available, add jackson-databind, gson or fastjson to classpath");
+        }
+        return engine;
+    }
+
+    /**
+     * 设置默认引擎
+     *
+     * @param name 名称
+     * @throws IllegalArgumentException 引擎不可用
+     */
+    public static void setDefault(String name) {
+        defaultEngine = get(name);
+    }
+
+    /**
+     * 获取所有可用引擎的名称
+     *
+     * @return 名称
+     */
+    public static Set<String> names() {
+        return Collections.unmodifiableSet(new TreeSet<>(engines.keySet()));
+    }
+}
@@ -0,0 +1,76 @@
+package com.belonk.common.json.engine;
+
+import com.alibaba.fastjson.JSON;
+import com.belonk.common.json.JsonUtil;
+import org.junit.Test;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationTargetException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 引擎注册表测试，底层库不在类路径中的引擎不能被注册。
+ */
+public class JsonEnginesTest {
+    @Test
+    public void testAllEnginesAvailable() {
+        assertEquals(new HashSet<String>(Arrays.asList(JacksonEngine.NAME, GsonEngine.NAME, FastjsonEngine.NAME)), JsonEngines.names());
+        assertEquals(JacksonEngine.NAME, JsonEngines.getDefault().getName());
+    }
+
+    @Test
+    public void testNoLibrary() throws Exception {
+        try (URLClassLoader loader = isolatedLoader()) {
+            assertEquals(Collections.emptySet(), names(loader));
+            try {
+                invoke(loader, JsonEngines.class.getName(), "getDefault");
+            } catch (InvocationTargetException e) {
+                assertTrue(e.getCause() instanceof IllegalStateException);
+                return;
+            }
+            throw new AssertionError("No engine should be available");
+        }
+    }
+
+    @Test
+    public void testOnlyFastjson() throws Exception {
+        try (URLClassLoader loader = isolatedLoader(location(JSON.class))) {
+            assertEquals(Collections.singleton(FastjsonEngine.NAME), names(loader));
+            Object json = loader.loadClass(JsonUtil.class.getName()).getMethod("toJson", Object.class)
+                    .invoke(null, Collections.singletonMap("a", 1));
+            assertEquals("{\"a\":1}", json);
+        }
+    }
+
+    /**
+     * 只包含common-json、slf4j和指定类库的类加载器，不委托给测试的类路径
+     */
+    private static URLClassLoader isolatedLoader(URL... libraries) {
+        URL[] urls = new URL[libraries.length + 2];
+        urls[0] = location(JsonEngines.class);
+        urls[1] = location(LoggerFactory.class);
+        System.arraycopy(libraries, 0, urls, 2, libraries.length);
+        return new URLClassLoader(urls, ClassLoader.getSystemClassLoader().getParent());
+    }
+
+    private static URL location(Class<?> type) {
+        return type.getProtectionDomain().getCodeSource().getLocation();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Set<String> names(ClassLoader loader) throws Exception {
+        return (Set<String>) invoke(loader, JsonEngines.class.getName(), "names");
+    }
+
+    private static Object invoke(ClassLoader loader, String className, String method) throws Exception {
+        return loader.loadClass(className).getMethod(method).invoke(null);
+    }
+}
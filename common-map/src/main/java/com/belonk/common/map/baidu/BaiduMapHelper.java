@@ -2,6 +2,9 @@ package com.belonk.common.map.baidu;
 
 import com.alibaba.fastjson.JSON;
 import com.alibaba.fastjson.JSONObject;
+import com.belonk.common.json.engine.FastjsonEngine;
+import com.belonk.common.json.engine.JsonEngine;
+import com.belonk.common.json.engine.JsonEngines;
 import com.belonk.common.map.baidu.vo.BaiduMapGeocoder;
 import com.belonk.common.map.baidu.vo.BaiduMapLocate;
 import com.belonk.common.map.baidu.vo.BaiduMapUnGeocoder;
@@ -32,6 +35,12 @@ public class BaiduMapHelper {
     private static final String BAIDU_LOCATE_URL = "http://api.map.baidu.com/location/ip";
     private static final String BAIDU_GEOCODING_URL = "http://api.map.baidu.com/geocoder/v2/";
 
+    /**
+     * 响应结果转为vo使用的json引擎，由系统属性common.map.json.engine指定，默认fastjson。
+     * <P>百度接口会返回vo中没有的属性，更换引擎时需确认其忽略未知属性
+     */
+    private static final JsonEngine JSON_ENGINE = JsonEngines.getOrDefault(System.getProperty("common.map.json.engine", FastjsonEngine.NAME));
+
     //~ Instance fields ================================================================================================
 
     //~ Methods ========================================================================================================
@@ -171,7 +180,7 @@ public class BaiduMapHelper {
         }
         LOG.info("ungeocoder - ungeocoder end.");
         String result = jsonObject.getString("result");
-        BaiduMapUnGeocoder baiduMapUnGeocoder = JSON.parseObject(result, BaiduMapUnGeocoder.class);
+        BaiduMapUnGeocoder baiduMapUnGeocoder = JSON_ENGINE.fromJson(result, BaiduMapUnGeocoder.class);
         return baiduMapUnGeocoder;
     }
 
@@ -0,0 +1,184 @@
+package com.belonk.msoffice.excel;
+
+import org.apache.poi.ss.usermodel.BuiltinFormats;
+
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+
+/**
+ * 数值单元格转换器。
+ * <p>
+ * 按{@link ExcelCellDef}的JAVA类型预先确定转换方式，由{@link ExcelCellDef#getConverter()}创建并缓存，转换时直接读取数值和日期，
+ * 整数类型通过精确比较判断是否为整数并检查取值范围，日期格式化使用线程安全的{@link DateTimeFormatter}，不再为每个单元格
+ * 创建格式化对象。转换器无状态，可以在多个线程中共享。
+ */
+public abstract class ExcelCellConverter {
+    private static final int TIME_FORMAT = BuiltinFormats.getBuiltinFormat("h:mm");
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm");
+    // long能精确表示的范围为[-2^63, 2^63)
+    private static final double LONG_MIN = -0x1p63;
+    private static final double LONG_MAX = 0x1p63;
+
+    private static final ExcelCellConverter LONG = new ExcelCellConverter() {
+        @Override
+        protected Object convertNumber(double value) {
+            return isExactLong(value) ? (Object) (long) value : null;
+        }
+
+        @Override
+        protected Object convertLong(long value) {
+            return value;
+        }
+    };
+    private static final ExcelCellConverter INTEGER = new ExcelCellConverter() {
+        @Override
+        protected Object convertNumber(double value) {
+            // 超出范围时强制转换的结果为边界值，与原值不相等
+            return (int) value == value ? (Object) (int) value : null;
+        }
+
+        @Override
+        protected Object convertLong(long value) {
+            return (int) value == value ? (Object) (int) value : null;
+        }
+    };
+    private static final ExcelCellConverter SHORT = new ExcelCellConverter() {
+        @Override
+        protected Object convertNumber(double value) {
+            return (short) value == value ? (Object) (short) value : null;
+        }
+
+        @Override
+        protected Object convertLong(long value) {
+            return (short) value == value ? (Object) (short) value : null;
+        }
+    };
+    private static final ExcelCellConverter BYTE = new ExcelCellConverter() {
+        @Override
+        protected Object convertNumber(double value) {
+            return (byte) value == value ? (Object) (byte) value : null;
+        }
+
+        @Override
+        protected Object convertLong(long value) {
+            return (byte) value == value ? (Object) (byte) value : null;
+        }
+    };
+    private static final ExcelCellConverter DOUBLE = new ExcelCellConverter() {
+        @Override
+        protected Object convertNumber(double value) {
+            return value;
+        }
+    };
+    private static final ExcelCellConverter FLOAT = new ExcelCellConverter() {
+        @Override
+        protected Object convertNumber(double value) {
+            return (float) value;
+        }
+    };
+    private static final ExcelCellConverter DATE = new ExcelCellConverter() {
+        @Override
+        protected Object convertDate(ExcelCellValue cell) {
+            return cell.getDateValue();
+        }
+    };
+    private static final ExcelCellConverter STRING = new ExcelCellConverter() {
+    };
+
+    /**
+     * 数值是否为long能精确表示的整数，范围为[-2^63, 2^63)。2^63强制转换为long时会被截断为{@link Long#MAX_VALUE}，
+     * 不能只比较转换前后的值
+     *
+     * @param value 数值
+     * @return 是整数且在long的范围内时返回true
+     */
+    public static boolean isExactLong(double value) {
+        return value >= LONG_MIN && value < LONG_MAX && (long) value == value;
+    }
+
+    /**
+     * 整数是否能用double精确表示，绝对值超过2^53的整数转换为double时可能被舍入
+     *
+     * @param value 整数
+     * @return 能精确表示时返回true
+     */
+    public static boolean isExactDouble(long value) {
+        double number = value;
+        return isExactLong(number) && (long) number == value;
+    }
+
+    /**
+     * 获取JAVA类型对应的转换器
+     *
+     * @param javaType 单元格值对应JAVA类型
+     * @return 转换器
+     */
+    public static ExcelCellConverter of(Class<?> javaType) {
+        if (javaType == Long.class) {
+            return LONG;
+        } else if (javaType == Integer.class) {
+            return INTEGER;
+        } else if (javaType == Short.class) {
+            return SHORT;
+        } else if (javaType == Byte.class) {
+            return BYTE;
+        } else if (javaType == Double.class) {
+            return DOUBLE;
+        } else if (javaType == Float.class) {
+            return FLOAT;
+        } else if (javaType == Date.class) {
+            return DATE;
+        }
+        return STRING;
+    }
+
+    /**
+     * 转换数值单元格
+     *
+     * @param cell 数值单元格
+     * @return 转换后的值，格式错误时返回null
+     */
+    public Object convert(ExcelCellValue cell) {
+        if (cell.isDateFormatted()) {
+            return convertDate(cell);
+        }
+        if (cell.isExactLong()) {
+            return convertLong(cell.getLongValue());
+        }
+        return convertNumber(cell.getNumericValue());
+    }
+
+    /**
+     * 转换日期格式的单元格，默认转换为日期或时间文本
+     */
+    protected Object convertDate(ExcelCellValue cell) {
+        return formatDate(cell);
+    }
+
+    /**
+     * 转换非日期格式的数值，默认转换为文本
+     */
+    protected Object convertNumber(double value) {
+        return String.valueOf(value);
+    }
+
+    /**
+     * 转换精确的整数值，默认按double转换，超出double精度时返回null，不舍入
+     */
+    protected Object convertLong(long value) {
+        return isExactDouble(value) ? convertNumber(value) : null;
+    }
+
+    /**
+     * 日期格式单元格的文本，时间格式(h:mm)为HH:mm，其他为yyyy-MM-dd
+     *
+     * @param cell 日期格式的单元格
+     * @return 日期或时间文本
+     */
+    public static String formatDate(ExcelCellValue cell) {
+        DateTimeFormatter formatter = cell.getDataFormat() == TIME_FORMAT ? TIME_FORMATTER : DATE_FORMATTER;
+        return formatter.format(cell.getDateValue().toInstant().atZone(ZoneId.systemDefault()));
+    }
+}
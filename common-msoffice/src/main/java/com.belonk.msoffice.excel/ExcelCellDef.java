@@ -17,6 +17,10 @@ public class ExcelCellDef {
      * 单元格值对应JAVA类型，默认String
      */
     private Class javaType = String.class;
+    /**
+     * 数值单元格转换器，按JAVA类型创建
+     */
+    private transient ExcelCellConverter converter;
 
     public ExcelCellDef(String name) {
         super();
@@ -74,5 +78,20 @@ public class ExcelCellDef {
 
     public void setJavaType(Class javaType) {
         this.javaType = javaType;
+        this.converter = null;
+    }
+
+    /**
+     * 获取数值单元格转换器，按JAVA类型创建后缓存
+     *
+     * @return 转换器
+     */
+    public ExcelCellConverter getConverter() {
+        ExcelCellConverter converter = this.converter;
+        if (converter == null) {
+            converter = ExcelCellConverter.of(javaType);
+            this.converter = converter;
+        }
+        return converter;
     }
 }
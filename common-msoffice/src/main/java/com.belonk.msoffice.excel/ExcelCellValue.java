@@ -0,0 +1,256 @@
+package com.belonk.msoffice.excel;
+
+import org.apache.poi.ss.usermodel.Cell;
+
+import java.util.Date;
+
+/**
+ * 单元格值。
+ * <p>
+ * 与POI的{@link Cell}无关的单元格值对象，工作簿对象模型和流式读取都先将单元格转换为该对象，再按{@link ExcelCellDef}校验和转换，
+ * 因此两种方式的校验规则完全一致。对象可以重复使用，避免每个单元格都创建新对象。
+ */
+public class ExcelCellValue {
+    /**
+     * 单元格类型，取值同{@link Cell}的CELL_TYPE_*常量
+     */
+    private int type = Cell.CELL_TYPE_BLANK;
+    /**
+     * 数值
+     */
+    private double numericValue;
+    /**
+     * 是否有精确的整数值，CSV中整数类型的列按整数解析时为true，超出double精度的整数也不会被舍入
+     */
+    private boolean exactLong;
+    /**
+     * 精确的整数值，{@link #exactLong}为true时有效
+     */
+    private long longValue;
+    /**
+     * 布尔值
+     */
+    private boolean booleanValue;
+    /**
+     * 文本值，字符串、公式、错误类型的单元格使用
+     */
+    private String stringValue;
+    /**
+     * 日期值，仅日期格式的数值单元格有值
+     */
+    private Date dateValue;
+    /**
+     * 数据格式索引
+     */
+    private int dataFormat;
+
+    /**
+     * 清空为空白单元格
+     */
+    public void clear() {
+        type = Cell.CELL_TYPE_BLANK;
+        numericValue = 0;
+        exactLong = false;
+        longValue = 0;
+        booleanValue = false;
+        stringValue = null;
+        dateValue = null;
+        dataFormat = 0;
+    }
+
+    /**
+     * 从POI单元格读取值
+     *
+     * @param cell 单元格，为null时设置为空白单元格
+     */
+    public void set(Cell cell) {
+        set(cell, null);
+    }
+
+    /**
+     * 从POI单元格读取值，按数据格式索引缓存日期格式的判断结果
+     *
+     * @param cell            单元格，为null时设置为空白单元格
+     * @param dateFormatCache 单元格所在工作簿的日期格式缓存，为null时不使用缓存
+     */
+    public void set(Cell cell, ExcelDateFormatCache dateFormatCache) {
+        clear();
+        if (cell == null) {
+            return;
+        }
+        type = cell.getCellType();
+        if (cell.getCellStyle() != null) {
+            dataFormat = cell.getCellStyle().getDataFormat();
+        }
+        switch (type) {
+            case Cell.CELL_TYPE_BLANK:
+                break;
+            case Cell.CELL_TYPE_NUMERIC:
+                numericValue = cell.getNumericCellValue();
+                if (dateFormatCache != null ? dateFormatCache.isCellDateFormatted(cell) : ExcelDateFormat.isCellDateFormatted(cell)) {
+                    dateValue = cell.getDateCellValue();
+                }
+                break;
+            case Cell.CELL_TYPE_BOOLEAN:
+                booleanValue = cell.getBooleanCellValue();
+                break;
+            default:
+                stringValue = cell.toString();
+                break;
+        }
+    }
+
+    /**
+     * 设置为数值单元格
+     *
+     * @param value      数值
+     * @param dataFormat 数据格式索引
+     * @param dateValue  日期值，非日期格式时为null
+     */
+    public void setNumeric(double value, int dataFormat, Date dateValue) {
+        clear();
+        this.type = Cell.CELL_TYPE_NUMERIC;
+        this.numericValue = value;
+        this.dataFormat = dataFormat;
+        this.dateValue = dateValue;
+    }
+
+    /**
+     * 设置为精确的整数单元格，数值为最接近的double，转换时使用精确值
+     *
+     * @param value 整数
+     */
+    public void setNumeric(long value) {
+        clear();
+        this.type = Cell.CELL_TYPE_NUMERIC;
+        this.numericValue = value;
+        this.exactLong = true;
+        this.longValue = value;
+    }
+
+    /**
+     * 设置为字符串单元格
+     *
+     * @param value 字符串
+     */
+    public void setString(String value) {
+        clear();
+        this.type = Cell.CELL_TYPE_STRING;
+        this.stringValue = value;
+    }
+
+    /**
+     * 设置为布尔单元格
+     *
+     * @param value 布尔值
+     */
+    public void setBoolean(boolean value) {
+        clear();
+        this.type = Cell.CELL_TYPE_BOOLEAN;
+        this.booleanValue = value;
+    }
+
+    /**
+     * 设置为错误单元格
+     *
+     * @param errorText 错误文本，如#DIV/0!
+     */
+    public void setError(String errorText) {
+        clear();
+        this.type = Cell.CELL_TYPE_ERROR;
+        this.stringValue = errorText;
+    }
+
+    /**
+     * 是否为空单元格
+     *
+     * @return true：是；false：否
+     */
+    public boolean isEmpty() {
+        return type == Cell.CELL_TYPE_BLANK;
+    }
+
+    /**
+     * 是否为日期格式的数值单元格
+     *
+     * @return true：是；false：否
+     */
+    public boolean isDateFormatted() {
+        return dateValue != null;
+    }
+
+    public int getType() {
+        return type;
+    }
+
+    public double getNumericValue() {
+        return numericValue;
+    }
+
+    /**
+     * 是否有精确的整数值，见{@link #setNumeric(long)}
+     *
+     * @return true：是；false：否
+     */
+    public boolean isExactLong() {
+        return exactLong;
+    }
+
+    public long getLongValue() {
+        return longValue;
+    }
+
+    public boolean getBooleanValue() {
+        return booleanValue;
+    }
+
+    public String getStringValue() {
+        return stringValue;
+    }
+
+    public Date getDateValue() {
+        return dateValue;
+    }
+
+    public int getDataFormat() {
+        return dataFormat;
+    }
+
+    /**
+     * 获取原始值，用于记录错误行数据
+     *
+     * @return 日期、数值、布尔值或字符串，空白单元格返回null
+     */
+    public Object getRawValue() {
+        switch (type) {
+            case Cell.CELL_TYPE_BLANK:
+                return null;
+            case Cell.CELL_TYPE_NUMERIC:
+                if (exactLong) {
+                    return longValue;
+                }
+                return dateValue != null ? dateValue : (Object) numericValue;
+            case Cell.CELL_TYPE_BOOLEAN:
+                return booleanValue;
+            default:
+                return stringValue;
+        }
+    }
+
+    /**
+     * 单元格文本，与{@link Cell#toString()}一致
+     */
+    @Override
+    public String toString() {
+        switch (type) {
+            case Cell.CELL_TYPE_BLANK:
+                return ExcelConstants.BLANK;
+            case Cell.CELL_TYPE_NUMERIC:
+                return String.valueOf(numericValue);
+            case Cell.CELL_TYPE_BOOLEAN:
+                return booleanValue ? "TRUE" : "FALSE";
+            default:
+                return stringValue;
+        }
+    }
+}
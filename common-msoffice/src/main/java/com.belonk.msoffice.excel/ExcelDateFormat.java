@@ -1,31 +1,32 @@
 package com.belonk.msoffice.excel;
 
+import org.apache.poi.ss.usermodel.BuiltinFormats;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.DateUtil;
 
-import java.util.HashMap;
-import java.util.Map;
-
 public class ExcelDateFormat {
-    private static Map<Integer, String> excelDateFormats = new HashMap<Integer, String>();
+    /**
+     * 中文环境下的内置日期格式，下标为数据格式索引，POI的{@link DateUtil}不能识别这些格式
+     */
+    private static final boolean[] chineseDateFormats = new boolean[BuiltinFormats.FIRST_USER_DEFINED_FORMAT_INDEX];
 
     static {
-        // yyyy"年"m"月"
-        excelDateFormats.put(57, "yyyy\"年\"m\"月\"");
-        // m"月"d"日"
-        excelDateFormats.put(58, "m\"月\"d\"日\"");
-        // yyyy"年"m"月"d"日"
-        excelDateFormats.put(31, "yyyy\"年\"m\"月\"d\"日\"");
         // m/d/yy
-        excelDateFormats.put(30, "m/d/yy");
+        chineseDateFormats[30] = true;
+        // yyyy"年"m"月"d"日"
+        chineseDateFormats[31] = true;
         // h"时"mm"分"
-        excelDateFormats.put(32, "h\"时\"mm\"分\"");
+        chineseDateFormats[32] = true;
         // h"时"mm"分"ss"秒"
-        excelDateFormats.put(33, "h\"时\"mm\"分\"ss\"秒\"");
+        chineseDateFormats[33] = true;
         // 上午/下午h"时"mm"分"
-        excelDateFormats.put(55, "上午/下午h\"时\"mm\"分\"");
+        chineseDateFormats[55] = true;
         // 上午/下午h"时"mm"分"ss"秒"
-        excelDateFormats.put(56, "上午/下午h\"时\"mm\"分\"ss\"秒\"");
+        chineseDateFormats[56] = true;
+        // yyyy"年"m"月"
+        chineseDateFormats[57] = true;
+        // m"月"d"日"
+        chineseDateFormats[58] = true;
     }
 
     /**
@@ -43,10 +44,49 @@ public class ExcelDateFormat {
         boolean bDate = DateUtil.isCellDateFormatted(cell);
 
         if (!bDate) {
-            int key = cell.getCellStyle().getDataFormat();
-            bDate = excelDateFormats.containsKey(key);
+            bDate = isChineseDateFormat(cell.getCellStyle().getDataFormat());
         }
 
         return bDate;
     }
+
+    /**
+     * 数值是否是时间格式，用于流式读取等没有{@link Cell}对象的场景
+     *
+     * @param value        单元格数值
+     * @param formatIndex  数据格式索引
+     * @param formatString 数据格式
+     *
+     * @return true:是；false:否
+     */
+    public static boolean isDateFormatted(double value, int formatIndex, String formatString) {
+        if (!DateUtil.isValidExcelDate(value)) {
+            return false;
+        }
+        return isDateFormat(formatIndex, formatString);
+    }
+
+    /**
+     * 数据格式是否是时间格式，与单元格数值无关，结果可以按数据格式索引缓存
+     *
+     * @param formatIndex  数据格式索引
+     * @param formatString 数据格式
+     *
+     * @return true:是；false:否
+     * @see ExcelDateFormatCache
+     */
+    public static boolean isDateFormat(int formatIndex, String formatString) {
+        return DateUtil.isADateFormat(formatIndex, formatString) || isChineseDateFormat(formatIndex);
+    }
+
+    /**
+     * 是否是中文环境下的内置日期格式
+     *
+     * @param formatIndex 数据格式索引
+     *
+     * @return true:是；false:否
+     */
+    public static boolean isChineseDateFormat(int formatIndex) {
+        return formatIndex >= 0 && formatIndex < chineseDateFormats.length && chineseDateFormats[formatIndex];
+    }
 }
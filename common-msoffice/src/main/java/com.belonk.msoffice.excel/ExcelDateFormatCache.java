@@ -0,0 +1,111 @@
+package com.belonk.msoffice.excel;
+
+import org.apache.poi.ss.usermodel.BuiltinFormats;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.DataFormat;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.Workbook;
+
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+/**
+ * 日期格式判断缓存。
+ * <p>
+ * {@link DateUtil#isADateFormat}每次都用正则表达式解析格式字符串，并且是同步方法，逐个单元格调用时占用大量导入时间。
+ * 同一工作簿中数据格式索引与格式字符串一一对应，因此按数据格式索引缓存格式字符串和是否为日期格式的结果，每种格式只解析一次。
+ * <p>
+ * 缓存与工作簿一一对应，不是线程安全的。
+ */
+public final class ExcelDateFormatCache {
+    private static final byte UNKNOWN = 0;
+    private static final byte DATE = 1;
+    private static final byte NOT_DATE = 2;
+
+    private final IntFunction<String> formatStrings;
+    private byte[] states = new byte[BuiltinFormats.FIRST_USER_DEFINED_FORMAT_INDEX];
+    private String[] formats = new String[BuiltinFormats.FIRST_USER_DEFINED_FORMAT_INDEX];
+
+    /**
+     * @param formatStrings 按数据格式索引获取格式字符串，每个索引只调用一次
+     */
+    public ExcelDateFormatCache(IntFunction<String> formatStrings) {
+        this.formatStrings = formatStrings;
+    }
+
+    /**
+     * 创建工作簿的日期格式缓存
+     *
+     * @param workbook 工作簿
+     * @return 日期格式缓存
+     */
+    public static ExcelDateFormatCache of(Workbook workbook) {
+        DataFormat dataFormat = workbook.createDataFormat();
+        return new ExcelDateFormatCache(formatIndex -> dataFormat.getFormat((short) formatIndex));
+    }
+
+    /**
+     * 单元格是否是时间格式，结果同{@link ExcelDateFormat#isCellDateFormatted(Cell)}
+     *
+     * @param cell 单元格
+     * @return true:是；false:否
+     */
+    public boolean isCellDateFormatted(Cell cell) {
+        if (cell == null) {
+            return false;
+        }
+        CellStyle style = cell.getCellStyle();
+        return style != null && isDateFormatted(cell.getNumericCellValue(), style.getDataFormat());
+    }
+
+    /**
+     * 数值是否是时间格式，结果同{@link ExcelDateFormat#isDateFormatted(double, int, String)}
+     *
+     * @param value       单元格数值
+     * @param formatIndex 数据格式索引
+     * @return true:是；false:否
+     */
+    public boolean isDateFormatted(double value, int formatIndex) {
+        return DateUtil.isValidExcelDate(value) && isDateFormat(formatIndex);
+    }
+
+    /**
+     * 数据格式是否是时间格式
+     *
+     * @param formatIndex 数据格式索引
+     * @return true:是；false:否
+     */
+    public boolean isDateFormat(int formatIndex) {
+        int index = formatIndex & 0xFFFF;
+        if (index >= states.length || states[index] == UNKNOWN) {
+            resolve(index);
+        }
+        return states[index] == DATE;
+    }
+
+    /**
+     * 获取数据格式字符串
+     *
+     * @param formatIndex 数据格式索引
+     * @return 格式字符串，不存在时返回null
+     */
+    public String getFormatString(int formatIndex) {
+        int index = formatIndex & 0xFFFF;
+        if (index >= states.length || states[index] == UNKNOWN) {
+            resolve(index);
+        }
+        return formats[index];
+    }
+
+    private void resolve(int index) {
+        if (index >= states.length) {
+            int length = Math.max(index + 1, states.length * 2);
+            states = Arrays.copyOf(states, length);
+            formats = Arrays.copyOf(formats, length);
+        }
+        String format = formatStrings.apply(index);
+        formats[index] = format;
+        states[index] = ExcelDateFormat.isDateFormat(index, format) ? DATE : NOT_DATE;
+    }
+}
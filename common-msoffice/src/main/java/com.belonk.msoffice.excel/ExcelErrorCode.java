@@ -0,0 +1,99 @@
+package com.belonk.msoffice.excel;
+
+import java.text.MessageFormat;
+import java.util.Locale;
+import java.util.ResourceBundle;
+
+/**
+ * 导入错误代码。
+ * <p>
+ * 错误信息文本由{@link ExcelErrorMessages}按语言提供，只在需要时生成，默认语言的文本与原有的错误信息一致。
+ */
+public enum ExcelErrorCode {
+    /**
+     * 必填单元格为空
+     */
+    REQUIRED("error.required"),
+    /**
+     * 单元格类型与模板不匹配
+     */
+    TYPE_MISMATCH("error.typeMismatch"),
+    /**
+     * 单元格值无法转换为模板的Java类型
+     */
+    FORMAT_ERROR("error.format"),
+    /**
+     * 数据列比表头列多
+     */
+    COLUMN_COUNT_MISMATCH("error.columnCount"),
+    /**
+     * 表头与模板不匹配
+     */
+    HEADER_MISMATCH("error.header"),
+    /**
+     * 工作表无数据
+     */
+    NO_DATA("error.noData"),
+    /**
+     * 起始行号超过实际数据行数
+     */
+    START_ROW_OUT_OF_RANGE("error.startRow");
+
+    private static final String BUNDLE_NAME = ExcelErrorMessages.class.getName();
+    /**
+     * 不回退到系统默认语言，未提供的语言使用默认文本
+     */
+    private static final ResourceBundle.Control CONTROL = ResourceBundle.Control.getNoFallbackControl(ResourceBundle.Control.FORMAT_CLASS);
+
+    private final String key;
+
+    ExcelErrorCode(String key) {
+        this.key = key;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * 获取默认语言的错误信息
+     *
+     * @param columnName 列名称，工作表错误和行错误为null
+     * @return 错误信息
+     */
+    public String getMessage(String columnName) {
+        return getMessage(null, columnName);
+    }
+
+    /**
+     * 获取指定语言的错误信息
+     *
+     * @param locale     语言，为null时使用默认语言
+     * @param columnName 列名称，工作表错误和行错误为null
+     * @return 错误信息
+     */
+    public String getMessage(Locale locale, String columnName) {
+        return MessageFormat.format(getBundle(locale).getString(key), columnName);
+    }
+
+    /**
+     * 按原有格式追加默认语言的错误信息，即错误信息后接中文逗号
+     *
+     * @param errorMsg   错误信息
+     * @param columnName 列名称
+     * @return 错误信息
+     */
+    public StringBuilder appendTo(StringBuilder errorMsg, String columnName) {
+        return errorMsg.append(getMessage(columnName)).append('，');
+    }
+
+    /**
+     * 获取错误信息资源
+     *
+     * @param locale 语言，为null时使用默认语言
+     * @return 错误信息资源
+     */
+    static ResourceBundle getBundle(Locale locale) {
+        return ResourceBundle.getBundle(BUNDLE_NAME, locale == null ? Locale.ROOT : locale, CONTROL);
+    }
+}
@@ -0,0 +1,25 @@
+package com.belonk.msoffice.excel;
+
+import java.util.ListResourceBundle;
+
+/**
+ * 导入错误信息，默认语言（中文）。
+ * <p>
+ * 其他语言按{@link java.util.ResourceBundle}的命名规则提供子类，如{@link ExcelErrorMessages_en}。
+ */
+public class ExcelErrorMessages extends ListResourceBundle {
+    @Override
+    protected Object[][] getContents() {
+        return new Object[][]{
+                {"error.required", "单元格\"{0}\"必须填写"},
+                {"error.typeMismatch", "单元格\"{0}\"格式错误"},
+                {"error.format", "单元格\"{0}\"格式错误"},
+                {"error.columnCount", "当前行数据与表头不匹配！"},
+                {"error.header", "表头与模板不匹配，解析失败！"},
+                {"error.noData", "Excel无数据！"},
+                {"error.startRow", "起始行号超过实际数据行数！"},
+                {"error.separator", "，"},
+                {"error.column", "错误信息"}
+        };
+    }
+}
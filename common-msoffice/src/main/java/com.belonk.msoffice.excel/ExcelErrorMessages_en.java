@@ -0,0 +1,23 @@
+package com.belonk.msoffice.excel;
+
+import java.util.ListResourceBundle;
+
+/**
+ * 导入错误信息，英文。
+ */
+public class ExcelErrorMessages_en extends ListResourceBundle {
+    @Override
+    protected Object[][] getContents() {
+        return new Object[][]{
+                {"error.required", "Cell \"{0}\" is required"},
+                {"error.typeMismatch", "Cell \"{0}\" has a wrong type"},
+                {"error.format", "Cell \"{0}\" has an invalid value"},
+                {"error.columnCount", "Row has more columns than the header"},
+                {"error.header", "Header does not match the template"},
+                {"error.noData", "Sheet has no data"},
+                {"error.startRow", "Start row is beyond the last data row"},
+                {"error.separator", "; "},
+                {"error.column", "Errors"}
+        };
+    }
+}
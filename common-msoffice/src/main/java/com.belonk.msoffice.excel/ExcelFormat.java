@@ -0,0 +1,119 @@
+package com.belonk.msoffice.excel;
+
+import com.belonk.msoffice.excel.csv.CsvWriter;
+import com.belonk.msoffice.excel.util.POIExcelUtil;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * 表格文件格式。
+ * <p>
+ * 导出时使用相同的表头和数据行，通过一个参数切换格式；导入时配合
+ * {@link com.belonk.msoffice.excel.stream.ExcelStreamReader#read(java.io.InputStream, ExcelFormat, int, List)}使用。
+ * 只需要表格数据时建议使用{@link #CSV}，直接编码文本，比经过POI生成工作簿快得多。
+ */
+public enum ExcelFormat {
+    /**
+     * Excel 97-2003
+     */
+    XLS("xls", "application/vnd.ms-excel"),
+    /**
+     * Excel 2007+，使用{@link SXSSFWorkbook}流式写出
+     */
+    XLSX("xlsx", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"),
+    /**
+     * UTF-8编码的CSV，带BOM。
+     * <p>
+     * 导入时字段按列定义推断类型，与Excel有一处差异：不要求数值类型的字符串列保留原始文本，整数值的浮点数导出为“2”，
+     * 导入后仍为“2”，而Excel的数值单元格导入后为“2.0”
+     */
+    CSV("csv", "text/csv");
+
+    private final String extension;
+    private final String contentType;
+
+    ExcelFormat(String extension, String contentType) {
+        this.extension = extension;
+        this.contentType = contentType;
+    }
+
+    /**
+     * 根据文件名的扩展名获取格式
+     *
+     * @param fileName 文件名
+     * @return 文件格式，无法识别时返回null
+     */
+    public static ExcelFormat of(String fileName) {
+        int index = fileName.lastIndexOf(ExcelConstants.DOT);
+        if (index < 0) {
+            return null;
+        }
+        String extension = fileName.substring(index + 1);
+        for (ExcelFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(extension)) {
+                return format;
+            }
+        }
+        return null;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * 导出表头和数据行
+     *
+     * @param outputStream 输出流，输出完毕后不会关闭
+     * @param titles       表头名称，为null时不输出表头
+     * @param rows         数据行迭代器，格式同{@link POIExcelUtil#setWorkbookData(Sheet, Iterator)}
+     * @return 写出的数据行数
+     * @throws IOException IO异常
+     */
+    public int write(OutputStream outputStream, String[] titles, Iterator<? extends List<?>> rows) throws IOException {
+        switch (this) {
+            case XLS:
+                HSSFWorkbook hssfWorkbook = POIExcelUtil.createHSSFWorkbook();
+                int hssfRows = fill(hssfWorkbook.createSheet(), titles, rows);
+                hssfWorkbook.write(outputStream);
+                return hssfRows;
+            case XLSX:
+                SXSSFWorkbook sxssfWorkbook = POIExcelUtil.createSXSSFWorkbook();
+                int sxssfRows;
+                try {
+                    sxssfRows = fill(sxssfWorkbook.createSheet(), titles, rows);
+                } catch (RuntimeException e) {
+                    sxssfWorkbook.dispose();
+                    throw e;
+                }
+                POIExcelUtil.write(sxssfWorkbook, outputStream);
+                return sxssfRows;
+            default:
+                CsvWriter csvWriter = CsvWriter.create(outputStream);
+                if (titles != null) {
+                    csvWriter.writeHeader(titles);
+                }
+                int csvRows = csvWriter.writeRows(rows);
+                // 不关闭调用者的输出流
+                csvWriter.flush();
+                return csvRows;
+        }
+    }
+
+    private static int fill(Sheet sheet, String[] titles, Iterator<? extends List<?>> rows) {
+        if (titles != null) {
+            POIExcelUtil.setHeader(sheet, titles);
+        }
+        return POIExcelUtil.setWorkbookData(sheet, rows);
+    }
+}
@@ -0,0 +1,131 @@
+package com.belonk.msoffice.excel;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 导入错误。
+ * <p>
+ * 只记录行号、列号、错误代码和单元格原始值，不引用POI的单元格对象，错误信息在需要时按语言生成。
+ */
+public final class ExcelImportError {
+    /**
+     * 行号，从0开始，工作表错误为-1
+     */
+    private final int row;
+    /**
+     * 列号，从0开始，工作表错误和整行错误为-1
+     */
+    private final int column;
+    private final ExcelErrorCode code;
+    /**
+     * 列名称，即模板中的表头名称
+     */
+    private final String columnName;
+    /**
+     * 单元格原始值，见{@link ExcelCellValue#getRawValue()}
+     */
+    private final Object rawValue;
+
+    public ExcelImportError(int row, int column, ExcelErrorCode code, String columnName, Object rawValue) {
+        this.row = row;
+        this.column = column;
+        this.code = code;
+        this.columnName = columnName;
+        this.rawValue = rawValue;
+    }
+
+    /**
+     * 创建工作表错误
+     *
+     * @param code 错误代码
+     * @return 导入错误
+     */
+    public static ExcelImportError sheetError(ExcelErrorCode code) {
+        return new ExcelImportError(-1, -1, code, null, null);
+    }
+
+    /**
+     * 创建整行错误
+     *
+     * @param row  行号
+     * @param code 错误代码
+     * @return 导入错误
+     */
+    public static ExcelImportError rowError(int row, ExcelErrorCode code) {
+        return new ExcelImportError(row, -1, code, null, null);
+    }
+
+    /**
+     * 拼接一行的错误信息
+     *
+     * @param errors 一行的错误
+     * @param locale 语言，为null时使用默认语言
+     * @return 错误信息，默认语言时与原有的错误信息格式一致
+     */
+    public static String joinMessages(List<ExcelImportError> errors, Locale locale) {
+        String separator = ExcelErrorCode.getBundle(locale).getString("error.separator");
+        StringBuilder builder = new StringBuilder();
+        for (ExcelImportError error : errors) {
+            if (builder.length() > 0) {
+                builder.append(separator);
+            }
+            builder.append(error.getMessage(locale));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 获取错误信息列的表头名称
+     *
+     * @param locale 语言，为null时使用默认语言
+     * @return 表头名称
+     */
+    public static String getColumnTitle(Locale locale) {
+        return ExcelErrorCode.getBundle(locale).getString("error.column");
+    }
+
+    public int getRow() {
+        return row;
+    }
+
+    public int getColumn() {
+        return column;
+    }
+
+    public ExcelErrorCode getCode() {
+        return code;
+    }
+
+    public String getColumnName() {
+        return columnName;
+    }
+
+    public Object getRawValue() {
+        return rawValue;
+    }
+
+    /**
+     * 获取默认语言的错误信息
+     *
+     * @return 错误信息
+     */
+    public String getMessage() {
+        return code.getMessage(columnName);
+    }
+
+    /**
+     * 获取指定语言的错误信息
+     *
+     * @param locale 语言，为null时使用默认语言
+     * @return 错误信息
+     */
+    public String getMessage(Locale locale) {
+        return code.getMessage(locale, columnName);
+    }
+
+    @Override
+    public String toString() {
+        return "ExcelImportError{row=" + row + ", column=" + column + ", code=" + code + ", rawValue=" + rawValue + "}";
+    }
+}
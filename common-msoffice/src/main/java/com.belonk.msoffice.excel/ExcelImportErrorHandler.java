@@ -0,0 +1,28 @@
+package com.belonk.msoffice.excel;
+
+import java.util.List;
+
+/**
+ * 导入错误处理器。
+ * <p>
+ * 校验失败时逐行回调，读取过程中不保留错误行，可以将错误行直接写入错误工作簿，如
+ * {@link com.belonk.msoffice.excel.util.ErrorWorkbookSink}。
+ */
+public interface ExcelImportErrorHandler {
+    /**
+     * 处理校验失败的数据行
+     *
+     * @param rowNum  行号，从0开始
+     * @param cells   当前行的单元格值，下标为列号，回调返回后会被复用，需要保留时应复制原始值
+     * @param cellNum 当前行的单元格数量，下标不小于该值的列为空
+     * @param errors  当前行的错误，回调返回后会被复用
+     */
+    void handleRowError(int rowNum, ExcelCellValue[] cells, int cellNum, List<ExcelImportError> errors);
+
+    /**
+     * 处理工作表错误，如表头不匹配、无数据等
+     *
+     * @param error 工作表错误
+     */
+    void handleSheetError(ExcelImportError error);
+}
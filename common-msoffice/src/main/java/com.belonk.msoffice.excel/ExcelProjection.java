@@ -0,0 +1,126 @@
+package com.belonk.msoffice.excel;
+
+import java.util.Arrays;
+
+/**
+ * 列投影，导入时只读取和转换需要的列。
+ * <p>
+ * 流式读取时不需要的列在解析时直接跳过，不读取单元格文本，也不转换数值和日期；工作簿对象模型读取时不需要的列不转换。
+ * 表头行始终完整读取和校验。使用投影时：
+ * <ul>
+ * <li>数据行只包含投影的列，按列号升序排列；</li>
+ * <li>只校验投影的列，未投影的列即使必填或格式错误也不会报错；</li>
+ * <li>投影的列都为空的行视为空行；</li>
+ * <li>仍然检查数据列是否比表头列多。</li>
+ * </ul>
+ * 投影是不可变的，可以在多个线程中共享。
+ */
+public final class ExcelProjection {
+    /**
+     * 投影的列号，升序且不重复
+     */
+    private final int[] columns;
+    /**
+     * 按列号标记是否投影
+     */
+    private final boolean[] mask;
+
+    private ExcelProjection(int[] columns) {
+        this.columns = columns;
+        this.mask = new boolean[columns[columns.length - 1] + 1];
+        for (int column : columns) {
+            mask[column] = true;
+        }
+    }
+
+    /**
+     * 按列号创建投影
+     *
+     * @param columns 列号，从0开始
+     * @return 投影
+     */
+    public static ExcelProjection of(int... columns) {
+        if (columns == null || columns.length == 0) {
+            throw new IllegalArgumentException("Projection must contain at least one column");
+        }
+        int[] sorted = columns.clone();
+        Arrays.sort(sorted);
+        if (sorted[0] < 0) {
+            throw new IllegalArgumentException("Column index must not be negative : " + sorted[0]);
+        }
+        int size = 1;
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i] != sorted[size - 1]) {
+                sorted[size++] = sorted[i];
+            }
+        }
+        return new ExcelProjection(Arrays.copyOf(sorted, size));
+    }
+
+    /**
+     * 按列名称创建投影
+     *
+     * @param excelRowDef excel行对象
+     * @param columnNames 列名称，即模板中的表头名称
+     * @return 投影
+     * @throws IllegalArgumentException 列名称不存在
+     */
+    public static ExcelProjection of(ExcelRowDef excelRowDef, String... columnNames) {
+        int[] columns = new int[columnNames.length];
+        for (int i = 0; i < columnNames.length; i++) {
+            columns[i] = -1;
+            for (int j = 0; j < excelRowDef.getExcelCellDefListSize(); j++) {
+                if (excelRowDef.getCell(j).getName().equals(columnNames[i])) {
+                    columns[i] = j;
+                    break;
+                }
+            }
+            if (columns[i] < 0) {
+                throw new IllegalArgumentException("Column not found : " + columnNames[i]);
+            }
+        }
+        return of(columns);
+    }
+
+    /**
+     * 按列名称创建投影，列号从模板预先计算的映射中获取
+     *
+     * @param template    模板
+     * @param columnNames 列名称
+     * @return 投影
+     * @throws IllegalArgumentException 列名称不存在
+     */
+    public static ExcelProjection of(ExcelTemplate template, String... columnNames) {
+        int[] columns = new int[columnNames.length];
+        for (int i = 0; i < columnNames.length; i++) {
+            columns[i] = template.getColumnIndex(columnNames[i]);
+            if (columns[i] < 0) {
+                throw new IllegalArgumentException("Column not found : " + columnNames[i]);
+            }
+        }
+        return of(columns);
+    }
+
+    /**
+     * 是否投影了指定列
+     *
+     * @param column 列号，从0开始
+     * @return true：是；false：否
+     */
+    public boolean contains(int column) {
+        return column < mask.length && mask[column];
+    }
+
+    /**
+     * 获取投影的列号
+     *
+     * @return 升序排列的列号
+     */
+    public int[] getColumns() {
+        return columns.clone();
+    }
+
+    public int size() {
+        return columns.length;
+    }
+}
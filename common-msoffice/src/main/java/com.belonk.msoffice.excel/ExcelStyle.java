@@ -0,0 +1,307 @@
+package com.belonk.msoffice.excel;
+
+import org.apache.poi.hssf.util.HSSFColor;
+import org.apache.poi.ss.usermodel.CellStyle;
+
+/**
+ * 单元格样式定义。
+ * <p>
+ * 与工作簿无关的不可变样式描述，属性相同的样式相等，由{@link com.belonk.msoffice.excel.util.ExcelStyleRegistry}
+ * 在每个工作簿中只创建一次对应的{@link CellStyle}。
+ */
+public final class ExcelStyle {
+    /**
+     * 不设置颜色
+     */
+    public static final short NO_COLOR = -1;
+
+    /**
+     * 默认样式
+     */
+    public static final ExcelStyle DEFAULT = new Builder().build();
+
+    /**
+     * 细边框居中样式，同{@link com.belonk.msoffice.excel.util.POIExcelUtil#getCellStyle}未填充时的样式
+     */
+    public static final ExcelStyle BORDERED = new Builder()
+            .border(CellStyle.BORDER_THIN, (short) 0)
+            .alignment(CellStyle.ALIGN_CENTER)
+            .build();
+
+    /**
+     * 细边框居中并填充的样式，同{@link com.belonk.msoffice.excel.util.POIExcelUtil#getCellStyle}填充时的样式
+     */
+    public static final ExcelStyle BORDERED_FILLED = new Builder(BORDERED)
+            .fillColor(HSSFColor.AQUA.index)
+            .build();
+
+    /**
+     * 错误信息样式，红色字体
+     */
+    public static final ExcelStyle ERROR_MESSAGE = new Builder()
+            .fontColor(HSSFColor.RED.index)
+            .build();
+
+    private final boolean bold;
+    private final short fontColor;
+    private final String fontName;
+    private final short fontHeightInPoints;
+    private final short border;
+    private final short borderColor;
+    private final short alignment;
+    private final short verticalAlignment;
+    private final short fillColor;
+    private final boolean wrapText;
+    private final String dataFormat;
+
+    private ExcelStyle(Builder builder) {
+        this.bold = builder.bold;
+        this.fontColor = builder.fontColor;
+        this.fontName = builder.fontName;
+        this.fontHeightInPoints = builder.fontHeightInPoints;
+        this.border = builder.border;
+        this.borderColor = builder.borderColor;
+        this.alignment = builder.alignment;
+        this.verticalAlignment = builder.verticalAlignment;
+        this.fillColor = builder.fillColor;
+        this.wrapText = builder.wrapText;
+        this.dataFormat = builder.dataFormat;
+    }
+
+    /**
+     * 是否需要设置字体
+     *
+     * @return true：是；false：否
+     */
+    public boolean hasFont() {
+        return bold || fontColor != NO_COLOR || fontName != null || fontHeightInPoints > 0;
+    }
+
+    public boolean isBold() {
+        return bold;
+    }
+
+    public short getFontColor() {
+        return fontColor;
+    }
+
+    public String getFontName() {
+        return fontName;
+    }
+
+    public short getFontHeightInPoints() {
+        return fontHeightInPoints;
+    }
+
+    public short getBorder() {
+        return border;
+    }
+
+    public short getBorderColor() {
+        return borderColor;
+    }
+
+    public short getAlignment() {
+        return alignment;
+    }
+
+    public short getVerticalAlignment() {
+        return verticalAlignment;
+    }
+
+    public short getFillColor() {
+        return fillColor;
+    }
+
+    public boolean isWrapText() {
+        return wrapText;
+    }
+
+    public String getDataFormat() {
+        return dataFormat;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ExcelStyle)) {
+            return false;
+        }
+        ExcelStyle that = (ExcelStyle) o;
+        return bold == that.bold
+                && fontColor == that.fontColor
+                && fontHeightInPoints == that.fontHeightInPoints
+                && border == that.border
+                && borderColor == that.borderColor
+                && alignment == that.alignment
+                && verticalAlignment == that.verticalAlignment
+                && fillColor == that.fillColor
+                && wrapText == that.wrapText
+                && (fontName == null ? that.fontName == null : fontName.equals(that.fontName))
+                && (dataFormat == null ? that.dataFormat == null : dataFormat.equals(that.dataFormat));
+    }
+
+    @Override
+    public int hashCode() {
+        int result = bold ? 1 : 0;
+        result = 31 * result + fontColor;
+        result = 31 * result + (fontName != null ? fontName.hashCode() : 0);
+        result = 31 * result + fontHeightInPoints;
+        result = 31 * result + border;
+        result = 31 * result + borderColor;
+        result = 31 * result + alignment;
+        result = 31 * result + verticalAlignment;
+        result = 31 * result + fillColor;
+        result = 31 * result + (wrapText ? 1 : 0);
+        result = 31 * result + (dataFormat != null ? dataFormat.hashCode() : 0);
+        return result;
+    }
+
+    /**
+     * 构建器
+     */
+    public static class Builder {
+        private boolean bold;
+        private short fontColor = NO_COLOR;
+        private String fontName;
+        private short fontHeightInPoints = -1;
+        private short border = CellStyle.BORDER_NONE;
+        private short borderColor = NO_COLOR;
+        private short alignment = CellStyle.ALIGN_GENERAL;
+        private short verticalAlignment = CellStyle.VERTICAL_BOTTOM;
+        private short fillColor = NO_COLOR;
+        private boolean wrapText;
+        private String dataFormat;
+
+        public Builder() {
+        }
+
+        /**
+         * 以已有样式为基础构建
+         *
+         * @param style 样式
+         */
+        public Builder(ExcelStyle style) {
+            this.bold = style.bold;
+            this.fontColor = style.fontColor;
+            this.fontName = style.fontName;
+            this.fontHeightInPoints = style.fontHeightInPoints;
+            this.border = style.border;
+            this.borderColor = style.borderColor;
+            this.alignment = style.alignment;
+            this.verticalAlignment = style.verticalAlignment;
+            this.fillColor = style.fillColor;
+            this.wrapText = style.wrapText;
+            this.dataFormat = style.dataFormat;
+        }
+
+        /**
+         * 设置字体加粗
+         *
+         * @param bold 是否加粗
+         * @return 构建器
+         */
+        public Builder bold(boolean bold) {
+            this.bold = bold;
+            return this;
+        }
+
+        /**
+         * 设置字体颜色
+         *
+         * @param fontColor 颜色索引，如{@link HSSFColor.RED#index}
+         * @return 构建器
+         */
+        public Builder fontColor(short fontColor) {
+            this.fontColor = fontColor;
+            return this;
+        }
+
+        /**
+         * 设置字体
+         *
+         * @param fontName           字体名称，为null时使用默认字体
+         * @param fontHeightInPoints 字号，小于等于0时使用默认字号
+         * @return 构建器
+         */
+        public Builder font(String fontName, short fontHeightInPoints) {
+            this.fontName = fontName;
+            this.fontHeightInPoints = fontHeightInPoints > 0 ? fontHeightInPoints : -1;
+            return this;
+        }
+
+        /**
+         * 设置四周边框
+         *
+         * @param border      边框样式，如{@link CellStyle#BORDER_THIN}
+         * @param borderColor 边框颜色索引
+         * @return 构建器
+         */
+        public Builder border(short border, short borderColor) {
+            this.border = border;
+            this.borderColor = borderColor;
+            return this;
+        }
+
+        /**
+         * 设置水平对齐方式
+         *
+         * @param alignment 对齐方式，如{@link CellStyle#ALIGN_CENTER}
+         * @return 构建器
+         */
+        public Builder alignment(short alignment) {
+            this.alignment = alignment;
+            return this;
+        }
+
+        /**
+         * 设置垂直对齐方式
+         *
+         * @param verticalAlignment 对齐方式，如{@link CellStyle#VERTICAL_CENTER}
+         * @return 构建器
+         */
+        public Builder verticalAlignment(short verticalAlignment) {
+            this.verticalAlignment = verticalAlignment;
+            return this;
+        }
+
+        /**
+         * 设置实心填充颜色
+         *
+         * @param fillColor 颜色索引，{@link #NO_COLOR}表示不填充
+         * @return 构建器
+         */
+        public Builder fillColor(short fillColor) {
+            this.fillColor = fillColor;
+            return this;
+        }
+
+        /**
+         * 设置自动换行
+         *
+         * @param wrapText 是否自动换行
+         * @return 构建器
+         */
+        public Builder wrapText(boolean wrapText) {
+            this.wrapText = wrapText;
+            return this;
+        }
+
+        /**
+         * 设置数据格式
+         *
+         * @param dataFormat 格式字符串，如yyyy-MM-dd、0.00，为null时使用常规格式
+         * @return 构建器
+         */
+        public Builder dataFormat(String dataFormat) {
+            this.dataFormat = dataFormat;
+            return this;
+        }
+
+        public ExcelStyle build() {
+            return new ExcelStyle(this);
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.belonk.msoffice.excel;
+
+import com.belonk.msoffice.excel.util.ExcelStyleRegistry;
+import com.belonk.msoffice.excel.util.POIExcelUtil;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Excel模板。
+ * <p>
+ * 在{@link ExcelRowDef}的基础上预先计算表头名称和列名到列号的映射，并保存导出时使用的表头样式和列样式。
+ * 导入时表头校验先比较列数，再逐列比较名称，遇到第一个不一致的列即返回；导出时表头和样式直接使用模板中缓存的定义，
+ * 样式经{@link ExcelStyleRegistry}在每个工作簿中只创建一次。列名可以重复，按名称查找列号时返回第一个同名列。
+ * <p>
+ * 模板创建后不可修改，可以在多个线程中共享，通常通过{@link ExcelTemplateRegistry}按名称注册和获取。
+ * 创建模板后不要再修改其行定义。
+ */
+public final class ExcelTemplate {
+    private final String name;
+    private final ExcelRowDef excelRowDef;
+    private final String[] titles;
+    private final Map<String, Integer> columnIndexes;
+    private final ExcelStyle headerStyle;
+    private final ExcelStyle[] columnStyles;
+
+    private ExcelTemplate(Builder builder) {
+        this.name = builder.name;
+        this.excelRowDef = builder.excelRowDef;
+        int columnCount = excelRowDef.getExcelCellDefListSize();
+        this.titles = new String[columnCount];
+        Map<String, Integer> indexes = new HashMap<String, Integer>(columnCount * 2);
+        for (int i = 0; i < columnCount; i++) {
+            titles[i] = excelRowDef.getCell(i).getName();
+            // 与ExcelRowDef一致允许重复的列名，保留第一个同名列
+            indexes.putIfAbsent(titles[i], i);
+        }
+        this.columnIndexes = Collections.unmodifiableMap(indexes);
+        this.headerStyle = builder.headerStyle;
+        this.columnStyles = builder.columnStyles;
+    }
+
+    /**
+     * 创建构建器
+     *
+     * @param name        模板名称
+     * @param excelRowDef excel行对象
+     * @return 构建器
+     */
+    public static Builder builder(String name, ExcelRowDef excelRowDef) {
+        return new Builder(name, excelRowDef);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public ExcelRowDef getExcelRowDef() {
+        return excelRowDef;
+    }
+
+    /**
+     * 获取表头名称
+     *
+     * @return 表头名称的副本
+     */
+    public String[] getTitles() {
+        return titles.clone();
+    }
+
+    public int getColumnCount() {
+        return titles.length;
+    }
+
+    /**
+     * 获取列号
+     *
+     * @param columnName 列名称
+     * @return 列号，从0开始，有同名列时返回第一个，不存在时返回-1
+     */
+    public int getColumnIndex(String columnName) {
+        Integer index = columnIndexes.get(columnName);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * 获取列名到列号的映射
+     *
+     * @return 不可修改的映射
+     */
+    public Map<String, Integer> getColumnIndexes() {
+        return columnIndexes;
+    }
+
+    /**
+     * 校验表头行是否与模板匹配
+     *
+     * @param headerRow 表头行
+     * @return true：匹配；false：不匹配
+     */
+    public boolean isHeaderMatched(Row headerRow) {
+        if (headerRow == null || headerRow.getLastCellNum() != titles.length) {
+            return false;
+        }
+        for (int i = 0; i < titles.length; i++) {
+            Cell cell = headerRow.getCell(i);
+            if (cell == null || cell.getCellType() == Cell.CELL_TYPE_BLANK || !titles[i].equals(cell.toString())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 校验表头单元格是否与模板匹配
+     *
+     * @param cells   表头单元格值，下标为列号
+     * @param cellNum 表头单元格数量
+     * @return true：匹配；false：不匹配
+     */
+    public boolean isHeaderMatched(ExcelCellValue[] cells, int cellNum) {
+        if (cellNum != titles.length) {
+            return false;
+        }
+        for (int i = 0; i < cellNum; i++) {
+            if (cells[i].isEmpty() || !titles[i].equals(cells[i].toString())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 校验工作表是否有数据以及表头是否与模板匹配，规则同{@link POIExcelUtil#checkSheet}
+     *
+     * @param sheet    工作表
+     * @param startRow 起始行号
+     * @return 验证通过返回null，否则返回错误代码
+     */
+    public ExcelErrorCode checkSheet(Sheet sheet, int startRow) {
+        int rows = POIExcelUtil.getSheetRows(sheet);
+        if (rows == 0) {
+            return ExcelErrorCode.NO_DATA;
+        }
+        Row headerRow = sheet.getRow(ExcelConstants.DEFAUT_HEADER_SHOW_LINE);
+        if (headerRow == null || headerRow.getLastCellNum() != titles.length) {
+            return ExcelErrorCode.HEADER_MISMATCH;
+        }
+        if (rows == 1) {
+            return ExcelErrorCode.NO_DATA;
+        }
+        if (startRow > sheet.getLastRowNum()) {
+            return ExcelErrorCode.START_ROW_OUT_OF_RANGE;
+        }
+        return isHeaderMatched(headerRow) ? null : ExcelErrorCode.HEADER_MISMATCH;
+    }
+
+    /**
+     * 创建带表头的工作表
+     *
+     * @param styleRegistry 工作簿的样式注册表
+     * @param sheetName     工作表名称
+     * @return 工作表
+     */
+    public Sheet createSheet(ExcelStyleRegistry styleRegistry, String sheetName) {
+        Sheet sheet = styleRegistry.getWorkbook().createSheet(sheetName);
+        POIExcelUtil.setHeader(sheet, titles, headerStyle == null ? null : styleRegistry.get(headerStyle));
+        return sheet;
+    }
+
+    /**
+     * 获取各列的数据样式
+     *
+     * @param styleRegistry 工作簿的样式注册表
+     * @return 每列的单元格样式，未设置列样式时返回null
+     */
+    public CellStyle[] getColumnStyles(ExcelStyleRegistry styleRegistry) {
+        return columnStyles == null ? null : styleRegistry.get(columnStyles);
+    }
+
+    /**
+     * 创建带表头的工作表并写入数据
+     *
+     * @param styleRegistry 工作簿的样式注册表
+     * @param sheetName     工作表名称
+     * @param rows          数据行
+     * @return 写入的数据行数
+     */
+    public int writeSheet(ExcelStyleRegistry styleRegistry, String sheetName, Iterator<? extends List<?>> rows) {
+        Sheet sheet = createSheet(styleRegistry, sheetName);
+        return POIExcelUtil.setWorkbookData(sheet, rows, getColumnStyles(styleRegistry));
+    }
+
+    public ExcelStyle getHeaderStyle() {
+        return headerStyle;
+    }
+
+    /**
+     * 获取每列的数据样式定义
+     *
+     * @return 样式定义的副本，未设置时返回null
+     */
+    public ExcelStyle[] getColumnStyles() {
+        return columnStyles == null ? null : columnStyles.clone();
+    }
+
+    /**
+     * 构建器
+     */
+    public static class Builder {
+        private final String name;
+        private final ExcelRowDef excelRowDef;
+        private ExcelStyle headerStyle;
+        private ExcelStyle[] columnStyles;
+
+        Builder(String name, ExcelRowDef excelRowDef) {
+            if (excelRowDef == null || excelRowDef.isExcelCellDefListEmpty()) {
+                throw new IllegalArgumentException("Template " + name + " must have at least one column");
+            }
+            this.name = name;
+            this.excelRowDef = excelRowDef;
+        }
+
+        /**
+         * 设置导出时的表头样式
+         *
+         * @param headerStyle 表头样式，为null时不设置
+         * @return 构建器
+         */
+        public Builder headerStyle(ExcelStyle headerStyle) {
+            this.headerStyle = headerStyle;
+            return this;
+        }
+
+        /**
+         * 设置导出时每列的数据样式
+         *
+         * @param columnStyles 每列的数据样式，元素为null时该列不设置样式
+         * @return 构建器
+         */
+        public Builder columnStyles(ExcelStyle... columnStyles) {
+            this.columnStyles = columnStyles == null ? null : columnStyles.clone();
+            return this;
+        }
+
+        public ExcelTemplate build() {
+            return new ExcelTemplate(this);
+        }
+    }
+}
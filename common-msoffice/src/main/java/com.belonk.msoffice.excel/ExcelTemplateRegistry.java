@@ -0,0 +1,68 @@
+package com.belonk.msoffice.excel;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Excel模板注册表。
+ * <p>
+ * 按名称保存{@link ExcelTemplate}，模板只在第一次使用时创建，之后的导入导出直接复用预先计算好的表头和样式定义。
+ * 注册表是线程安全的。
+ */
+public final class ExcelTemplateRegistry {
+    private static final ConcurrentMap<String, ExcelTemplate> TEMPLATES = new ConcurrentHashMap<String, ExcelTemplate>();
+
+    private ExcelTemplateRegistry() {
+    }
+
+    /**
+     * 注册模板，同名模板会被替换
+     *
+     * @param template 模板
+     * @return 模板
+     */
+    public static ExcelTemplate register(ExcelTemplate template) {
+        TEMPLATES.put(template.getName(), template);
+        return template;
+    }
+
+    /**
+     * 获取模板
+     *
+     * @param name 模板名称
+     * @return 模板，不存在时返回null
+     */
+    public static ExcelTemplate get(String name) {
+        return TEMPLATES.get(name);
+    }
+
+    /**
+     * 获取模板，不存在时创建并注册
+     *
+     * @param name    模板名称
+     * @param factory 模板创建方法，创建的模板名称应与name一致
+     * @return 模板
+     */
+    public static ExcelTemplate get(String name, Supplier<ExcelTemplate> factory) {
+        ExcelTemplate template = TEMPLATES.get(name);
+        if (template == null) {
+            template = factory.get();
+            ExcelTemplate exists = TEMPLATES.putIfAbsent(name, template);
+            if (exists != null) {
+                template = exists;
+            }
+        }
+        return template;
+    }
+
+    /**
+     * 移除模板
+     *
+     * @param name 模板名称
+     * @return 被移除的模板，不存在时返回null
+     */
+    public static ExcelTemplate remove(String name) {
+        return TEMPLATES.remove(name);
+    }
+}
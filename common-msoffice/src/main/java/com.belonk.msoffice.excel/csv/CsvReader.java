@@ -0,0 +1,138 @@
+package com.belonk.msoffice.excel.csv;
+
+import java.io.*;
+import java.nio.charset.Charset;
+import java.util.List;
+
+/**
+ * CSV读取器。
+ * <p>
+ * 按RFC 4180格式逐行解析，支持双引号包围的字段、字段中的两个双引号转义以及字段中的换行，行结束符可以是CRLF、LF或CR。
+ * 开头的UTF BOM会被跳过。读取器只缓冲固定大小的字符，内存占用与文件大小无关。
+ */
+public class CsvReader implements Closeable {
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Reader reader;
+    private final char separator;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final StringBuilder field = new StringBuilder();
+    private int position;
+    private int limit;
+    private boolean started;
+    private boolean eof;
+
+    /**
+     * 使用逗号作为分隔符
+     *
+     * @param reader 字符输入流
+     */
+    public CsvReader(Reader reader) {
+        this(reader, ',');
+    }
+
+    /**
+     * @param reader    字符输入流
+     * @param separator 字段分隔符
+     */
+    public CsvReader(Reader reader, char separator) {
+        this.reader = reader;
+        this.separator = separator;
+    }
+
+    /**
+     * 创建读取器
+     *
+     * @param inputStream 输入流
+     * @param charset     字符集
+     * @return 读取器
+     */
+    public static CsvReader create(InputStream inputStream, Charset charset) {
+        return new CsvReader(new InputStreamReader(inputStream, charset));
+    }
+
+    /**
+     * 读取一行
+     *
+     * @param fields 字段存放List，读取前清空
+     * @return 读取到一行返回true，已到文件末尾返回false
+     * @throws IOException IO异常
+     */
+    public boolean readRow(List<String> fields) throws IOException {
+        fields.clear();
+        int c = read();
+        if (c < 0) {
+            return false;
+        }
+        field.setLength(0);
+        boolean quoted = false;
+        boolean inQuotes = false;
+        while (true) {
+            if (inQuotes) {
+                if (c < 0) {
+                    // 引号未闭合，剩余内容作为字段值
+                    break;
+                } else if (c == '"') {
+                    c = read();
+                    if (c == '"') {
+                        field.append('"');
+                    } else {
+                        inQuotes = false;
+                        continue;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c < 0 || c == '\n' || c == '\r') {
+                if (c == '\r') {
+                    c = read();
+                    if (c != '\n' && c >= 0) {
+                        position--;
+                    }
+                }
+                break;
+            } else if (c == separator) {
+                fields.add(field.toString());
+                field.setLength(0);
+                quoted = false;
+            } else if (c == '"' && field.length() == 0 && !quoted) {
+                quoted = true;
+                inQuotes = true;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+        fields.add(field.toString());
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private int read() throws IOException {
+        if (position >= limit) {
+            if (eof) {
+                return -1;
+            }
+            limit = reader.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                eof = true;
+                return -1;
+            }
+            if (!started) {
+                started = true;
+                // 跳过BOM
+                if (buffer[0] == '\uFEFF') {
+                    position = 1;
+                    return read();
+                }
+            }
+        }
+        return buffer[position++];
+    }
+}
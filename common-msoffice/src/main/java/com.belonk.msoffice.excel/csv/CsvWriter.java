@@ -0,0 +1,209 @@
+package com.belonk.msoffice.excel.csv;
+
+import org.apache.poi.ss.usermodel.RichTextString;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * CSV写入器。
+ * <p>
+ * 按RFC 4180格式逐行编码并写出，数据行的格式与{@link com.belonk.msoffice.excel.util.POIExcelUtil#setWorkbookData}相同，
+ * 值的文本规则：
+ * <ul>
+ * <li>null写为空字段；</li>
+ * <li>布尔值写为TRUE、FALSE；</li>
+ * <li>日期写为yyyy-MM-dd HH:mm:ss；</li>
+ * <li>浮点数写为不带指数和多余小数位的文本，如3.0写为3；</li>
+ * <li>其他对象写为toString()的结果。</li>
+ * </ul>
+ * 字段包含分隔符、双引号或换行时使用双引号包围，字段中的双引号写为两个双引号。
+ */
+public class CsvWriter implements Closeable, Flushable {
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final String LINE_SEPARATOR = "\r\n";
+
+    private final Writer writer;
+    private final char separator;
+
+    /**
+     * 使用逗号作为分隔符
+     *
+     * @param writer 字符输出流
+     */
+    public CsvWriter(Writer writer) {
+        this(writer, ',');
+    }
+
+    /**
+     * @param writer    字符输出流，未缓冲时自动包装为{@link BufferedWriter}
+     * @param separator 字段分隔符
+     */
+    public CsvWriter(Writer writer, char separator) {
+        this.writer = writer instanceof BufferedWriter ? writer : new BufferedWriter(writer);
+        this.separator = separator;
+    }
+
+    /**
+     * 创建UTF-8编码的写入器，并写入BOM，使Excel能够正确识别中文
+     *
+     * @param outputStream 输出流
+     * @return 写入器
+     * @throws IOException IO异常
+     */
+    public static CsvWriter create(OutputStream outputStream) throws IOException {
+        return create(outputStream, StandardCharsets.UTF_8, true);
+    }
+
+    /**
+     * 创建写入器
+     *
+     * @param outputStream 输出流
+     * @param charset      字符集
+     * @param bom          是否写入BOM，仅对UTF编码有意义
+     * @return 写入器
+     * @throws IOException IO异常
+     */
+    public static CsvWriter create(OutputStream outputStream, Charset charset, boolean bom) throws IOException {
+        CsvWriter csvWriter = new CsvWriter(new OutputStreamWriter(outputStream, charset));
+        if (bom) {
+            csvWriter.writer.write('\uFEFF');
+        }
+        return csvWriter;
+    }
+
+    /**
+     * 写入表头
+     *
+     * @param titles 表头名称
+     * @throws IOException IO异常
+     */
+    public void writeHeader(String[] titles) throws IOException {
+        for (int i = 0; i < titles.length; i++) {
+            if (i > 0) {
+                writer.write(separator);
+            }
+            writeField(titles[i]);
+        }
+        writer.write(LINE_SEPARATOR);
+    }
+
+    /**
+     * 写入一行数据
+     *
+     * @param row 数据行，为null时写入空行
+     * @throws IOException IO异常
+     */
+    public void writeRow(List<?> row) throws IOException {
+        if (row != null) {
+            int col = 0;
+            for (Object data : row) {
+                if (col++ > 0) {
+                    writer.write(separator);
+                }
+                writeField(format(data));
+            }
+        }
+        writer.write(LINE_SEPARATOR);
+    }
+
+    /**
+     * 逐行写入数据，数据按需从迭代器中获取
+     *
+     * @param rows 数据行迭代器
+     * @return 写入的数据行数
+     * @throws IOException IO异常
+     */
+    public int writeRows(Iterator<? extends List<?>> rows) throws IOException {
+        int count = 0;
+        if (rows == null) {
+            return count;
+        }
+        while (rows.hasNext()) {
+            writeRow(rows.next());
+            count++;
+        }
+        return count;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    /**
+     * 值对象转为字段文本
+     *
+     * @param value 值对象
+     * @return 字段文本，null返回null
+     */
+    public static String format(Object value) {
+        if (value == null) {
+            return null;
+        } else if (value instanceof String) {
+            return (String) value;
+        } else if (value instanceof Boolean) {
+            return (Boolean) value ? "TRUE" : "FALSE";
+        } else if (value instanceof Date) {
+            return DATE_TIME_FORMATTER.format(((Date) value).toInstant().atZone(ZoneId.systemDefault()));
+        } else if (value instanceof Calendar) {
+            return DATE_TIME_FORMATTER.format(((Calendar) value).toInstant().atZone(ZoneId.systemDefault()));
+        } else if (value instanceof Double || value instanceof Float) {
+            double number = ((Number) value).doubleValue();
+            if (Double.isNaN(number) || Double.isInfinite(number)) {
+                return value.toString();
+            }
+            if (number == Math.rint(number) && Math.abs(number) < 1e15) {
+                return Long.toString((long) number);
+            }
+            return BigDecimal.valueOf(number).stripTrailingZeros().toPlainString();
+        } else if (value instanceof RichTextString) {
+            return ((RichTextString) value).getString();
+        }
+        return value.toString();
+    }
+
+    private void writeField(String field) throws IOException {
+        if (field == null || field.isEmpty()) {
+            return;
+        }
+        if (!needsQuote(field)) {
+            writer.write(field);
+            return;
+        }
+        writer.write('"');
+        int start = 0;
+        for (int i = 0; i < field.length(); i++) {
+            if (field.charAt(i) == '"') {
+                writer.write(field, start, i + 1 - start);
+                writer.write('"');
+                start = i + 1;
+            }
+        }
+        writer.write(field, start, field.length() - start);
+        writer.write('"');
+    }
+
+    private boolean needsQuote(String field) {
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c == separator || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
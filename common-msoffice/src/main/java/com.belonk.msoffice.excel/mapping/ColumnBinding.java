@@ -0,0 +1,290 @@
+package com.belonk.msoffice.excel.mapping;
+
+import com.belonk.msoffice.excel.ExcelCellConverter;
+import com.belonk.msoffice.excel.ExcelCellDef;
+import com.belonk.msoffice.excel.ExcelCellValue;
+import com.belonk.msoffice.excel.ExcelConstants;
+import com.belonk.msoffice.excel.ExcelErrorCode;
+import org.apache.poi.ss.usermodel.Cell;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.math.BigDecimal;
+import java.util.Date;
+
+/**
+ * 列绑定，将单元格值转换后写入POJO字段。
+ * <p>
+ * 转换方式在创建时根据字段类型确定，字段写入使用按字段类型适配的{@link MethodHandle}，基本类型字段写入时不装箱。
+ * 校验规则和错误代码与{@link com.belonk.msoffice.excel.util.POIExcelUtil#checkCellData}一致。
+ */
+abstract class ColumnBinding {
+    final ExcelCellDef cellDef;
+    final MethodHandle setter;
+
+    ColumnBinding(ExcelCellDef cellDef, MethodHandle setter) {
+        this.cellDef = cellDef;
+        this.setter = setter;
+    }
+
+    /**
+     * 根据字段类型创建绑定
+     *
+     * @param fieldType 字段类型
+     * @param cellDef   单元格定义
+     * @param setter    字段写入方法，类型为(Object, 字段类型)void
+     * @return 列绑定
+     */
+    static ColumnBinding create(Class<?> fieldType, ExcelCellDef cellDef, MethodHandle setter) {
+        if (fieldType == int.class || fieldType == Integer.class) {
+            return new IntegerBinding(cellDef, setter, Integer.MIN_VALUE, Integer.MAX_VALUE, int.class);
+        } else if (fieldType == long.class || fieldType == Long.class) {
+            return new IntegerBinding(cellDef, setter, Long.MIN_VALUE, Long.MAX_VALUE, long.class);
+        } else if (fieldType == short.class || fieldType == Short.class) {
+            return new IntegerBinding(cellDef, setter, Short.MIN_VALUE, Short.MAX_VALUE, short.class);
+        } else if (fieldType == byte.class || fieldType == Byte.class) {
+            return new IntegerBinding(cellDef, setter, Byte.MIN_VALUE, Byte.MAX_VALUE, byte.class);
+        } else if (fieldType == double.class || fieldType == Double.class) {
+            return new DoubleBinding(cellDef, setter, false);
+        } else if (fieldType == float.class || fieldType == Float.class) {
+            return new DoubleBinding(cellDef, setter, true);
+        } else if (fieldType == boolean.class || fieldType == Boolean.class) {
+            return new BooleanBinding(cellDef, setter);
+        } else if (fieldType == BigDecimal.class) {
+            return new BigDecimalBinding(cellDef, setter);
+        } else if (fieldType == Date.class) {
+            return new DateBinding(cellDef, setter);
+        } else if (fieldType == String.class) {
+            return new StringBinding(cellDef, setter);
+        }
+        throw new IllegalArgumentException("Unsupported field type : " + fieldType.getName());
+    }
+
+    /**
+     * 校验单元格并写入字段
+     *
+     * @param target 目标对象
+     * @param cell   单元格值
+     * @return 校验通过返回null，否则返回错误代码
+     */
+    ExcelErrorCode bind(Object target, ExcelCellValue cell) {
+        if (cell.isEmpty()) {
+            // 必填项
+            if (cellDef.isOptional()) {
+                return ExcelErrorCode.REQUIRED;
+            }
+            bindBlank(target);
+            return null;
+        }
+        if (cellDef.getType() != ExcelConstants.UNCHECKED && cell.getType() != cellDef.getType()) {
+            return ExcelErrorCode.TYPE_MISMATCH;
+        }
+        try {
+            return bindValue(target, cell) ? null : ExcelErrorCode.FORMAT_ERROR;
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 写入非空单元格的值
+     *
+     * @return 转换成功返回true，格式错误返回false
+     */
+    abstract boolean bindValue(Object target, ExcelCellValue cell) throws Throwable;
+
+    /**
+     * 处理空白单元格，默认保持字段原值
+     */
+    void bindBlank(Object target) {
+    }
+
+    /**
+     * 单元格文本，规则同{@link com.belonk.msoffice.excel.util.POIExcelUtil#setCellData}转换为字符串时
+     */
+    static String text(ExcelCellValue cell) {
+        if (cell.getType() == Cell.CELL_TYPE_NUMERIC) {
+            if (cell.isDateFormatted()) {
+                return ExcelCellConverter.formatDate(cell);
+            }
+            return String.valueOf(cell.getNumericValue());
+        } else if (cell.getType() == Cell.CELL_TYPE_BOOLEAN) {
+            return cell.getBooleanValue() ? "true" : "false";
+        }
+        return cell.toString();
+    }
+
+    static MethodType setterType(Class<?> valueType) {
+        return MethodType.methodType(void.class, Object.class, valueType);
+    }
+
+    /**
+     * 整数字段，只接受整数值
+     */
+    static class IntegerBinding extends ColumnBinding {
+        private final long min;
+        private final long max;
+        private final Class<?> primitiveType;
+
+        IntegerBinding(ExcelCellDef cellDef, MethodHandle setter, long min, long max, Class<?> primitiveType) {
+            super(cellDef, setter.asType(setterType(primitiveType)));
+            this.min = min;
+            this.max = max;
+            this.primitiveType = primitiveType;
+        }
+
+        @Override
+        boolean bindValue(Object target, ExcelCellValue cell) throws Throwable {
+            if (cell.getType() != Cell.CELL_TYPE_NUMERIC || cell.isDateFormatted()) {
+                return false;
+            }
+            long longValue;
+            if (cell.isExactLong()) {
+                longValue = cell.getLongValue();
+            } else {
+                double value = cell.getNumericValue();
+                // 与ExcelCellConverter的整数判断一致
+                if (!ExcelCellConverter.isExactLong(value)) {
+                    return false;
+                }
+                longValue = (long) value;
+            }
+            if (longValue < min || longValue > max) {
+                return false;
+            }
+            if (primitiveType == int.class) {
+                setter.invokeExact(target, (int) longValue);
+            } else if (primitiveType == long.class) {
+                setter.invokeExact(target, longValue);
+            } else if (primitiveType == short.class) {
+                setter.invokeExact(target, (short) longValue);
+            } else {
+                setter.invokeExact(target, (byte) longValue);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * 浮点数字段
+     */
+    static class DoubleBinding extends ColumnBinding {
+        private final boolean isFloat;
+
+        DoubleBinding(ExcelCellDef cellDef, MethodHandle setter, boolean isFloat) {
+            super(cellDef, setter.asType(setterType(isFloat ? float.class : double.class)));
+            this.isFloat = isFloat;
+        }
+
+        @Override
+        boolean bindValue(Object target, ExcelCellValue cell) throws Throwable {
+            if (cell.getType() != Cell.CELL_TYPE_NUMERIC || cell.isDateFormatted()) {
+                return false;
+            }
+            if (isFloat) {
+                setter.invokeExact(target, (float) cell.getNumericValue());
+            } else {
+                setter.invokeExact(target, cell.getNumericValue());
+            }
+            return true;
+        }
+    }
+
+    /**
+     * 布尔字段，接受布尔单元格和true/false文本
+     */
+    static class BooleanBinding extends ColumnBinding {
+        BooleanBinding(ExcelCellDef cellDef, MethodHandle setter) {
+            super(cellDef, setter.asType(setterType(boolean.class)));
+        }
+
+        @Override
+        boolean bindValue(Object target, ExcelCellValue cell) throws Throwable {
+            boolean value;
+            if (cell.getType() == Cell.CELL_TYPE_BOOLEAN) {
+                value = cell.getBooleanValue();
+            } else if ("true".equalsIgnoreCase(cell.toString())) {
+                value = true;
+            } else if ("false".equalsIgnoreCase(cell.toString())) {
+                value = false;
+            } else {
+                return false;
+            }
+            setter.invokeExact(target, value);
+            return true;
+        }
+    }
+
+    /**
+     * BigDecimal字段，接受数值单元格和数字文本
+     */
+    static class BigDecimalBinding extends ColumnBinding {
+        BigDecimalBinding(ExcelCellDef cellDef, MethodHandle setter) {
+            super(cellDef, setter.asType(setterType(Object.class)));
+        }
+
+        @Override
+        boolean bindValue(Object target, ExcelCellValue cell) throws Throwable {
+            BigDecimal value;
+            if (cell.getType() == Cell.CELL_TYPE_NUMERIC && !cell.isDateFormatted()) {
+                value = BigDecimal.valueOf(cell.getNumericValue());
+            } else if (cell.getType() == Cell.CELL_TYPE_STRING) {
+                try {
+                    value = new BigDecimal(cell.getStringValue().trim());
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            } else {
+                return false;
+            }
+            setter.invokeExact(target, (Object) value);
+            return true;
+        }
+    }
+
+    /**
+     * 日期字段，只接受日期格式的数值单元格
+     */
+    static class DateBinding extends ColumnBinding {
+        DateBinding(ExcelCellDef cellDef, MethodHandle setter) {
+            super(cellDef, setter.asType(setterType(Object.class)));
+        }
+
+        @Override
+        boolean bindValue(Object target, ExcelCellValue cell) throws Throwable {
+            if (!cell.isDateFormatted()) {
+                return false;
+            }
+            setter.invokeExact(target, (Object) cell.getDateValue());
+            return true;
+        }
+    }
+
+    /**
+     * 字符串字段，空白单元格写入空字符串
+     */
+    static class StringBinding extends ColumnBinding {
+        StringBinding(ExcelCellDef cellDef, MethodHandle setter) {
+            super(cellDef, setter.asType(setterType(Object.class)));
+        }
+
+        @Override
+        boolean bindValue(Object target, ExcelCellValue cell) throws Throwable {
+            setter.invokeExact(target, (Object) text(cell));
+            return true;
+        }
+
+        @Override
+        void bindBlank(Object target) {
+            try {
+                setter.invokeExact(target, (Object) ExcelConstants.BLANK);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
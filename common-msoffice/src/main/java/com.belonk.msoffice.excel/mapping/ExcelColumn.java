@@ -0,0 +1,36 @@
+package com.belonk.msoffice.excel.mapping;
+
+import com.belonk.msoffice.excel.ExcelConstants;
+
+import java.lang.annotation.*;
+
+/**
+ * Excel列映射注解。
+ * <p>
+ * 标注在POJO字段上，声明该字段对应的Excel列，由{@link ExcelRowMapper}解析为{@link com.belonk.msoffice.excel.ExcelRowDef}
+ * 并生成字段绑定。
+ */
+@Documented
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ExcelColumn {
+    /**
+     * 列号，从0开始，各列的列号必须连续
+     */
+    int index();
+
+    /**
+     * 表头名称
+     */
+    String name();
+
+    /**
+     * 单元格类型，取值同{@link org.apache.poi.ss.usermodel.Cell}的CELL_TYPE_*常量，默认不检查
+     */
+    int type() default ExcelConstants.UNCHECKED;
+
+    /**
+     * 是否必填，默认false
+     */
+    boolean required() default false;
+}
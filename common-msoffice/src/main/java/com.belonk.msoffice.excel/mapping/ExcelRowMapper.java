@@ -0,0 +1,324 @@
+package com.belonk.msoffice.excel.mapping;
+
+import com.belonk.msoffice.excel.ExcelCellDef;
+import com.belonk.msoffice.excel.ExcelCellValue;
+import com.belonk.msoffice.excel.ExcelConstants;
+import com.belonk.msoffice.excel.ExcelErrorCode;
+import com.belonk.msoffice.excel.ExcelImportError;
+import com.belonk.msoffice.excel.ExcelImportErrorHandler;
+import com.belonk.msoffice.excel.ExcelProjection;
+import com.belonk.msoffice.excel.ExcelRowDef;
+import com.belonk.msoffice.excel.util.ExcelRowCursor;
+import com.belonk.msoffice.excel.util.POIExcelUtil;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Sheet;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Excel行与POJO的映射器。
+ * <p>
+ * 根据POJO字段上的{@link ExcelColumn}注解生成{@link ExcelRowDef}和各列的字段绑定，字段绑定使用{@link MethodHandle}写入，
+ * 转换方式在创建时按字段类型确定，映射每行时不再比较类型名称，基本类型字段也不需要装箱。
+ * <p>
+ * 每个类型只解析一次，映射器是线程安全的，可以在多个线程中同时使用。POJO需要有无参构造方法，支持的字段类型有：
+ * 整数（int、long、short、byte及其包装类型，只接受整数值）、浮点数（double、float及其包装类型）、boolean、
+ * {@link java.math.BigDecimal}、{@link Date}和String。
+ *
+ * @param <T> POJO类型
+ */
+public final class ExcelRowMapper<T> {
+    private static final ConcurrentMap<Class<?>, ExcelRowMapper<?>> MAPPERS = new ConcurrentHashMap<Class<?>, ExcelRowMapper<?>>();
+    private static final ExcelCellValue EMPTY_CELL = new ExcelCellValue();
+
+    private final Class<T> type;
+    private final MethodHandle constructor;
+    private final ExcelRowDef excelRowDef;
+    private final ColumnBinding[] bindings;
+
+    private ExcelRowMapper(Class<T> type) {
+        this.type = type;
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            Constructor<T> defaultConstructor = type.getDeclaredConstructor();
+            defaultConstructor.setAccessible(true);
+            this.constructor = lookup.unreflectConstructor(defaultConstructor).asType(MethodType.methodType(Object.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalArgumentException(type.getName() + " must have a no-arg constructor", e);
+        }
+
+        SortedMap<Integer, Field> columns = new TreeMap<Integer, Field>();
+        for (Class<?> clazz = type; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+            for (Field field : clazz.getDeclaredFields()) {
+                ExcelColumn column = field.getAnnotation(ExcelColumn.class);
+                if (column == null) {
+                    continue;
+                }
+                if (Modifier.isStatic(field.getModifiers()) || Modifier.isFinal(field.getModifiers())) {
+                    throw new IllegalArgumentException("Field " + field.getName() + " must not be static or final");
+                }
+                if (columns.put(column.index(), field) != null) {
+                    throw new IllegalArgumentException("Duplicate column index " + column.index() + " in " + type.getName());
+                }
+            }
+        }
+        if (columns.isEmpty()) {
+            throw new IllegalArgumentException("No @ExcelColumn field found in " + type.getName());
+        }
+        if (columns.firstKey() != 0 || columns.lastKey() != columns.size() - 1) {
+            throw new IllegalArgumentException("Column indexes of " + type.getName() + " must be continuous from 0");
+        }
+
+        this.excelRowDef = new ExcelRowDef(columns.size());
+        this.bindings = new ColumnBinding[columns.size()];
+        for (Field field : columns.values()) {
+            ExcelColumn column = field.getAnnotation(ExcelColumn.class);
+            // ExcelCellDef的optional为true时表示必填
+            ExcelCellDef cellDef = new ExcelCellDef(column.name(), column.type(), wrap(field.getType()), column.required());
+            excelRowDef.addCell(cellDef);
+            field.setAccessible(true);
+            try {
+                bindings[column.index()] = ColumnBinding.create(field.getType(), cellDef, lookup.unreflectSetter(field));
+            } catch (IllegalAccessException e) {
+                throw new IllegalArgumentException("Field " + field.getName() + " is not accessible", e);
+            }
+        }
+    }
+
+    /**
+     * 获取类型的映射器，每个类型只解析一次
+     *
+     * @param type POJO类型
+     * @param <T>  POJO类型
+     * @return 映射器
+     * @throws IllegalArgumentException 类型没有无参构造方法、没有{@link ExcelColumn}字段、列号不连续或字段类型不支持
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> ExcelRowMapper<T> of(Class<T> type) {
+        ExcelRowMapper<?> mapper = MAPPERS.get(type);
+        if (mapper == null) {
+            mapper = new ExcelRowMapper<T>(type);
+            ExcelRowMapper<?> exists = MAPPERS.putIfAbsent(type, mapper);
+            if (exists != null) {
+                mapper = exists;
+            }
+        }
+        return (ExcelRowMapper<T>) mapper;
+    }
+
+    /**
+     * 获取由注解生成的行定义，映射器之间共享，不要修改
+     *
+     * @return 行定义
+     */
+    public ExcelRowDef getExcelRowDef() {
+        return excelRowDef;
+    }
+
+    public Class<T> getType() {
+        return type;
+    }
+
+    /**
+     * 将一行单元格映射为对象
+     *
+     * @param cells    单元格值，下标为列号
+     * @param cellNum  当前行的单元格数量，即最后一个单元格的列号+1
+     * @param errorMsg 错误信息，校验失败时追加，格式同{@link POIExcelUtil#setCellData}
+     * @return 映射后的对象，校验失败时返回null
+     */
+    public T map(ExcelCellValue[] cells, int cellNum, StringBuilder errorMsg) {
+        return map(cells, cellNum, null, errorMsg);
+    }
+
+    /**
+     * 将一行单元格中投影的列映射为对象，未投影列对应的字段保持默认值
+     *
+     * @param cells      单元格值，下标为列号
+     * @param cellNum    当前行的单元格数量，即最后一个单元格的列号+1
+     * @param projection 列投影，为null时映射全部列
+     * @param errorMsg   错误信息，校验失败时追加，格式同{@link POIExcelUtil#setCellData}
+     * @return 映射后的对象，校验失败时返回null
+     */
+    public T map(ExcelCellValue[] cells, int cellNum, ExcelProjection projection, StringBuilder errorMsg) {
+        // 数据列比表头列多
+        if (cellNum > bindings.length) {
+            ExcelErrorCode.COLUMN_COUNT_MISMATCH.appendTo(errorMsg, null);
+            return null;
+        }
+        T target = newInstance();
+        boolean matched = true;
+        for (int i = 0; i < bindings.length; i++) {
+            if (projection != null && !projection.contains(i)) {
+                continue;
+            }
+            ExcelCellValue cell = i < cellNum ? cells[i] : EMPTY_CELL;
+            ExcelErrorCode code = bindings[i].bind(target, cell);
+            if (code != null) {
+                code.appendTo(errorMsg, bindings[i].cellDef.getName());
+                matched = false;
+            }
+        }
+        return matched ? target : null;
+    }
+
+    /**
+     * 将一行单元格映射为对象，校验失败时记录结构化的错误
+     *
+     * @param cells   单元格值，下标为列号
+     * @param cellNum 当前行的单元格数量，即最后一个单元格的列号+1
+     * @param rowNum  行号，用于记录错误
+     * @param errors  错误存放List，规则同{@link POIExcelUtil#checkRowData}
+     * @return 映射后的对象，校验失败时返回null
+     */
+    public T map(ExcelCellValue[] cells, int cellNum, int rowNum, List<ExcelImportError> errors) {
+        return map(cells, cellNum, null, rowNum, errors);
+    }
+
+    /**
+     * 将一行单元格中投影的列映射为对象，校验失败时记录结构化的错误，未投影列对应的字段保持默认值
+     *
+     * @param cells      单元格值，下标为列号
+     * @param cellNum    当前行的单元格数量，即最后一个单元格的列号+1
+     * @param projection 列投影，为null时映射全部列
+     * @param rowNum     行号，用于记录错误
+     * @param errors     错误存放List，规则同{@link POIExcelUtil#checkRowData}
+     * @return 映射后的对象，校验失败时返回null
+     */
+    public T map(ExcelCellValue[] cells, int cellNum, ExcelProjection projection, int rowNum, List<ExcelImportError> errors) {
+        // 数据列比表头列多
+        if (cellNum > bindings.length) {
+            errors.add(ExcelImportError.rowError(rowNum, ExcelErrorCode.COLUMN_COUNT_MISMATCH));
+            return null;
+        }
+        T target = newInstance();
+        int errorCount = errors.size();
+        for (int i = 0; i < bindings.length; i++) {
+            if (projection != null && !projection.contains(i)) {
+                continue;
+            }
+            ExcelCellValue cell = i < cellNum ? cells[i] : EMPTY_CELL;
+            ExcelErrorCode code = bindings[i].bind(target, cell);
+            if (code != null) {
+                errors.add(new ExcelImportError(rowNum, i, code, bindings[i].cellDef.getName(), cell.getRawValue()));
+            }
+        }
+        return errors.size() == errorCount ? target : null;
+    }
+
+    /**
+     * 获取Excel工作表的全部数据，从{@link ExcelConstants#DEFAUT_DATA_SHOW_LINE}行开始
+     *
+     * @param sheet     Excel工作表
+     * @param errorList 错误记录信息集合，格式同{@link POIExcelUtil#getSheetData}
+     * @return 映射后的对象集合，表头不匹配、无数据等情况返回null
+     */
+    public List<T> getSheetData(Sheet sheet, List<Object> errorList) {
+        return getSheetData(sheet, ExcelConstants.DEFAUT_DATA_SHOW_LINE, errorList);
+    }
+
+    /**
+     * 获取Excel工作表的数据
+     *
+     * @param sheet     Excel工作表
+     * @param startRow  起始行号
+     * @param errorList 错误记录信息集合，格式同{@link POIExcelUtil#getSheetData}
+     * @return 映射后的对象集合，表头不匹配、无数据等情况返回null
+     */
+    public List<T> getSheetData(Sheet sheet, int startRow, List<Object> errorList) {
+        if (!POIExcelUtil.isSheetHeaderMatched(sheet, excelRowDef, startRow, errorList)) {
+            return null;
+        }
+        List<T> list = new ArrayList<T>();
+        StringBuilder errorMsg = new StringBuilder();
+        ExcelRowCursor cursor = new ExcelRowCursor(sheet, startRow);
+        while (cursor.next()) {
+            int cellNum = cursor.getCellNum();
+            errorMsg.setLength(0);
+            T target = map(cursor.getCells(), cellNum, errorMsg);
+            if (target != null) {
+                list.add(target);
+            } else {
+                List<Object> errorValueList = new ArrayList<Object>();
+                for (int j = 0; j < Math.max(cellNum, bindings.length); j++) {
+                    Cell cell = cursor.getCell(j);
+                    errorValueList.add(cell == null || cell.getCellType() == Cell.CELL_TYPE_BLANK ? null : cell);
+                }
+                // 去除最后一个逗号
+                errorValueList.add(errorMsg.deleteCharAt(errorMsg.length() - 1).toString());
+                errorList.add(errorValueList);
+            }
+        }
+        return list;
+    }
+
+    /**
+     * 获取Excel工作表的数据，校验失败的行和工作表错误回调错误处理器，不引用工作簿中的单元格对象
+     *
+     * @param sheet        Excel工作表
+     * @param startRow     起始行号
+     * @param errorHandler 错误处理器
+     * @return 映射后的对象集合，表头不匹配、无数据等情况返回null
+     */
+    public List<T> getSheetData(Sheet sheet, int startRow, ExcelImportErrorHandler errorHandler) {
+        ExcelErrorCode sheetError = POIExcelUtil.checkSheet(sheet, excelRowDef, startRow);
+        if (sheetError != null) {
+            errorHandler.handleSheetError(ExcelImportError.sheetError(sheetError));
+            return null;
+        }
+        List<T> list = new ArrayList<T>();
+        List<ExcelImportError> errors = new ArrayList<ExcelImportError>();
+        ExcelRowCursor cursor = new ExcelRowCursor(sheet, startRow);
+        while (cursor.next()) {
+            errors.clear();
+            T target = map(cursor.getCells(), cursor.getCellNum(), cursor.getRowNum(), errors);
+            if (target != null) {
+                list.add(target);
+            } else {
+                errorHandler.handleRowError(cursor.getRowNum(), cursor.getCells(), cursor.getCellNum(), errors);
+            }
+        }
+        return list;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T newInstance() {
+        try {
+            return (T) constructor.invokeExact();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Can not create instance of " + type.getName(), e);
+        }
+    }
+
+    private static Class<?> wrap(Class<?> fieldType) {
+        if (!fieldType.isPrimitive()) {
+            return fieldType;
+        }
+        if (fieldType == int.class) {
+            return Integer.class;
+        } else if (fieldType == long.class) {
+            return Long.class;
+        } else if (fieldType == short.class) {
+            return Short.class;
+        } else if (fieldType == byte.class) {
+            return Byte.class;
+        } else if (fieldType == double.class) {
+            return Double.class;
+        } else if (fieldType == float.class) {
+            return Float.class;
+        } else if (fieldType == boolean.class) {
+            return Boolean.class;
+        }
+        return fieldType;
+    }
+}
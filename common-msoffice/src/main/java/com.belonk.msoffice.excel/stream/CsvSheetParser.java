@@ -0,0 +1,208 @@
+package com.belonk.msoffice.excel.stream;
+
+import com.belonk.msoffice.excel.ExcelCellConverter;
+import com.belonk.msoffice.excel.ExcelCellDef;
+import com.belonk.msoffice.excel.ExcelCellValue;
+import com.belonk.msoffice.excel.ExcelConstants;
+import com.belonk.msoffice.excel.ExcelRowDef;
+import com.belonk.msoffice.excel.csv.CsvReader;
+import org.apache.poi.ss.usermodel.BuiltinFormats;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.DateUtil;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * CSV解析，将每行字段填充到{@link SheetRowProcessor}，校验规则与Excel完全一致。
+ * <p>
+ * CSV的字段都是文本，按单元格定义推断单元格类型：模板要求数值类型或JAVA类型为数值、日期的列，能解析为数值或日期的字段作为数值单元格；
+ * 模板要求布尔类型的列，TRUE、FALSE作为布尔单元格；其他字段作为字符串单元格，因此“001”这样的编号不会被转换为数值。
+ * 空字段视为空白单元格，行尾的空字段不计入单元格数量。
+ * <p>
+ * JAVA类型为Long、Integer、Short、Byte的列，整数字段按精确的整数解析，超出double精度的Long值不会被舍入，超出JAVA类型范围时为格式错误；
+ * JAVA类型为BigDecimal且不检查类型的列保留原始文本，不经过double转换。
+ * <p>
+ * 与Excel的差异：Excel中的数值单元格导入到字符串列时转换为double的文本，如2导入为“2.0”；CSV中不要求数值类型的字符串列保留原始文本，
+ * 导出的2.0写为“2”，导入时仍为“2”。
+ */
+final class CsvSheetParser {
+    private static final int DATE_FORMAT = BuiltinFormats.getBuiltinFormat("m/d/yy");
+    private static final int DATE_TIME_FORMAT = BuiltinFormats.getBuiltinFormat("m/d/yy h:mm");
+    private static final DateTimeFormatter[] DATE_TIME_FORMATTERS = {
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"),
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"),
+            DateTimeFormatter.ofPattern("yyyy/MM/dd HH:mm:ss"),
+            DateTimeFormatter.ofPattern("yyyy/MM/dd HH:mm")
+    };
+    private static final DateTimeFormatter[] DATE_FORMATTERS = {
+            DateTimeFormatter.ofPattern("yyyy-MM-dd"),
+            DateTimeFormatter.ofPattern("yyyy/MM/dd")
+    };
+
+    private CsvSheetParser() {
+    }
+
+    /**
+     * 解析全部行
+     *
+     * @param reader    CSV读取器
+     * @param processor 行处理
+     * @throws IOException IO异常
+     */
+    static void parse(CsvReader reader, SheetRowProcessor processor) throws IOException {
+        ExcelRowDef excelRowDef = processor.excelRowDef;
+        int cellCount = excelRowDef.getExcelCellDefListSize();
+        List<String> fields = new ArrayList<String>();
+        int rowIndex = 0;
+        try {
+            while (reader.readRow(fields)) {
+                processor.startRow(rowIndex);
+                for (int i = 0; i < fields.size(); i++) {
+                    String text = fields.get(i);
+                    if (text.isEmpty()) {
+                        continue;
+                    }
+                    ExcelCellValue cell = processor.cell(i);
+                    if (!processor.accepts(i)) {
+                        continue;
+                    }
+                    if (rowIndex == ExcelConstants.DEFAUT_HEADER_SHOW_LINE || i >= cellCount) {
+                        cell.setString(text);
+                    } else {
+                        setCellValue(cell, text, excelRowDef.getCell(i));
+                    }
+                }
+                processor.endRow();
+                rowIndex++;
+            }
+        } catch (StopReadingException e) {
+            return;
+        }
+        processor.endSheet();
+    }
+
+    /**
+     * 按单元格定义推断单元格类型并设置值
+     */
+    static void setCellValue(ExcelCellValue cell, String text, ExcelCellDef cellDef) {
+        Class<?> javaType = cellDef.getJavaType();
+        if (cellDef.getType() == Cell.CELL_TYPE_BOOLEAN) {
+            if ("TRUE".equalsIgnoreCase(text)) {
+                cell.setBoolean(true);
+                return;
+            } else if ("FALSE".equalsIgnoreCase(text)) {
+                cell.setBoolean(false);
+                return;
+            }
+        } else if (javaType == Date.class) {
+            if (setDate(cell, text) || setNumber(cell, text)) {
+                return;
+            }
+        } else if (isIntegral(javaType)) {
+            if (setLong(cell, text)) {
+                return;
+            }
+        } else if (javaType == BigDecimal.class && cellDef.getType() == ExcelConstants.UNCHECKED) {
+            cell.setString(text);
+            return;
+        } else if (cellDef.getType() == Cell.CELL_TYPE_NUMERIC || (javaType != null && Number.class.isAssignableFrom(javaType))) {
+            if (setNumber(cell, text)) {
+                return;
+            }
+        }
+        cell.setString(text);
+    }
+
+    private static boolean setNumber(ExcelCellValue cell, String text) {
+        if (!isNumber(text)) {
+            return false;
+        }
+        try {
+            cell.setNumeric(Double.parseDouble(text), 0, null);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 按精确的整数解析，如“2.0”、“1e3”。带小数或超出long范围的数值按double设置，由转换器判断为格式错误；舍入后恰好为整数的，
+     * 保留为文本，避免被当作舍入后的整数导入
+     */
+    private static boolean setLong(ExcelCellValue cell, String text) {
+        if (!isNumber(text)) {
+            return false;
+        }
+        BigDecimal number;
+        try {
+            number = new BigDecimal(text);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        try {
+            cell.setNumeric(number.longValueExact());
+            return true;
+        } catch (ArithmeticException e) {
+            double value = number.doubleValue();
+            if (ExcelCellConverter.isExactLong(value)) {
+                return false;
+            }
+            cell.setNumeric(value, 0, null);
+            return true;
+        }
+    }
+
+    private static boolean isIntegral(Class<?> javaType) {
+        return javaType == Long.class || javaType == Integer.class || javaType == Short.class || javaType == Byte.class;
+    }
+
+    private static boolean setDate(ExcelCellValue cell, String text) {
+        if (text.length() > 10) {
+            for (DateTimeFormatter formatter : DATE_TIME_FORMATTERS) {
+                try {
+                    Date date = Date.from(LocalDateTime.parse(text, formatter).atZone(ZoneId.systemDefault()).toInstant());
+                    cell.setNumeric(DateUtil.getExcelDate(date), DATE_TIME_FORMAT, date);
+                    return true;
+                } catch (DateTimeParseException e) {
+                    // 尝试下一个格式
+                }
+            }
+        } else {
+            for (DateTimeFormatter formatter : DATE_FORMATTERS) {
+                try {
+                    Date date = Date.from(LocalDate.parse(text, formatter).atStartOfDay(ZoneId.systemDefault()).toInstant());
+                    cell.setNumeric(DateUtil.getExcelDate(date), DATE_FORMAT, date);
+                    return true;
+                } catch (DateTimeParseException e) {
+                    // 尝试下一个格式
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 是否为普通的十进制数，不接受NaN、Infinity以及Java的类型后缀
+     */
+    private static boolean isNumber(String text) {
+        boolean digit = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digit = true;
+            } else if (c != '.' && c != '-' && c != '+' && c != 'e' && c != 'E') {
+                return false;
+            }
+        }
+        return digit;
+    }
+}
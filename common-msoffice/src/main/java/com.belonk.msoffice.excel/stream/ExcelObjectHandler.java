@@ -0,0 +1,27 @@
+package com.belonk.msoffice.excel.stream;
+
+import java.util.List;
+
+/**
+ * 流式读取Excel并映射为对象的行处理器。
+ *
+ * @param <T> 对象类型
+ * @see ExcelStreamReader#ExcelStreamReader(com.belonk.msoffice.excel.mapping.ExcelRowMapper, ExcelObjectHandler)
+ */
+public interface ExcelObjectHandler<T> {
+    /**
+     * 处理校验通过的数据行
+     *
+     * @param rowNum 行号，从0开始
+     * @param row    映射后的对象
+     */
+    void handle(int rowNum, T row);
+
+    /**
+     * 处理校验失败的数据行
+     *
+     * @param rowNum    行号，从0开始
+     * @param errorData 当前行所有单元格的原始值，最后一个元素为错误原因
+     */
+    void handleError(int rowNum, List<Object> errorData);
+}
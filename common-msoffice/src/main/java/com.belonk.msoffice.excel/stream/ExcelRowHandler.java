@@ -0,0 +1,28 @@
+package com.belonk.msoffice.excel.stream;
+
+import java.util.List;
+
+/**
+ * 流式读取Excel的行处理器。
+ * <p>
+ * 流式读取时每解析并校验完一行即回调一次，由具体调用者实现，读取过程中不保留已处理的行。
+ *
+ * @see ExcelStreamReader
+ */
+public interface ExcelRowHandler {
+    /**
+     * 处理校验通过的数据行
+     *
+     * @param rowNum  行号，从0开始
+     * @param rowData 按{@link com.belonk.msoffice.excel.ExcelRowDef}转换后的单元格数据
+     */
+    void handle(int rowNum, List<Object> rowData);
+
+    /**
+     * 处理校验失败的数据行
+     *
+     * @param rowNum    行号，从0开始
+     * @param errorData 当前行所有单元格的原始值，最后一个元素为错误原因
+     */
+    void handleError(int rowNum, List<Object> errorData);
+}
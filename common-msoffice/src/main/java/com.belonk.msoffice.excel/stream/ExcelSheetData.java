@@ -0,0 +1,73 @@
+package com.belonk.msoffice.excel.stream;
+
+import com.belonk.msoffice.excel.ExcelProjection;
+import com.belonk.msoffice.excel.ExcelRowDef;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 工作表导入结果。
+ * <p>
+ * 数据和错误信息的格式与{@link com.belonk.msoffice.excel.util.POIExcelUtil#getSheetData}一致，错误行中记录单元格原始值。
+ *
+ * @see ExcelSheetImporter
+ */
+public class ExcelSheetData {
+    /**
+     * 工作表下标，从0开始
+     */
+    private final int sheetIndex;
+    /**
+     * 工作表名称
+     */
+    private final String sheetName;
+    /**
+     * 校验通过的数据行
+     */
+    private final List<List<Object>> dataList = new ArrayList<List<Object>>();
+    /**
+     * 错误信息，包括错误行和表头不匹配、无数据等工作表错误
+     */
+    private final List<Object> errorList = new ArrayList<Object>();
+
+    ExcelSheetData(int sheetIndex, String sheetName) {
+        this.sheetIndex = sheetIndex;
+        this.sheetName = sheetName;
+    }
+
+    public int getSheetIndex() {
+        return sheetIndex;
+    }
+
+    public String getSheetName() {
+        return sheetName;
+    }
+
+    public List<List<Object>> getDataList() {
+        return dataList;
+    }
+
+    public List<Object> getErrorList() {
+        return errorList;
+    }
+
+    /**
+     * 创建收集数据行和错误行的行处理，projection为null时读取全部列
+     */
+    SheetRowProcessor newProcessor(ExcelRowDef excelRowDef, int startRow, ExcelProjection projection) {
+        SheetRowProcessor processor = new SheetRowProcessor(excelRowDef, startRow, new ExcelRowHandler() {
+            @Override
+            public void handle(int rowNum, List<Object> rowData) {
+                dataList.add(rowData);
+            }
+
+            @Override
+            public void handleError(int rowNum, List<Object> errorData) {
+                errorList.add(errorData);
+            }
+        }, errorList);
+        processor.projection = projection;
+        return processor;
+    }
+}
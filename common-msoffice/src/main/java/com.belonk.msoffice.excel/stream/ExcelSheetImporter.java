@@ -0,0 +1,240 @@
+package com.belonk.msoffice.excel.stream;
+
+import com.belonk.msoffice.excel.ExcelConstants;
+import com.belonk.msoffice.excel.ExcelProjection;
+import com.belonk.msoffice.excel.ExcelRowDef;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.poifs.filesystem.NPOIFSFileSystem;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * 多工作表并行导入。
+ * <p>
+ * 所有工作表使用同一个{@link ExcelRowDef}校验，每个工作表的数据和错误信息分别收集到各自的{@link ExcelSheetData}中。
+ * xlsx的每个工作表是独立的XML部件，在线程池中并行解析，共享字符串和样式只读取一次；xls的所有工作表位于同一个记录流中，
+ * 无法并行解析，一次顺序解析即可读取全部工作表。
+ */
+public class ExcelSheetImporter {
+    private final ExcelRowDef excelRowDef;
+    private int startRow = ExcelConstants.DEFAUT_DATA_SHOW_LINE;
+    private ExcelProjection projection;
+    private int sharedStringsCacheSize;
+
+    public ExcelSheetImporter(ExcelRowDef excelRowDef) {
+        this.excelRowDef = excelRowDef;
+    }
+
+    /**
+     * 设置起始行号，默认为{@link ExcelConstants#DEFAUT_DATA_SHOW_LINE}
+     *
+     * @param startRow 起始行号
+     * @return 导入器
+     */
+    public ExcelSheetImporter startRow(int startRow) {
+        this.startRow = startRow;
+        return this;
+    }
+
+    /**
+     * 设置列投影，数据行中未投影的列在解析时直接跳过
+     *
+     * @param projection 列投影，为null时读取全部列
+     * @return 导入器
+     * @see ExcelProjection
+     */
+    public ExcelSheetImporter projection(ExcelProjection projection) {
+        this.projection = projection;
+        return this;
+    }
+
+    /**
+     * 设置共享字符串缓存大小，仅对xlsx有效。
+     * <p>
+     * 默认共享字符串表全部读入内存，包含大量不重复字符串的文件会占用很多堆内存。设置缓存大小后共享字符串表写入内存映射的临时文件，
+     * 内存中只缓存最近使用的指定数量的字符串，读取完毕后删除临时文件。
+     *
+     * @param cacheSize 内存中最多缓存的字符串数量，小于等于0时全部读入内存
+     * @return 导入器
+     */
+    public ExcelSheetImporter sharedStringsCache(int cacheSize) {
+        this.sharedStringsCacheSize = cacheSize;
+        return this;
+    }
+
+    /**
+     * 使用指定数量的线程导入所有工作表，导入完毕后关闭线程池
+     *
+     * @param file    Excel文件
+     * @param threads 线程数量
+     * @return 各工作表的导入结果，按工作表顺序排列
+     * @throws IOException IO异常或文件格式错误
+     */
+    public List<ExcelSheetData> importSheets(File file, int threads) throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads));
+        try {
+            return importSheets(file, executor);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 使用指定的线程池导入所有工作表
+     *
+     * @param file     Excel文件
+     * @param executor 线程池，仅xlsx使用，不会被关闭
+     * @return 各工作表的导入结果，按工作表顺序排列
+     * @throws IOException IO异常或文件格式错误
+     */
+    public List<ExcelSheetData> importSheets(File file, ExecutorService executor) throws IOException {
+        boolean xls;
+        try (InputStream inputStream = new BufferedInputStream(new FileInputStream(file))) {
+            xls = ExcelStreamReader.isXls(inputStream);
+        }
+        if (xls) {
+            return importXls(file);
+        }
+        OPCPackage pkg;
+        try {
+            pkg = OPCPackage.open(file, PackageAccess.READ);
+        } catch (OpenXML4JException e) {
+            throw new IOException("Unsupported excel file : " + file, e);
+        }
+        try (XSSFWorkbookParser parser = new XSSFWorkbookParser(pkg, sharedStringsCacheSize)) {
+            return importXlsx(parser, executor);
+        } finally {
+            pkg.revert();
+        }
+    }
+
+    private List<ExcelSheetData> importXls(File file) throws IOException {
+        final List<ExcelSheetData> sheets = new ArrayList<ExcelSheetData>();
+        NPOIFSFileSystem fileSystem = new NPOIFSFileSystem(file, true);
+        try {
+            final HSSFSheetListener[] listener = new HSSFSheetListener[1];
+            listener[0] = new HSSFSheetListener(i -> {
+                List<String> sheetNames = listener[0].getSheetNames();
+                ExcelSheetData sheetData = new ExcelSheetData(i, i < sheetNames.size() ? sheetNames.get(i) : null);
+                sheets.add(sheetData);
+                return sheetData.newProcessor(excelRowDef, startRow, projection);
+            }, Integer.MAX_VALUE);
+            ExcelStreamReader.processWorkbookEvents(fileSystem.getRoot(), listener[0]);
+        } finally {
+            fileSystem.close();
+        }
+        return sheets;
+    }
+
+    private List<ExcelSheetData> importXlsx(XSSFWorkbookParser parser, ExecutorService executor) throws IOException {
+        List<ExcelSheetData> sheets = new ArrayList<ExcelSheetData>(parser.getSheetCount());
+        List<Future<?>> futures = new ArrayList<Future<?>>(parser.getSheetCount());
+        SheetTasks tasks = new SheetTasks();
+        try {
+            for (int i = 0; i < parser.getSheetCount(); i++) {
+                final int sheetIndex = i;
+                final ExcelSheetData sheetData = new ExcelSheetData(i, parser.getSheetName(i));
+                sheets.add(sheetData);
+                futures.add(executor.submit(() -> {
+                    if (!tasks.start()) {
+                        return null;
+                    }
+                    try {
+                        parser.parseSheet(sheetIndex, sheetData.newProcessor(excelRowDef, startRow, projection));
+                    } finally {
+                        tasks.finish();
+                    }
+                    return null;
+                }));
+            }
+        } catch (RuntimeException | Error e) {
+            // 提交失败，如线程池拒绝任务时，已提交但未开始的任务不再解析，等待已开始的任务结束后才能关闭解析器
+            tasks.abortAndAwait();
+            throw e;
+        }
+
+        // 等待所有任务结束后再返回，避免关闭文件时仍有任务在读取
+        Throwable error = null;
+        boolean interrupted = false;
+        for (Future<?> future : futures) {
+            while (true) {
+                try {
+                    future.get();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    if (error == null) {
+                        error = e.getCause();
+                    }
+                    break;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (error instanceof IOException) {
+            throw (IOException) error;
+        } else if (error instanceof RuntimeException) {
+            throw (RuntimeException) error;
+        } else if (error instanceof Error) {
+            throw (Error) error;
+        } else if (error != null) {
+            throw new IOException(error);
+        }
+        return sheets;
+    }
+
+    /**
+     * 记录正在解析的工作表任务，放弃导入时阻止未开始的任务并等待已开始的任务结束。
+     * <p>
+     * 被取消的{@link Future}在任务仍在运行时就会返回，不能用于判断任务是否已结束，因此由任务自己登记
+     */
+    private static final class SheetTasks {
+        private int running;
+        private boolean aborted;
+
+        /**
+         * 任务开始前调用
+         *
+         * @return 已放弃导入时返回false，任务不能再访问解析器
+         */
+        synchronized boolean start() {
+            if (aborted) {
+                return false;
+            }
+            running++;
+            return true;
+        }
+
+        synchronized void finish() {
+            if (--running == 0) {
+                notifyAll();
+            }
+        }
+
+        /**
+         * 放弃导入并等待已开始的任务结束，等待期间不响应中断，结束后恢复中断状态
+         */
+        synchronized void abortAndAwait() {
+            aborted = true;
+            boolean interrupted = false;
+            while (running > 0) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,314 @@
+package com.belonk.msoffice.excel.stream;
+
+import com.belonk.msoffice.excel.ExcelConstants;
+import com.belonk.msoffice.excel.ExcelFormat;
+import com.belonk.msoffice.excel.ExcelImportErrorHandler;
+import com.belonk.msoffice.excel.ExcelProjection;
+import com.belonk.msoffice.excel.ExcelRowDef;
+import com.belonk.msoffice.excel.ExcelTemplate;
+import com.belonk.msoffice.excel.csv.CsvReader;
+import com.belonk.msoffice.excel.mapping.ExcelRowMapper;
+import org.apache.poi.POIXMLDocument;
+import org.apache.poi.hssf.eventusermodel.FormatTrackingHSSFListener;
+import org.apache.poi.hssf.eventusermodel.HSSFEventFactory;
+import org.apache.poi.hssf.eventusermodel.HSSFRequest;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.poifs.filesystem.DirectoryNode;
+import org.apache.poi.poifs.filesystem.NPOIFSFileSystem;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Excel流式读取器。
+ * <p>
+ * 基于POI的事件模型逐行解析工作表：xlsx使用{@link XSSFReader}加SAX解析，xls使用{@link HSSFEventFactory}。每行按{@link ExcelRowDef}
+ * 校验后回调{@link ExcelRowHandler}，或经{@link ExcelRowMapper}映射为对象后回调{@link ExcelObjectHandler}，不构建工作簿对象模型，
+ * 读取大文件时内存占用基本恒定。
+ * <p>
+ * 校验规则与{@link com.belonk.msoffice.excel.util.POIExcelUtil#getSheetData}一致，区别在于：
+ * <ul>
+ * <li>错误行通过{@link ExcelRowHandler#handleError}回调，错误行中记录单元格原始值而不是单元格对象；</li>
+ * <li>公式单元格取其缓存的计算结果，而不是公式本身。</li>
+ * </ul>
+ * 从文件读取时按需随机访问文件内容；从输入流读取时POI需要先将整个文件缓存到内存中，建议优先使用文件。
+ * CSV文件通过{@link #readCsv}逐行解析，使用相同的行定义、校验规则和回调。
+ */
+public class ExcelStreamReader {
+    private static Logger log = LoggerFactory.getLogger(ExcelStreamReader.class);
+
+    private ProcessorFactory processorFactory;
+    private int startRow = ExcelConstants.DEFAUT_DATA_SHOW_LINE;
+    private ExcelImportErrorHandler errorHandler;
+    private ExcelProjection projection;
+    private int sharedStringsCacheSize;
+
+    public ExcelStreamReader(ExcelRowDef excelRowDef, ExcelRowHandler handler) {
+        this.processorFactory = (startRow, errorList) -> new SheetRowProcessor(excelRowDef, startRow, handler, errorList);
+    }
+
+    /**
+     * 按模板读取，表头通过模板预先计算的哈希值校验
+     *
+     * @param template 模板
+     * @param handler  行处理器
+     */
+    public ExcelStreamReader(ExcelTemplate template, ExcelRowHandler handler) {
+        this.processorFactory = (startRow, errorList) -> {
+            SheetRowProcessor processor = new SheetRowProcessor(template.getExcelRowDef(), startRow, handler, errorList);
+            processor.template = template;
+            return processor;
+        };
+    }
+
+    /**
+     * 创建将数据行映射为对象的读取器
+     *
+     * @param mapper  行映射器
+     * @param handler 对象处理器
+     * @param <T>     对象类型
+     */
+    public <T> ExcelStreamReader(ExcelRowMapper<T> mapper, ExcelObjectHandler<T> handler) {
+        this.processorFactory = (startRow, errorList) -> new MappingRowProcessor<T>(mapper, startRow, handler, errorList);
+    }
+
+    /**
+     * 设置起始行号，默认为{@link ExcelConstants#DEFAUT_DATA_SHOW_LINE}
+     *
+     * @param startRow 起始行号
+     * @return 读取器
+     */
+    public ExcelStreamReader startRow(int startRow) {
+        this.startRow = startRow;
+        return this;
+    }
+
+    /**
+     * 设置错误处理器，设置后错误行和工作表错误都以{@link com.belonk.msoffice.excel.ExcelImportError}回调该处理器，
+     * 不再回调{@link ExcelRowHandler#handleError}或添加到errorList
+     *
+     * @param errorHandler 错误处理器，如{@link com.belonk.msoffice.excel.util.ErrorWorkbookSink}
+     * @return 读取器
+     */
+    public ExcelStreamReader errorHandler(ExcelImportErrorHandler errorHandler) {
+        this.errorHandler = errorHandler;
+        return this;
+    }
+
+    /**
+     * 设置列投影，数据行中未投影的列在解析时直接跳过，不读取也不转换
+     *
+     * @param projection 列投影，为null时读取全部列
+     * @return 读取器
+     * @see ExcelProjection
+     */
+    public ExcelStreamReader projection(ExcelProjection projection) {
+        this.projection = projection;
+        return this;
+    }
+
+    /**
+     * 设置共享字符串缓存大小，仅对xlsx有效。
+     * <p>
+     * 默认共享字符串表全部读入内存，包含大量不重复字符串的文件会占用很多堆内存。设置缓存大小后共享字符串表写入内存映射的临时文件，
+     * 内存中只缓存最近使用的指定数量的字符串，读取完毕后删除临时文件。
+     *
+     * @param cacheSize 内存中最多缓存的字符串数量，小于等于0时全部读入内存
+     * @return 读取器
+     */
+    public ExcelStreamReader sharedStringsCache(int cacheSize) {
+        this.sharedStringsCacheSize = cacheSize;
+        return this;
+    }
+
+    /**
+     * 读取第一个工作表
+     *
+     * @param file      Excel文件
+     * @param errorList 工作表错误信息，如表头不匹配、无数据等，数据行的错误通过{@link ExcelRowHandler#handleError}回调
+     * @return 校验通过的数据行数
+     * @throws IOException IO异常或文件格式错误
+     */
+    public int read(File file, List<Object> errorList) throws IOException {
+        return read(file, 0, errorList);
+    }
+
+    /**
+     * 读取指定工作表
+     *
+     * @param file       Excel文件
+     * @param sheetIndex 工作表下标，从0开始
+     * @param errorList  工作表错误信息，如表头不匹配、无数据等，数据行的错误通过{@link ExcelRowHandler#handleError}回调
+     * @return 校验通过的数据行数
+     * @throws IOException IO异常或文件格式错误
+     */
+    public int read(File file, int sheetIndex, List<Object> errorList) throws IOException {
+        boolean xls;
+        try (InputStream inputStream = new BufferedInputStream(new FileInputStream(file))) {
+            xls = isXls(inputStream);
+        }
+        if (xls) {
+            NPOIFSFileSystem fileSystem = new NPOIFSFileSystem(file, true);
+            try {
+                return readXls(fileSystem.getRoot(), sheetIndex, errorList);
+            } finally {
+                fileSystem.close();
+            }
+        }
+        OPCPackage pkg;
+        try {
+            pkg = OPCPackage.open(file, PackageAccess.READ);
+        } catch (OpenXML4JException e) {
+            throw new IOException("Unsupported excel file : " + file, e);
+        }
+        try {
+            return readXlsx(pkg, sheetIndex, errorList);
+        } finally {
+            // 只读打开的包不需要保存
+            pkg.revert();
+        }
+    }
+
+    /**
+     * 读取指定工作表
+     *
+     * @param inputStream Excel文件流，读取完毕后不会关闭
+     * @param sheetIndex  工作表下标，从0开始
+     * @param errorList   工作表错误信息，如表头不匹配、无数据等，数据行的错误通过{@link ExcelRowHandler#handleError}回调
+     * @return 校验通过的数据行数
+     * @throws IOException IO异常或文件格式错误
+     */
+    public int read(InputStream inputStream, int sheetIndex, List<Object> errorList) throws IOException {
+        if (!inputStream.markSupported()) {
+            inputStream = new PushbackInputStream(inputStream, 8);
+        }
+        if (isXls(inputStream)) {
+            NPOIFSFileSystem fileSystem = new NPOIFSFileSystem(inputStream);
+            try {
+                return readXls(fileSystem.getRoot(), sheetIndex, errorList);
+            } finally {
+                fileSystem.close();
+            }
+        }
+        if (!POIXMLDocument.hasOOXMLHeader(inputStream)) {
+            throw new IOException("Unsupported excel file.");
+        }
+        OPCPackage pkg;
+        try {
+            pkg = OPCPackage.open(inputStream);
+        } catch (OpenXML4JException e) {
+            throw new IOException("Unsupported excel file.", e);
+        }
+        try {
+            return readXlsx(pkg, sheetIndex, errorList);
+        } finally {
+            pkg.revert();
+        }
+    }
+
+    /**
+     * 按指定格式读取
+     *
+     * @param inputStream 文件流，读取完毕后不会关闭
+     * @param format      文件格式，xls和xlsx按文件头自动识别，CSV使用UTF-8编码
+     * @param sheetIndex  工作表下标，从0开始，CSV只有一个工作表
+     * @param errorList   工作表错误信息，如表头不匹配、无数据等，数据行的错误通过{@link ExcelRowHandler#handleError}回调
+     * @return 校验通过的数据行数
+     * @throws IOException IO异常或文件格式错误
+     */
+    public int read(InputStream inputStream, ExcelFormat format, int sheetIndex, List<Object> errorList) throws IOException {
+        if (format != ExcelFormat.CSV) {
+            return read(inputStream, sheetIndex, errorList);
+        }
+        if (sheetIndex != 0) {
+            throw new IllegalArgumentException("Sheet index (" + sheetIndex + ") is out of range");
+        }
+        return readCsv(inputStream, StandardCharsets.UTF_8, errorList);
+    }
+
+    /**
+     * 读取CSV文件，校验规则和回调与读取Excel相同。字段都是文本，只有模板要求数值、日期或布尔值的列才按类型解析
+     *
+     * @param file      CSV文件
+     * @param charset   字符集
+     * @param errorList 工作表错误信息，如表头不匹配、无数据等，数据行的错误通过{@link ExcelRowHandler#handleError}回调
+     * @return 校验通过的数据行数
+     * @throws IOException IO异常
+     */
+    public int readCsv(File file, Charset charset, List<Object> errorList) throws IOException {
+        try (InputStream inputStream = new FileInputStream(file)) {
+            return readCsv(inputStream, charset, errorList);
+        }
+    }
+
+    /**
+     * 读取CSV文件流，校验规则和回调与读取Excel相同。字段都是文本，只有模板要求数值、日期或布尔值的列才按类型解析
+     *
+     * @param inputStream CSV文件流，读取完毕后不会关闭
+     * @param charset     字符集
+     * @param errorList   工作表错误信息，如表头不匹配、无数据等，数据行的错误通过{@link ExcelRowHandler#handleError}回调
+     * @return 校验通过的数据行数
+     * @throws IOException IO异常
+     */
+    public int readCsv(InputStream inputStream, Charset charset, List<Object> errorList) throws IOException {
+        SheetRowProcessor processor = newProcessor(errorList);
+        CsvSheetParser.parse(CsvReader.create(inputStream, charset), processor);
+        return processor.getDataRows();
+    }
+
+    static boolean isXls(InputStream inputStream) throws IOException {
+        return POIFSFileSystem.hasPOIFSHeader(inputStream);
+    }
+
+    private int readXls(DirectoryNode root, int sheetIndex, List<Object> errorList) throws IOException {
+        SheetRowProcessor processor = newProcessor(errorList);
+        HSSFSheetListener sheetListener = new HSSFSheetListener(i -> i == sheetIndex ? processor : null, sheetIndex);
+        processWorkbookEvents(root, sheetListener);
+        if (sheetListener.getSheetCount() <= sheetIndex) {
+            throw new IllegalArgumentException("Sheet index (" + sheetIndex + ") is out of range");
+        }
+        return processor.getDataRows();
+    }
+
+    private int readXlsx(OPCPackage pkg, int sheetIndex, List<Object> errorList) throws IOException {
+        try (XSSFWorkbookParser parser = new XSSFWorkbookParser(pkg, sharedStringsCacheSize)) {
+            SheetRowProcessor processor = newProcessor(errorList);
+            parser.parseSheet(sheetIndex, processor);
+            return processor.getDataRows();
+        }
+    }
+
+    private SheetRowProcessor newProcessor(List<Object> errorList) {
+        SheetRowProcessor processor = processorFactory.create(startRow, errorList);
+        processor.errorHandler = errorHandler;
+        processor.projection = projection;
+        return processor;
+    }
+
+    /**
+     * 解析xls记录流，直到监听器处理完需要的工作表
+     */
+    static void processWorkbookEvents(DirectoryNode root, HSSFSheetListener sheetListener) throws IOException {
+        FormatTrackingHSSFListener formatListener = new FormatTrackingHSSFListener(sheetListener);
+        sheetListener.setFormatListener(formatListener);
+        HSSFRequest request = new HSSFRequest();
+        request.addListenerForAllRecords(formatListener);
+        try {
+            new HSSFEventFactory().processWorkbookEvents(request, root);
+        } catch (StopReadingException e) {
+            log.debug("读取工作表结束");
+        }
+    }
+
+    private interface ProcessorFactory {
+        SheetRowProcessor create(int startRow, List<Object> errorList);
+    }
+}
@@ -0,0 +1,197 @@
+package com.belonk.msoffice.excel.stream;
+
+import com.belonk.io.BufferCleaner;
+import org.xml.sax.SAXException;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 写入临时文件的共享字符串表。
+ * <p>
+ * 解析sharedStrings.xml时将每个字符串按UTF-8编码顺序写入数据文件，同时将其偏移量写入索引文件，解析完毕后两个文件都以只读方式
+ * 内存映射，字符串内容不占用堆内存。读取时按索引定位并解码，最近使用的字符串保存在容量固定的LRU缓存中，因此无论共享字符串有多少，
+ * 堆内存占用都是有限的。
+ * <p>
+ * 数据文件和索引文件都不能超过2GB。使用完毕后必须关闭以释放映射并删除临时文件。关闭会等待正在进行的读取完成，关闭后读取抛出
+ * {@link IllegalStateException}。
+ */
+final class FileSharedStrings implements SharedStrings, Closeable {
+    private final File dataFile;
+    private final File indexFile;
+    private final MappedByteBuffer data;
+    private final MappedByteBuffer index;
+    private final int count;
+    private final Map<Integer, String> cache;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private boolean closed;
+
+    private FileSharedStrings(File dataFile, File indexFile, int count, int cacheSize) throws IOException {
+        this.dataFile = dataFile;
+        this.indexFile = indexFile;
+        this.count = count;
+        this.data = map(dataFile);
+        this.index = map(indexFile);
+        this.cache = new LinkedHashMap<Integer, String>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, String> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * 解析共享字符串表并写入临时文件
+     *
+     * @param sharedStringsData sharedStrings.xml的输入流，解析完毕后不会关闭
+     * @param cacheSize         内存中最多缓存的字符串数量
+     * @return 共享字符串表
+     * @throws IOException IO异常或文件格式错误
+     */
+    static FileSharedStrings create(InputStream sharedStringsData, int cacheSize) throws IOException {
+        File dataFile = File.createTempFile("poi-sst", ".dat");
+        File indexFile = null;
+        try {
+            indexFile = File.createTempFile("poi-sst", ".idx");
+            SharedStringsWriter writer = new SharedStringsWriter(dataFile, indexFile);
+            try {
+                XSSFWorkbookParser.parse(sharedStringsData, writer);
+            } catch (SAXException e) {
+                throw new IOException("Parse shared strings failed.", e);
+            } finally {
+                writer.close();
+            }
+            return new FileSharedStrings(dataFile, indexFile, writer.count, cacheSize);
+        } catch (IOException | RuntimeException e) {
+            delete(dataFile);
+            delete(indexFile);
+            throw e;
+        }
+    }
+
+    @Override
+    public String getEntryAt(int i) {
+        if (i < 0 || i >= count) {
+            throw new IndexOutOfBoundsException("Shared string index (" + i + ") is out of range");
+        }
+        synchronized (cache) {
+            String value = cache.get(i);
+            if (value != null) {
+                return value;
+            }
+        }
+        byte[] bytes;
+        // 持有读锁期间映射不会被释放，关闭后读取抛出异常，不会访问已释放的内存
+        lock.readLock().lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Shared strings have been closed");
+            }
+            // 每次读取使用独立的视图定位，不修改共享缓冲区的位置，可以在多个线程中同时解码
+            int start = index.getInt(i * 4);
+            int end = index.getInt(i * 4 + 4);
+            bytes = new byte[end - start];
+            ByteBuffer view = data.duplicate();
+            view.position(start);
+            view.get(bytes);
+        } finally {
+            lock.readLock().unlock();
+        }
+        String value = new String(bytes, StandardCharsets.UTF_8);
+        synchronized (cache) {
+            cache.put(i, value);
+        }
+        return value;
+    }
+
+    /**
+     * 获取共享字符串数量
+     *
+     * @return 数量
+     */
+    int getCount() {
+        return count;
+    }
+
+    @Override
+    public void close() {
+        // 等待正在进行的读取完成后再释放映射
+        lock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            // 先释放映射，否则Windows等系统上要等到GC后才能删除文件
+            BufferCleaner.clean(data);
+            BufferCleaner.clean(index);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        synchronized (cache) {
+            cache.clear();
+        }
+        delete(dataFile);
+        delete(indexFile);
+    }
+
+    private static MappedByteBuffer map(File file) throws IOException {
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r")) {
+            FileChannel channel = randomAccessFile.getChannel();
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Shared strings file is larger than 2GB : " + file);
+            }
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    private static void delete(File file) {
+        // 不支持主动释放映射时，缓冲区被回收前部分系统上无法删除文件，退出时再次尝试
+        if (file != null && !file.delete() && file.exists()) {
+            file.deleteOnExit();
+        }
+    }
+
+    /**
+     * 将共享字符串按顺序写入数据文件，偏移量写入索引文件
+     */
+    private static class SharedStringsWriter extends SharedStringsHandler {
+        private final OutputStream data;
+        private final DataOutputStream index;
+        private int offset;
+        private int count;
+
+        SharedStringsWriter(File dataFile, File indexFile) throws IOException {
+            this.data = new BufferedOutputStream(new FileOutputStream(dataFile), 64 * 1024);
+            this.index = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(indexFile), 64 * 1024));
+            this.index.writeInt(0);
+        }
+
+        @Override
+        void add(String value) throws IOException {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length > Integer.MAX_VALUE - offset) {
+                throw new IOException("Shared strings are larger than 2GB");
+            }
+            data.write(bytes);
+            offset += bytes.length;
+            index.writeInt(offset);
+            count++;
+        }
+
+        void close() throws IOException {
+            try {
+                data.close();
+            } finally {
+                index.close();
+            }
+        }
+    }
+}
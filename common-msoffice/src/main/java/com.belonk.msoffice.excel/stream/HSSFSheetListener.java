@@ -0,0 +1,200 @@
+package com.belonk.msoffice.excel.stream;
+
+import com.belonk.msoffice.excel.ExcelCellValue;
+import com.belonk.msoffice.excel.ExcelDateFormatCache;
+import org.apache.poi.hssf.eventusermodel.FormatTrackingHSSFListener;
+import org.apache.poi.hssf.eventusermodel.HSSFListener;
+import org.apache.poi.hssf.record.*;
+import org.apache.poi.hssf.record.Record;
+import org.apache.poi.ss.formula.eval.ErrorEval;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.DateUtil;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * xls工作表事件解析监听器。
+ * <p>
+ * 按记录流处理选中工作表的单元格记录，单元格记录按行有序，行号变化或工作表结束时处理上一行。公式单元格取其缓存的计算结果。
+ * xls的所有工作表位于同一个记录流中，一次解析即可处理多个工作表，最后一个选中的工作表结束后停止解析。
+ */
+class HSSFSheetListener implements HSSFListener {
+    private final IntFunction<SheetRowProcessor> processors;
+    private final int lastSheetIndex;
+    private final List<String> sheetNames = new ArrayList<String>();
+    private FormatTrackingHSSFListener formatListener;
+    private ExcelDateFormatCache dateFormatCache;
+
+    private SSTRecord sstRecord;
+    private boolean date1904;
+    private int currentSheet = -1;
+    private SheetRowProcessor processor;
+    private int currentRow = -1;
+    /**
+     * 等待后续StringRecord的字符串公式单元格列号
+     */
+    private int pendingStringColumn = -1;
+
+    /**
+     * @param processors     按工作表下标获取行处理，返回null表示跳过该工作表
+     * @param lastSheetIndex 最后一个需要处理的工作表下标，处理完毕后停止解析
+     */
+    HSSFSheetListener(IntFunction<SheetRowProcessor> processors, int lastSheetIndex) {
+        this.processors = processors;
+        this.lastSheetIndex = lastSheetIndex;
+    }
+
+    void setFormatListener(FormatTrackingHSSFListener formatListener) {
+        this.formatListener = formatListener;
+        // 格式记录位于工作簿全局记录中，解析单元格时已全部读取，可以按数据格式索引缓存
+        this.dateFormatCache = new ExcelDateFormatCache(formatListener::getFormatString);
+    }
+
+    /**
+     * 获取已解析的工作表数量
+     *
+     * @return 工作表数量
+     */
+    int getSheetCount() {
+        return currentSheet + 1;
+    }
+
+    /**
+     * 获取工作簿中所有工作表的名称
+     *
+     * @return 工作表名称
+     */
+    List<String> getSheetNames() {
+        return sheetNames;
+    }
+
+    @Override
+    public void processRecord(Record record) {
+        switch (record.getSid()) {
+            case BOFRecord.sid:
+                if (((BOFRecord) record).getType() == BOFRecord.TYPE_WORKSHEET) {
+                    currentSheet++;
+                    currentRow = -1;
+                    pendingStringColumn = -1;
+                    processor = processors.apply(currentSheet);
+                }
+                return;
+            case EOFRecord.sid:
+                if (processor != null) {
+                    endRow();
+                    if (processor != null) {
+                        processor.endSheet();
+                    }
+                    processor = null;
+                }
+                if (currentSheet >= lastSheetIndex) {
+                    // 需要的工作表已读取完毕
+                    throw new StopReadingException();
+                }
+                return;
+            case BoundSheetRecord.sid:
+                sheetNames.add(((BoundSheetRecord) record).getSheetname());
+                return;
+            case SSTRecord.sid:
+                sstRecord = (SSTRecord) record;
+                return;
+            case DateWindow1904Record.sid:
+                date1904 = ((DateWindow1904Record) record).getWindowing() == 1;
+                return;
+            default:
+                break;
+        }
+        if (processor == null) {
+            return;
+        }
+        if (record.getSid() == StringRecord.sid) {
+            if (pendingStringColumn >= 0) {
+                processor.cell(pendingStringColumn).setString(((StringRecord) record).getString());
+                pendingStringColumn = -1;
+            }
+            return;
+        }
+        if (!(record instanceof CellValueRecordInterface)) {
+            return;
+        }
+        CellValueRecordInterface cellRecord = (CellValueRecordInterface) record;
+        if (cellRecord.getRow() != currentRow) {
+            endRow();
+            if (processor == null) {
+                return;
+            }
+            currentRow = cellRecord.getRow();
+            processor.startRow(currentRow);
+        }
+        ExcelCellValue cell = processor.cell(cellRecord.getColumn());
+        if (!processor.accepts(cellRecord.getColumn())) {
+            // 不需要的列只占位，不读取值
+            return;
+        }
+        switch (record.getSid()) {
+            case NumberRecord.sid:
+                setNumeric(cell, cellRecord, ((NumberRecord) record).getValue());
+                break;
+            case LabelSSTRecord.sid:
+                cell.setString(sstRecord.getString(((LabelSSTRecord) record).getSSTIndex()).getString());
+                break;
+            case LabelRecord.sid:
+                cell.setString(((LabelRecord) record).getValue());
+                break;
+            case BoolErrRecord.sid:
+                BoolErrRecord boolErrRecord = (BoolErrRecord) record;
+                if (boolErrRecord.isBoolean()) {
+                    cell.setBoolean(boolErrRecord.getBooleanValue());
+                } else {
+                    cell.setError(ErrorEval.getText(boolErrRecord.getErrorValue()));
+                }
+                break;
+            case FormulaRecord.sid:
+                FormulaRecord formulaRecord = (FormulaRecord) record;
+                switch (formulaRecord.getCachedResultType()) {
+                    case Cell.CELL_TYPE_NUMERIC:
+                        setNumeric(cell, cellRecord, formulaRecord.getValue());
+                        break;
+                    case Cell.CELL_TYPE_STRING:
+                        pendingStringColumn = cellRecord.getColumn();
+                        break;
+                    case Cell.CELL_TYPE_BOOLEAN:
+                        cell.setBoolean(formulaRecord.getCachedBooleanValue());
+                        break;
+                    case Cell.CELL_TYPE_ERROR:
+                        cell.setError(ErrorEval.getText(formulaRecord.getCachedErrorValue()));
+                        break;
+                    default:
+                        break;
+                }
+                break;
+            default:
+                // BlankRecord等，保持空白单元格
+                break;
+        }
+    }
+
+    private void setNumeric(ExcelCellValue cell, CellValueRecordInterface cellRecord, double value) {
+        int formatIndex = formatListener.getFormatIndex(cellRecord);
+        Date date = null;
+        if (dateFormatCache.isDateFormatted(value, formatIndex)) {
+            date = DateUtil.getJavaDate(value, date1904);
+        }
+        cell.setNumeric(value, formatIndex, date);
+    }
+
+    private void endRow() {
+        if (currentRow >= 0) {
+            currentRow = -1;
+            try {
+                processor.endRow();
+            } catch (StopReadingException e) {
+                // 表头与模板不匹配，已记录错误信息，跳过该工作表其余的行
+                processor = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.belonk.msoffice.excel.stream;
+
+import com.belonk.msoffice.excel.mapping.ExcelRowMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 映射为对象的行处理，数据行经{@link ExcelRowMapper}校验并映射后回调{@link ExcelObjectHandler}。
+ *
+ * @param <T> 对象类型
+ */
+class MappingRowProcessor<T> extends SheetRowProcessor {
+    private final ExcelRowMapper<T> mapper;
+    private final ExcelObjectHandler<T> handler;
+    private final StringBuilder errorMsg = new StringBuilder();
+
+    MappingRowProcessor(ExcelRowMapper<T> mapper, int startRow, ExcelObjectHandler<T> handler, List<Object> errorList) {
+        super(mapper.getExcelRowDef(), startRow, null, errorList);
+        this.mapper = mapper;
+        this.handler = handler;
+    }
+
+    @Override
+    void handleDataRow() {
+        if (errorHandler != null) {
+            errors.clear();
+            T target = mapper.map(cells, lastCellNum, projection, rowIndex, errors);
+            if (target != null) {
+                dataRows++;
+                handler.handle(rowIndex, target);
+            } else {
+                errorHandler.handleRowError(rowIndex, cells, lastCellNum, errors);
+            }
+            return;
+        }
+
+        errorMsg.setLength(0);
+        T target = mapper.map(cells, lastCellNum, projection, errorMsg);
+        if (target != null) {
+            dataRows++;
+            handler.handle(rowIndex, target);
+            return;
+        }
+        int cellNum = Math.max(lastCellNum, excelRowDef.getExcelCellDefListSize());
+        List<Object> errorValueList = new ArrayList<Object>(cellNum + 1);
+        for (int i = 0; i < cellNum; i++) {
+            errorValueList.add(i < lastCellNum ? cells[i].getRawValue() : null);
+        }
+        // 去除最后一个逗号
+        errorValueList.add(errorMsg.deleteCharAt(errorMsg.length() - 1).toString());
+        handler.handleError(rowIndex, errorValueList);
+    }
+}
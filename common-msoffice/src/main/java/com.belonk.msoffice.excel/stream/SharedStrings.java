@@ -0,0 +1,17 @@
+package com.belonk.msoffice.excel.stream;
+
+/**
+ * xlsx共享字符串表。
+ * <p>
+ * 默认由{@link SharedStringsHandler#readAll}全部读入内存，字符串很多时可以使用{@link FileSharedStrings}写入临时文件。
+ * 实现必须支持多个线程同时读取。
+ */
+interface SharedStrings {
+    /**
+     * 获取共享字符串
+     *
+     * @param index 共享字符串下标
+     * @return 字符串
+     */
+    String getEntryAt(int index);
+}
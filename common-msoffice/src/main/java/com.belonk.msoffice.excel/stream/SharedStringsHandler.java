@@ -0,0 +1,82 @@
+package com.belonk.msoffice.excel.stream;
+
+import org.xml.sax.Attributes;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * sharedStrings.xml解析，每个si元素中所有t元素的文本拼接为一个字符串，与{@link org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable}一致。
+ * <p>
+ * 通过{@link XSSFWorkbookParser#parse}解析，禁止DOCTYPE和外部实体；POI的ReadOnlySharedStringsTable使用默认配置的解析器，不能用于上传的文件。
+ */
+abstract class SharedStringsHandler extends DefaultHandler {
+    private final StringBuilder text = new StringBuilder();
+    private boolean inString;
+    private boolean capturing;
+
+    /**
+     * 全部读入内存
+     *
+     * @param sharedStringsData sharedStrings.xml的输入流，解析完毕后不会关闭
+     * @return 共享字符串表
+     * @throws IOException IO异常或文件格式错误
+     */
+    static SharedStrings readAll(InputStream sharedStringsData) throws IOException {
+        List<String> strings = new ArrayList<String>();
+        try {
+            XSSFWorkbookParser.parse(sharedStringsData, new SharedStringsHandler() {
+                @Override
+                void add(String value) {
+                    strings.add(value);
+                }
+            });
+        } catch (SAXException e) {
+            throw new IOException("Parse shared strings failed.", e);
+        }
+        return strings::get;
+    }
+
+    /**
+     * 处理一个共享字符串，按下标顺序调用
+     *
+     * @param value 字符串
+     * @throws IOException IO异常
+     */
+    abstract void add(String value) throws IOException;
+
+    @Override
+    public void startElement(String uri, String localName, String qName, Attributes attributes) {
+        if ("si".equals(localName)) {
+            inString = true;
+            text.setLength(0);
+        } else if ("t".equals(localName) && inString) {
+            capturing = true;
+        }
+    }
+
+    @Override
+    public void endElement(String uri, String localName, String qName) throws SAXException {
+        if ("t".equals(localName)) {
+            capturing = false;
+        } else if ("si".equals(localName)) {
+            inString = false;
+            try {
+                add(text.toString());
+            } catch (IOException e) {
+                throw new SAXException(e);
+            }
+        }
+    }
+
+    @Override
+    public void characters(char[] ch, int start, int length) {
+        if (capturing) {
+            text.append(ch, start, length);
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.belonk.msoffice.excel.stream;
+
+import com.belonk.msoffice.excel.ExcelCellDef;
+import com.belonk.msoffice.excel.ExcelCellValue;
+import com.belonk.msoffice.excel.ExcelErrorCode;
+import com.belonk.msoffice.excel.ExcelImportError;
+import com.belonk.msoffice.excel.ExcelImportErrorHandler;
+import com.belonk.msoffice.excel.ExcelProjection;
+import com.belonk.msoffice.excel.ExcelRowDef;
+import com.belonk.msoffice.excel.ExcelTemplate;
+import com.belonk.msoffice.excel.util.POIExcelUtil;
+import org.apache.commons.lang.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 流式读取的行处理。
+ * <p>
+ * 解析器逐个单元格填充当前行，行结束时按{@link POIExcelUtil#getSheetData}相同的规则校验表头和数据行，并回调{@link ExcelRowHandler}。
+ * 单元格值对象在行之间复用。
+ */
+class SheetRowProcessor {
+    private static final ExcelCellValue EMPTY_CELL = new ExcelCellValue();
+
+    final ExcelRowDef excelRowDef;
+    private final int startRow;
+    private final ExcelRowHandler handler;
+    private final List<Object> errorList;
+    /**
+     * 错误处理器，设置后错误行和工作表错误都回调该处理器，不再使用{@link ExcelRowHandler#handleError}和errorList
+     */
+    ExcelImportErrorHandler errorHandler;
+    /**
+     * 模板，设置后使用模板预先计算的表头哈希值校验表头
+     */
+    ExcelTemplate template;
+    /**
+     * 列投影，设置后数据行只读取和校验投影的列
+     */
+    ExcelProjection projection;
+    /**
+     * 当前行的错误，行之间复用
+     */
+    final List<ExcelImportError> errors = new ArrayList<ExcelImportError>();
+
+    ExcelCellValue[] cells = new ExcelCellValue[0];
+    /**
+     * 当前行的单元格数量，即最后一个单元格的列号+1
+     */
+    int lastCellNum;
+    int rowIndex = -1;
+    private boolean headerChecked;
+    private int rows;
+    int dataRows;
+
+    SheetRowProcessor(ExcelRowDef excelRowDef, int startRow, ExcelRowHandler handler, List<Object> errorList) {
+        this.excelRowDef = excelRowDef;
+        this.startRow = startRow;
+        this.handler = handler;
+        this.errorList = errorList;
+    }
+
+    /**
+     * 开始新的一行
+     *
+     * @param rowIndex 行号，从0开始
+     */
+    void startRow(int rowIndex) {
+        for (int i = 0; i < lastCellNum; i++) {
+            cells[i].clear();
+        }
+        this.lastCellNum = 0;
+        this.rowIndex = rowIndex;
+    }
+
+    /**
+     * 获取当前行指定列的单元格，由解析器填充值，未填充的单元格为空白单元格
+     *
+     * @param column 列号，从0开始
+     * @return 单元格值
+     */
+    ExcelCellValue cell(int column) {
+        if (column >= cells.length) {
+            int length = Math.max(column + 1, Math.max(cells.length * 2, excelRowDef.getExcelCellDefListSize()));
+            ExcelCellValue[] newCells = new ExcelCellValue[length];
+            System.arraycopy(cells, 0, newCells, 0, cells.length);
+            for (int i = cells.length; i < length; i++) {
+                newCells[i] = new ExcelCellValue();
+            }
+            cells = newCells;
+        }
+        if (column >= lastCellNum) {
+            lastCellNum = column + 1;
+        }
+        return cells[column];
+    }
+
+    /**
+     * 当前行是否需要读取指定列的值，表头行读取全部列，数据行只读取投影的列。
+     * 不需要读取的列仍然通过{@link #cell}占位，以便检查数据列是否比表头列多
+     *
+     * @param column 列号，从0开始
+     * @return true：需要读取；false：跳过
+     */
+    boolean accepts(int column) {
+        return projection == null || !headerChecked || projection.contains(column);
+    }
+
+    /**
+     * 当前行结束，校验并处理当前行
+     *
+     * @throws StopReadingException 表头与模板不匹配
+     */
+    void endRow() {
+        if (lastCellNum == 0) {
+            return;
+        }
+        rows = rowIndex + 1;
+        if (!headerChecked) {
+            headerChecked = true;
+            if (rowIndex != 0 || !isHeaderMatched()) {
+                sheetError(ExcelErrorCode.HEADER_MISMATCH);
+                throw new StopReadingException();
+            }
+        }
+        if (rowIndex >= startRow && !isEmptyRow()) {
+            handleDataRow();
+        }
+    }
+
+    /**
+     * 工作表结束，检查工作表是否有数据
+     */
+    void endSheet() {
+        if (rows <= 1) {
+            sheetError(ExcelErrorCode.NO_DATA);
+        } else if (startRow >= rows) {
+            sheetError(ExcelErrorCode.START_ROW_OUT_OF_RANGE);
+        }
+    }
+
+    private void sheetError(ExcelErrorCode code) {
+        if (errorHandler != null) {
+            errorHandler.handleSheetError(ExcelImportError.sheetError(code));
+        } else {
+            errorList.add(code.getMessage(null));
+        }
+    }
+
+    /**
+     * 获取处理的数据行数
+     *
+     * @return 校验通过的数据行数
+     */
+    int getDataRows() {
+        return dataRows;
+    }
+
+    private boolean isHeaderMatched() {
+        if (template != null) {
+            return template.isHeaderMatched(cells, lastCellNum);
+        }
+        if (lastCellNum != excelRowDef.getExcelCellDefListSize()) {
+            return false;
+        }
+        for (int i = 0; i < lastCellNum; i++) {
+            if (cells[i].isEmpty() || !excelRowDef.getCell(i).getName().equals(cells[i].toString())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isEmptyRow() {
+        for (int i = 0; i < lastCellNum; i++) {
+            if (!cells[i].isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 校验并处理数据行，校验通过时累加数据行数
+     */
+    void handleDataRow() {
+        if (errorHandler != null) {
+            List<Object> cellValueList = new ArrayList<Object>(excelRowDef.getExcelCellDefListSize());
+            errors.clear();
+            if (POIExcelUtil.checkRowData(cells, lastCellNum, excelRowDef, projection, rowIndex, cellValueList, errors)) {
+                dataRows++;
+                handler.handle(rowIndex, cellValueList);
+            } else {
+                errorHandler.handleRowError(rowIndex, cells, lastCellNum, errors);
+            }
+            return;
+        }
+
+        List<Object> cellValueList = new ArrayList<Object>();
+        List<Object> errorValueList = new ArrayList<Object>();
+        StringBuilder errorMsg = new StringBuilder();
+        int cellCount = excelRowDef.getExcelCellDefListSize();
+        int indexNum = Math.max(cellCount, lastCellNum);
+
+        for (int j = 0; j < indexNum; j++) {
+            if (projection != null && !projection.contains(j)) {
+                continue;
+            }
+            ExcelCellValue cell = j < lastCellNum ? cells[j] : EMPTY_CELL;
+            ExcelCellDef cellDef = j < cellCount ? excelRowDef.getCell(j) : null;
+            POIExcelUtil.setCellData(cell, cell.getRawValue(), cellDef, cellValueList, errorValueList, errorMsg);
+        }
+
+        // 数据列比表头列多
+        if (cellCount < lastCellNum) {
+            cellValueList.clear();
+            errorMsg.delete(0, errorMsg.length());
+            ExcelErrorCode.COLUMN_COUNT_MISMATCH.appendTo(errorMsg, null);
+        }
+
+        if (StringUtils.isNotBlank(errorMsg.toString())) {
+            // 去除最后一个空格
+            errorValueList.add(errorMsg.deleteCharAt(errorMsg.length() - 1).toString());
+            handler.handleError(rowIndex, errorValueList);
+        } else if (!cellValueList.isEmpty()) {
+            dataRows++;
+            handler.handle(rowIndex, cellValueList);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.belonk.msoffice.excel.stream;
+
+/**
+ * 提前结束解析。
+ * <p>
+ * SAX解析和HSSF事件解析都没有中止接口，读取完目标工作表或表头校验失败时抛出该异常结束解析。
+ */
+class StopReadingException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    StopReadingException() {
+        super(null, null, false, false);
+    }
+}
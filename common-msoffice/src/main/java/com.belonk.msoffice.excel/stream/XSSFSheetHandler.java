@@ -0,0 +1,149 @@
+package com.belonk.msoffice.excel.stream;
+
+import com.belonk.msoffice.excel.ExcelCellValue;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.xml.sax.Attributes;
+import org.xml.sax.helpers.DefaultHandler;
+
+import java.util.Date;
+
+/**
+ * xlsx工作表SAX解析处理器。
+ * <p>
+ * 直接解析工作表XML，按单元格的类型属性和样式读取原始值，不创建POI的单元格对象。公式单元格取其缓存的计算结果。
+ * 样式的数据格式及是否为日期格式由{@link XSSFWorkbookParser}预先解析。
+ */
+class XSSFSheetHandler extends DefaultHandler {
+    private final SheetRowProcessor processor;
+    private final SharedStrings sharedStrings;
+    private final int[] formatIndexes;
+    private final boolean[] dateFormats;
+    private final boolean date1904;
+
+    private final StringBuilder text = new StringBuilder();
+    private boolean capturing;
+    private boolean inInlineString;
+    private boolean rowStarted;
+    private int nextRow;
+    private int nextColumn;
+    private String cellType;
+    private int styleIndex;
+    private ExcelCellValue cell;
+
+    XSSFSheetHandler(SheetRowProcessor processor, SharedStrings sharedStrings, int[] formatIndexes,
+                     boolean[] dateFormats, boolean date1904) {
+        this.processor = processor;
+        this.sharedStrings = sharedStrings;
+        this.formatIndexes = formatIndexes;
+        this.dateFormats = dateFormats;
+        this.date1904 = date1904;
+    }
+
+    @Override
+    public void startElement(String uri, String localName, String qName, Attributes attributes) {
+        if ("row".equals(localName)) {
+            String r = attributes.getValue("r");
+            int rowIndex = r == null ? nextRow : Integer.parseInt(r) - 1;
+            processor.startRow(rowIndex);
+            rowStarted = true;
+            nextRow = rowIndex + 1;
+            nextColumn = 0;
+        } else if ("c".equals(localName)) {
+            String r = attributes.getValue("r");
+            int column = r == null ? nextColumn : columnIndex(r);
+            nextColumn = column + 1;
+            cellType = attributes.getValue("t");
+            String s = attributes.getValue("s");
+            styleIndex = s == null ? 0 : Integer.parseInt(s);
+            cell = processor.cell(column);
+            if (!processor.accepts(column)) {
+                // 不需要的列只占位，不读取文本
+                cell = null;
+            }
+            text.setLength(0);
+        } else if ("v".equals(localName)) {
+            capturing = cell != null;
+        } else if ("is".equals(localName)) {
+            inInlineString = true;
+        } else if ("t".equals(localName) && inInlineString) {
+            capturing = cell != null;
+        }
+    }
+
+    @Override
+    public void endElement(String uri, String localName, String qName) {
+        if ("v".equals(localName) || "t".equals(localName)) {
+            capturing = false;
+        } else if ("is".equals(localName)) {
+            inInlineString = false;
+        } else if ("c".equals(localName)) {
+            if (cell != null) {
+                setCellValue();
+                cell = null;
+            }
+        } else if ("row".equals(localName)) {
+            rowStarted = false;
+            processor.endRow();
+        }
+    }
+
+    @Override
+    public void characters(char[] ch, int start, int length) {
+        if (capturing) {
+            text.append(ch, start, length);
+        }
+    }
+
+    @Override
+    public void endDocument() {
+        if (rowStarted) {
+            processor.endRow();
+        }
+    }
+
+    private void setCellValue() {
+        if (text.length() == 0) {
+            return;
+        }
+        String value = text.toString();
+        if ("s".equals(cellType)) {
+            cell.setString(sharedStrings.getEntryAt(Integer.parseInt(value.trim())));
+        } else if ("inlineStr".equals(cellType) || "str".equals(cellType)) {
+            cell.setString(value);
+        } else if ("b".equals(cellType)) {
+            cell.setBoolean("1".equals(value) || "true".equalsIgnoreCase(value));
+        } else if ("e".equals(cellType)) {
+            cell.setError(value);
+        } else if (cellType == null || "n".equals(cellType)) {
+            double numeric = Double.parseDouble(value);
+            int formatIndex = 0;
+            boolean dateFormat = false;
+            if (styleIndex < formatIndexes.length) {
+                formatIndex = formatIndexes[styleIndex];
+                dateFormat = dateFormats[styleIndex];
+            }
+            Date date = null;
+            if (dateFormat && DateUtil.isValidExcelDate(numeric)) {
+                date = DateUtil.getJavaDate(numeric, date1904);
+            }
+            cell.setNumeric(numeric, formatIndex, date);
+        } else {
+            cell.setString(value);
+        }
+    }
+
+    /**
+     * 单元格引用转为列号，如"AB12"为27
+     */
+    static int columnIndex(String cellReference) {
+        int column = 0;
+        for (int i = 0; i < cellReference.length(); i++) {
+            char c = cellReference.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                break;
+            }
+            column = column * 26 + (c - 'A' + 1);
+        }
+        return column - 1;
+    }
+}
@@ -0,0 +1,195 @@
+package com.belonk.msoffice.excel.stream;
+
+import com.belonk.msoffice.excel.ExcelDateFormat;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFRelation;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParserFactory;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * xlsx工作簿解析器。
+ * <p>
+ * 打开时一次性读取工作簿级别的数据：工作表列表、共享字符串、样式的数据格式和日期系统，之后各工作表可以在不同线程中
+ * 同时解析，工作簿级别的数据只读共享。
+ * <p>
+ * 共享字符串默认全部读入内存，指定缓存大小时写入临时文件，见{@link FileSharedStrings}。解析完毕后必须关闭以删除临时文件。
+ */
+class XSSFWorkbookParser implements Closeable {
+    private static final String RELATIONSHIPS_NS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+    // 配置完成后只用于创建解析器，不再修改
+    private static final SAXParserFactory PARSER_FACTORY = createParserFactory();
+
+    private final XSSFReader reader;
+    private final SharedStrings sharedStrings;
+    private final List<String> sheetNames = new ArrayList<String>();
+    private final List<String> sheetRelationIds = new ArrayList<String>();
+    private final int[] formatIndexes;
+    private final boolean[] dateFormats;
+    private boolean date1904;
+
+    /**
+     * @param pkg                    xlsx包
+     * @param sharedStringsCacheSize 大于0时共享字符串写入临时文件，内存中最多缓存该数量的字符串；否则全部读入内存
+     * @throws IOException IO异常或文件格式错误
+     */
+    XSSFWorkbookParser(OPCPackage pkg, int sharedStringsCacheSize) throws IOException {
+        try {
+            this.reader = new XSSFReader(pkg);
+            parseWorkbook(reader.getWorkbookData());
+            // 预先解析所有样式的数据格式及是否为日期格式，解析单元格时只需按下标查找
+            StylesTable styles = reader.getStylesTable();
+            int styleCount = styles == null ? 0 : styles.getNumCellStyles();
+            this.formatIndexes = new int[styleCount];
+            this.dateFormats = new boolean[styleCount];
+            for (int i = 0; i < styleCount; i++) {
+                XSSFCellStyle style = styles.getStyleAt(i);
+                formatIndexes[i] = style.getDataFormat();
+                dateFormats[i] = ExcelDateFormat.isDateFormat(formatIndexes[i], style.getDataFormatString());
+            }
+            // 最后读取共享字符串，避免之后的步骤失败时遗留临时文件
+            this.sharedStrings = createSharedStrings(pkg, sharedStringsCacheSize);
+        } catch (OpenXML4JException | SAXException e) {
+            throw new IOException("Parse excel failed.", e);
+        }
+    }
+
+    int getSheetCount() {
+        return sheetNames.size();
+    }
+
+    String getSheetName(int sheetIndex) {
+        return sheetNames.get(sheetIndex);
+    }
+
+    /**
+     * 解析工作表，可以在多个线程中同时调用
+     *
+     * @param sheetIndex 工作表下标，从0开始
+     * @param processor  行处理
+     * @throws IOException IO异常或文件格式错误
+     */
+    void parseSheet(int sheetIndex, SheetRowProcessor processor) throws IOException {
+        if (sheetIndex < 0 || sheetIndex >= sheetNames.size()) {
+            throw new IllegalArgumentException("Sheet index (" + sheetIndex + ") is out of range");
+        }
+        InputStream sheet = openSheet(sheetIndex);
+        try {
+            parse(sheet, new XSSFSheetHandler(processor, sharedStrings, formatIndexes, dateFormats, date1904));
+            processor.endSheet();
+        } catch (StopReadingException e) {
+            // 表头与模板不匹配，已记录错误信息
+        } catch (SAXException e) {
+            throw new IOException("Parse excel failed.", e);
+        } finally {
+            sheet.close();
+        }
+    }
+
+    /**
+     * 删除共享字符串的临时文件
+     */
+    @Override
+    public void close() {
+        if (sharedStrings instanceof FileSharedStrings) {
+            ((FileSharedStrings) sharedStrings).close();
+        }
+    }
+
+    private static SharedStrings createSharedStrings(OPCPackage pkg, int cacheSize) throws IOException {
+        List<PackagePart> parts = pkg.getPartsByContentType(XSSFRelation.SHARED_STRINGS.getContentType());
+        if (parts.isEmpty()) {
+            return index -> {
+                throw new IndexOutOfBoundsException("Shared string index (" + index + ") is out of range");
+            };
+        }
+        try (InputStream inputStream = parts.get(0).getInputStream()) {
+            if (cacheSize > 0) {
+                return FileSharedStrings.create(inputStream, cacheSize);
+            }
+            return SharedStringsHandler.readAll(inputStream);
+        }
+    }
+
+    private InputStream openSheet(int sheetIndex) throws IOException {
+        // 获取包中的部件时会访问包的内部状态，只有打开流需要同步，流的读取各自独立
+        synchronized (reader) {
+            try {
+                return reader.getSheet(sheetRelationIds.get(sheetIndex));
+            } catch (OpenXML4JException e) {
+                throw new IOException("Parse excel failed.", e);
+            }
+        }
+    }
+
+    /**
+     * 读取工作表列表和日期系统
+     */
+    private void parseWorkbook(InputStream workbookData) throws IOException, SAXException {
+        try {
+            parse(workbookData, new DefaultHandler() {
+                @Override
+                public void startElement(String uri, String localName, String qName, Attributes attributes) {
+                    if ("workbookPr".equals(localName)) {
+                        String value = attributes.getValue("date1904");
+                        date1904 = "1".equals(value) || "true".equalsIgnoreCase(value);
+                    } else if ("sheet".equals(localName)) {
+                        sheetNames.add(attributes.getValue("name"));
+                        sheetRelationIds.add(attributes.getValue(RELATIONSHIPS_NS, "id"));
+                    }
+                }
+            });
+        } finally {
+            workbookData.close();
+        }
+    }
+
+    /**
+     * 解析xlsx中的xml部件，工作表、共享字符串等都通过该方法解析。
+     * <p>
+     * 文件来自用户上传，禁止DOCTYPE声明和外部实体，防止XXE读取本地文件或发起网络请求
+     */
+    static void parse(InputStream inputStream, DefaultHandler handler) throws IOException, SAXException {
+        XMLReader xmlReader;
+        try {
+            xmlReader = PARSER_FACTORY.newSAXParser().getXMLReader();
+        } catch (ParserConfigurationException e) {
+            throw new SAXException(e);
+        }
+        xmlReader.setContentHandler(handler);
+        // 错误通过异常抛出，不输出到标准错误
+        xmlReader.setErrorHandler(handler);
+        xmlReader.parse(new InputSource(inputStream));
+    }
+
+    private static SAXParserFactory createParserFactory() {
+        SAXParserFactory factory = SAXParserFactory.newInstance();
+        factory.setNamespaceAware(true);
+        factory.setXIncludeAware(false);
+        try {
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            factory.setFeature("http://xml.org/sax/features/external-general-entities", false);
+            factory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
+        } catch (ParserConfigurationException | SAXException e) {
+            throw new IllegalStateException("XML parser does not support secure processing.", e);
+        }
+        return factory;
+    }
+}
@@ -0,0 +1,166 @@
+package com.belonk.msoffice.excel.util;
+
+import com.belonk.msoffice.excel.ExcelCellConverter;
+import com.belonk.msoffice.excel.ExcelCellValue;
+import com.belonk.msoffice.excel.ExcelConstants;
+import com.belonk.msoffice.excel.ExcelImportError;
+import com.belonk.msoffice.excel.ExcelImportErrorHandler;
+import com.belonk.msoffice.excel.ExcelRowDef;
+import com.belonk.msoffice.excel.ExcelStyle;
+import org.apache.poi.ss.usermodel.BuiltinFormats;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 错误工作簿输出。
+ * <p>
+ * 作为{@link ExcelImportErrorHandler}在读取过程中逐行写出错误行，格式同{@link POIExcelUtil#setErrorWorkbookData}：
+ * 第一行为模板表头加错误信息列，之后每行为错误行的单元格原始值，最后一列为红色的错误信息。错误工作簿基于{@link SXSSFWorkbook}，
+ * 已写出的行缓存在临时文件中，错误行再多内存占用也基本恒定，并且不引用源工作簿的单元格对象。
+ * <p>
+ * 与POI工作簿一样不是线程安全的，多个工作表并行读取时每个工作表使用各自的实例。
+ */
+public class ErrorWorkbookSink implements ExcelImportErrorHandler, Closeable {
+    private final SXSSFWorkbook workbook;
+    private final Sheet sheet;
+    private final ExcelStyleRegistry styleRegistry;
+    private final CellStyle errorMsgStyle;
+    private final Locale locale;
+    private final int columnCount;
+    private final List<ExcelImportError> sheetErrors = new ArrayList<ExcelImportError>();
+    private int errorRows;
+    private int line = ExcelConstants.DEFAUT_HEADER_SHOW_LINE + 1;
+
+    /**
+     * 使用默认语言的错误信息
+     *
+     * @param excelRowDef excel行对象，用于生成表头
+     */
+    public ErrorWorkbookSink(ExcelRowDef excelRowDef) {
+        this(excelRowDef, null);
+    }
+
+    /**
+     * @param excelRowDef excel行对象，用于生成表头
+     * @param locale      错误信息的语言，为null时使用默认语言
+     */
+    public ErrorWorkbookSink(ExcelRowDef excelRowDef, Locale locale) {
+        this.workbook = POIExcelUtil.createSXSSFWorkbook();
+        this.sheet = workbook.createSheet();
+        this.styleRegistry = new ExcelStyleRegistry(workbook);
+        this.errorMsgStyle = styleRegistry.get(ExcelStyle.ERROR_MESSAGE);
+        this.locale = locale;
+        this.columnCount = excelRowDef.getExcelCellDefListSize();
+
+        String[] titles = new String[columnCount + 1];
+        for (int i = 0; i < columnCount; i++) {
+            titles[i] = excelRowDef.getCell(i).getName();
+        }
+        titles[columnCount] = ExcelImportError.getColumnTitle(locale);
+        POIExcelUtil.setHeader(sheet, titles);
+    }
+
+    @Override
+    public void handleRowError(int rowNum, ExcelCellValue[] cells, int cellNum, List<ExcelImportError> errors) {
+        Row row = sheet.createRow(line++);
+        int lastColumn = Math.max(cellNum, columnCount);
+        for (int i = 0; i < cellNum; i++) {
+            setCellValue(row, i, cells[i]);
+        }
+        Cell errorMsgCell = row.createCell(lastColumn);
+        errorMsgCell.setCellValue(ExcelImportError.joinMessages(errors, locale));
+        errorMsgCell.setCellStyle(errorMsgStyle);
+        errorRows++;
+    }
+
+    @Override
+    public void handleSheetError(ExcelImportError error) {
+        sheetErrors.add(error);
+    }
+
+    /**
+     * 写出错误工作簿并删除临时文件，写出后不能再添加错误行
+     *
+     * @param outputStream 输出流，输出完毕后不会关闭
+     * @throws IOException IO异常
+     */
+    public void write(OutputStream outputStream) throws IOException {
+        POIExcelUtil.write(workbook, outputStream);
+    }
+
+    /**
+     * 是否有错误
+     *
+     * @return true：有错误行或工作表错误；false：没有错误
+     */
+    public boolean hasErrors() {
+        return errorRows > 0 || !sheetErrors.isEmpty();
+    }
+
+    /**
+     * 获取已写出的错误行数
+     *
+     * @return 错误行数
+     */
+    public int getErrorRows() {
+        return errorRows;
+    }
+
+    /**
+     * 获取工作表错误，如表头不匹配、无数据等，工作表错误不写入错误工作簿
+     *
+     * @return 工作表错误
+     */
+    public List<ExcelImportError> getSheetErrors() {
+        return sheetErrors;
+    }
+
+    /**
+     * 删除临时文件，未写出时丢弃错误工作簿
+     */
+    @Override
+    public void close() {
+        workbook.dispose();
+    }
+
+    private void setCellValue(Row row, int column, ExcelCellValue value) {
+        switch (value.getType()) {
+            case Cell.CELL_TYPE_BLANK:
+                return;
+            case Cell.CELL_TYPE_NUMERIC:
+                Cell cell = row.createCell(column);
+                if (value.isDateFormatted()) {
+                    cell.setCellValue(value.getDateValue());
+                } else if (value.isExactLong() && !ExcelCellConverter.isExactDouble(value.getLongValue())) {
+                    // 超出double精度的整数写为文本，保留原值
+                    cell.setCellValue(String.valueOf(value.getLongValue()));
+                    return;
+                } else {
+                    cell.setCellValue(value.getNumericValue());
+                }
+                // 内置格式在所有工作簿中的索引相同，可以直接复制，自定义格式的日期使用内置的日期时间格式
+                int dataFormat = value.getDataFormat();
+                if (dataFormat > 0 && dataFormat < BuiltinFormats.FIRST_USER_DEFINED_FORMAT_INDEX) {
+                    cell.setCellStyle(styleRegistry.getDataFormatStyle((short) dataFormat));
+                } else if (value.isDateFormatted()) {
+                    cell.setCellStyle(styleRegistry.getDataFormatStyle((short) BuiltinFormats.getBuiltinFormat("m/d/yy h:mm")));
+                }
+                return;
+            case Cell.CELL_TYPE_BOOLEAN:
+                row.createCell(column).setCellValue(value.getBooleanValue());
+                return;
+            default:
+                row.createCell(column).setCellValue(value.getStringValue());
+        }
+    }
+}
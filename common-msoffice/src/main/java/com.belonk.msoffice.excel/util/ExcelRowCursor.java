@@ -0,0 +1,155 @@
+package com.belonk.msoffice.excel.util;
+
+import com.belonk.msoffice.excel.ExcelCellValue;
+import com.belonk.msoffice.excel.ExcelDateFormatCache;
+import com.belonk.msoffice.excel.ExcelProjection;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * 工作表行游标。
+ * <p>
+ * 通过{@link Sheet#rowIterator()}和{@link Row#cellIterator()}只访问实际存在的行和单元格，不按行号逐个调用{@link Sheet#getRow(int)}，
+ * 有空缺行的工作表也不会遗漏或访问到不存在的行。读取单元格值的同一遍中判断是否为空行，空行直接跳过。
+ * <p>
+ * 数值单元格是否为日期格式按数据格式索引缓存，每种格式只解析一次，见{@link ExcelDateFormatCache}。
+ * <p>
+ * 单元格值数组在行之间复用，移动到下一行后上一行的值失效。
+ */
+public final class ExcelRowCursor {
+    private final Iterator<Row> rows;
+    private final int startRow;
+    private final ExcelProjection projection;
+    private final ExcelDateFormatCache dateFormatCache;
+
+    private ExcelCellValue[] cells = new ExcelCellValue[0];
+    private Cell[] rowCells = new Cell[0];
+    private Row row;
+    private int cellNum;
+
+    /**
+     * @param sheet    工作表
+     * @param startRow 起始行号
+     */
+    public ExcelRowCursor(Sheet sheet, int startRow) {
+        this(sheet, startRow, null);
+    }
+
+    /**
+     * @param sheet      工作表
+     * @param startRow   起始行号
+     * @param projection 列投影，未投影的列不读取，视为空白单元格；为null时读取全部列
+     */
+    public ExcelRowCursor(Sheet sheet, int startRow, ExcelProjection projection) {
+        this.rows = sheet.rowIterator();
+        this.startRow = startRow;
+        this.projection = projection;
+        this.dateFormatCache = ExcelDateFormatCache.of(sheet.getWorkbook());
+    }
+
+    /**
+     * 移动到下一个非空行
+     *
+     * @return 存在下一个非空行返回true，否则返回false
+     */
+    public boolean next() {
+        while (rows.hasNext()) {
+            Row next = rows.next();
+            if (next.getRowNum() < startRow || next.getLastCellNum() <= 0) {
+                continue;
+            }
+            if (read(next)) {
+                row = next;
+                return true;
+            }
+        }
+        row = null;
+        cellNum = 0;
+        return false;
+    }
+
+    /**
+     * 获取当前行
+     *
+     * @return 当前行
+     */
+    public Row getRow() {
+        return row;
+    }
+
+    /**
+     * 获取当前行号
+     *
+     * @return 行号，从0开始
+     */
+    public int getRowNum() {
+        return row.getRowNum();
+    }
+
+    /**
+     * 获取当前行的单元格数量，即{@link Row#getLastCellNum()}
+     *
+     * @return 单元格数量
+     */
+    public int getCellNum() {
+        return cellNum;
+    }
+
+    /**
+     * 获取当前行的单元格值，下标为列号，不存在的单元格为空白单元格
+     *
+     * @return 单元格值，长度不小于{@link #getCellNum()}
+     */
+    public ExcelCellValue[] getCells() {
+        return cells;
+    }
+
+    /**
+     * 获取当前行指定列的POI单元格
+     *
+     * @param column 列号，从0开始
+     * @return 单元格，不存在或未投影时返回null
+     */
+    public Cell getCell(int column) {
+        return column < cellNum ? rowCells[column] : null;
+    }
+
+    /**
+     * 读取一行的单元格，同时判断是否为空行
+     *
+     * @return 非空行返回true
+     */
+    private boolean read(Row next) {
+        int lastCellNum = next.getLastCellNum();
+        if (cells.length < lastCellNum) {
+            int length = cells.length;
+            cells = Arrays.copyOf(cells, lastCellNum);
+            rowCells = new Cell[lastCellNum];
+            for (int i = length; i < lastCellNum; i++) {
+                cells[i] = new ExcelCellValue();
+            }
+        }
+        for (int i = 0; i < lastCellNum; i++) {
+            cells[i].clear();
+            rowCells[i] = null;
+        }
+        cellNum = lastCellNum;
+
+        boolean empty = true;
+        for (Iterator<Cell> iterator = next.cellIterator(); iterator.hasNext(); ) {
+            Cell cell = iterator.next();
+            int column = cell.getColumnIndex();
+            if (projection != null && !projection.contains(column)) {
+                continue;
+            }
+            rowCells[column] = cell;
+            cells[column].set(cell, dateFormatCache);
+            empty &= cells[column].isEmpty();
+        }
+        return !empty;
+    }
+}
@@ -0,0 +1,155 @@
+package com.belonk.msoffice.excel.util;
+
+import com.belonk.msoffice.excel.ExcelStyle;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.DataFormat;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Workbook;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 工作簿样式注册表。
+ * <p>
+ * 工作簿中的样式和字体数量有限（.xls最多4000个样式），按单元格创建样式很快就会超出限制，并且拖慢写入速度。
+ * 注册表按{@link ExcelStyle}的属性去重，每种样式、字体和数据格式在工作簿中只创建一次，重复获取时直接返回已创建的对象。
+ * <p>
+ * 注册表与工作簿一一对应，与POI工作簿一样不是线程安全的。
+ */
+public class ExcelStyleRegistry {
+    private final Workbook workbook;
+    private final Map<ExcelStyle, CellStyle> styles = new HashMap<ExcelStyle, CellStyle>();
+    private final Map<ExcelStyle, Font> fonts = new HashMap<ExcelStyle, Font>();
+    private final Map<String, Short> dataFormats = new HashMap<String, Short>();
+    private final Map<Short, CellStyle> dataFormatStyles = new HashMap<Short, CellStyle>();
+    private DataFormat dataFormat;
+
+    public ExcelStyleRegistry(Workbook workbook) {
+        this.workbook = workbook;
+    }
+
+    /**
+     * 获取样式，不存在时在工作簿中创建
+     *
+     * @param style 样式定义
+     * @return 工作簿中的单元格样式
+     */
+    public CellStyle get(ExcelStyle style) {
+        CellStyle cellStyle = styles.get(style);
+        if (cellStyle == null) {
+            cellStyle = createCellStyle(style);
+            styles.put(style, cellStyle);
+        }
+        return cellStyle;
+    }
+
+    /**
+     * 批量获取样式，用于按列设置样式
+     *
+     * @param styles 每列的样式定义，元素为null时该列不设置样式
+     * @return 每列的单元格样式
+     */
+    public CellStyle[] get(ExcelStyle... styles) {
+        CellStyle[] cellStyles = new CellStyle[styles.length];
+        for (int i = 0; i < styles.length; i++) {
+            cellStyles[i] = styles[i] == null ? null : get(styles[i]);
+        }
+        return cellStyles;
+    }
+
+    /**
+     * 获取只设置了数据格式的样式，用于复制其他单元格的数据格式
+     *
+     * @param formatIndex 数据格式索引
+     * @return 工作簿中的单元格样式
+     */
+    public CellStyle getDataFormatStyle(short formatIndex) {
+        CellStyle cellStyle = dataFormatStyles.get(formatIndex);
+        if (cellStyle == null) {
+            cellStyle = workbook.createCellStyle();
+            cellStyle.setDataFormat(formatIndex);
+            dataFormatStyles.put(formatIndex, cellStyle);
+        }
+        return cellStyle;
+    }
+
+    /**
+     * 获取数据格式索引，不存在时在工作簿中创建
+     *
+     * @param format 格式字符串
+     * @return 数据格式索引
+     */
+    public short getDataFormat(String format) {
+        Short index = dataFormats.get(format);
+        if (index == null) {
+            if (dataFormat == null) {
+                dataFormat = workbook.createDataFormat();
+            }
+            index = dataFormat.getFormat(format);
+            dataFormats.put(format, index);
+        }
+        return index;
+    }
+
+    public Workbook getWorkbook() {
+        return workbook;
+    }
+
+    private CellStyle createCellStyle(ExcelStyle style) {
+        CellStyle cellStyle = workbook.createCellStyle();
+        if (style.hasFont()) {
+            cellStyle.setFont(getFont(style));
+        }
+        if (style.getBorder() != CellStyle.BORDER_NONE) {
+            cellStyle.setBorderBottom(style.getBorder());
+            cellStyle.setBorderLeft(style.getBorder());
+            cellStyle.setBorderRight(style.getBorder());
+            cellStyle.setBorderTop(style.getBorder());
+            if (style.getBorderColor() != ExcelStyle.NO_COLOR) {
+                cellStyle.setBottomBorderColor(style.getBorderColor());
+                cellStyle.setLeftBorderColor(style.getBorderColor());
+                cellStyle.setRightBorderColor(style.getBorderColor());
+                cellStyle.setTopBorderColor(style.getBorderColor());
+            }
+        }
+        if (style.getFillColor() != ExcelStyle.NO_COLOR) {
+            cellStyle.setFillPattern(CellStyle.SOLID_FOREGROUND);
+            cellStyle.setFillForegroundColor(style.getFillColor());
+        }
+        cellStyle.setAlignment(style.getAlignment());
+        cellStyle.setVerticalAlignment(style.getVerticalAlignment());
+        cellStyle.setWrapText(style.isWrapText());
+        if (style.getDataFormat() != null) {
+            cellStyle.setDataFormat(getDataFormat(style.getDataFormat()));
+        }
+        return cellStyle;
+    }
+
+    private Font getFont(ExcelStyle style) {
+        // 只保留字体相关属性作为键
+        ExcelStyle key = new ExcelStyle.Builder()
+                .bold(style.isBold())
+                .fontColor(style.getFontColor())
+                .font(style.getFontName(), style.getFontHeightInPoints())
+                .build();
+        Font font = fonts.get(key);
+        if (font == null) {
+            font = workbook.createFont();
+            if (style.isBold()) {
+                font.setBoldweight(Font.BOLDWEIGHT_BOLD);
+            }
+            if (style.getFontColor() != ExcelStyle.NO_COLOR) {
+                font.setColor(style.getFontColor());
+            }
+            if (style.getFontName() != null) {
+                font.setFontName(style.getFontName());
+            }
+            if (style.getFontHeightInPoints() > 0) {
+                font.setFontHeightInPoints(style.getFontHeightInPoints());
+            }
+            fonts.put(key, font);
+        }
+        return font;
+    }
+}
@@ -0,0 +1,123 @@
+package com.belonk.msoffice.excel.util;
+
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.poifs.filesystem.NPOIFSFileSystem;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+/**
+ * 按文件只读打开的Excel工作簿。
+ * <p>
+ * 通过输入流创建工作簿时，POI需要先将整个文件读入内存再解析。按文件打开时，.xlsx使用{@link OPCPackage#open(File, PackageAccess)}
+ * 按需从压缩包中读取各部分，.xls使用{@link NPOIFSFileSystem}随机访问文件中的数据块，不再额外缓存整个文件，导入时的内存占用明显降低。
+ * <p>
+ * 文件以只读方式打开，工作簿可以读取和修改，但.xlsx工作簿不能再输出。使用完毕后必须调用{@link #close()}释放文件句柄，
+ * 可以配合try-with-resources使用：
+ * <pre>
+ * try (ExcelWorkbookFile workbookFile = ExcelWorkbookFile.open(file)) {
+ *     Sheet sheet = workbookFile.getWorkbook().getSheetAt(0);
+ *     ...
+ * }
+ * </pre>
+ */
+public final class ExcelWorkbookFile implements Closeable {
+    private final Workbook workbook;
+    private final OPCPackage pkg;
+    private final NPOIFSFileSystem fileSystem;
+
+    private ExcelWorkbookFile(Workbook workbook, OPCPackage pkg, NPOIFSFileSystem fileSystem) {
+        this.workbook = workbook;
+        this.pkg = pkg;
+        this.fileSystem = fileSystem;
+    }
+
+    /**
+     * 只读打开Excel文件，按文件头识别.xls和.xlsx
+     *
+     * @param file Excel文件
+     * @return 打开的工作簿
+     * @throws IOException IO异常或文件格式错误
+     */
+    public static ExcelWorkbookFile open(File file) throws IOException {
+        boolean xls;
+        try (InputStream inputStream = new BufferedInputStream(new FileInputStream(file))) {
+            xls = POIFSFileSystem.hasPOIFSHeader(inputStream);
+        }
+        if (xls) {
+            NPOIFSFileSystem fileSystem = new NPOIFSFileSystem(file, true);
+            try {
+                return new ExcelWorkbookFile(new HSSFWorkbook(fileSystem.getRoot(), true), null, fileSystem);
+            } catch (IOException | RuntimeException e) {
+                fileSystem.close();
+                throw e;
+            }
+        }
+        OPCPackage pkg;
+        try {
+            pkg = OPCPackage.open(file, PackageAccess.READ);
+        } catch (OpenXML4JException | RuntimeException e) {
+            throw new IOException("Unsupported excel file : " + file, e);
+        }
+        try {
+            return new ExcelWorkbookFile(new XSSFWorkbook(pkg), pkg, null);
+        } catch (IOException | RuntimeException e) {
+            pkg.revert();
+            throw e;
+        }
+    }
+
+    /**
+     * 只读打开Excel文件，按文件头识别.xls和.xlsx
+     *
+     * @param path Excel文件路径
+     * @return 打开的工作簿
+     * @throws IOException IO异常或文件格式错误
+     */
+    public static ExcelWorkbookFile open(Path path) throws IOException {
+        return open(path.toFile());
+    }
+
+    /**
+     * 获取工作簿，关闭后不能再访问
+     *
+     * @return 工作簿
+     */
+    public Workbook getWorkbook() {
+        return workbook;
+    }
+
+    /**
+     * 是否是.xls工作簿
+     *
+     * @return true：.xls；false：.xlsx
+     */
+    public boolean isXls() {
+        return fileSystem != null;
+    }
+
+    /**
+     * 关闭文件，只读打开的文件不会被修改
+     *
+     * @throws IOException IO异常
+     */
+    @Override
+    public void close() throws IOException {
+        if (pkg != null) {
+            pkg.revert();
+        } else {
+            fileSystem.close();
+        }
+    }
+}
@@ -2,9 +2,15 @@ package com.belonk.msoffice.excel.util;
 
 import com.belonk.commons.util.collection.CollectionHelper;
 import com.belonk.msoffice.excel.ExcelCellDef;
+import com.belonk.msoffice.excel.ExcelCellValue;
 import com.belonk.msoffice.excel.ExcelConstants;
-import com.belonk.msoffice.excel.ExcelDateFormat;
+import com.belonk.msoffice.excel.ExcelErrorCode;
+import com.belonk.msoffice.excel.ExcelImportError;
+import com.belonk.msoffice.excel.ExcelImportErrorHandler;
+import com.belonk.msoffice.excel.ExcelProjection;
 import com.belonk.msoffice.excel.ExcelRowDef;
+import com.belonk.msoffice.excel.ExcelStyle;
+import com.belonk.msoffice.excel.ExcelTemplate;
 import org.apache.commons.lang.StringUtils;
 import org.apache.poi.POIXMLDocument;
 import org.apache.poi.hssf.usermodel.HSSFCell;
@@ -13,29 +19,30 @@ import org.apache.poi.hssf.usermodel.HSSFRichTextString;
 import org.apache.poi.hssf.usermodel.HSSFWorkbook;
 import org.apache.poi.hssf.util.HSSFColor;
 import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.apache.poi.ss.SpreadsheetVersion;
 import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.*;
-import java.text.DecimalFormat;
-import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.stream.Stream;
 
 public class POIExcelUtil {
     private static Logger log = LoggerFactory.getLogger(POIExcelUtil.class);
+    private static final ExcelCellValue EMPTY_CELL = new ExcelCellValue();
 
     /**
-     * 根据文件流获取Excel工作簿
+     * 根据文件流获取Excel工作簿，整个文件会被读入内存，读取完毕后关闭文件流。只读取数据时建议使用{@link ExcelWorkbookFile#open(File)}。
      *
      * @param file 文件
      * @return Excel工作簿
      */
     public static Workbook createWorkbook(File file) {
         Workbook workbook = null;
-        try {
-            InputStream inputStream = new FileInputStream(file);
+        try (InputStream inputStream = new FileInputStream(file)) {
             workbook = createWorkbook(inputStream);
         } catch (IOException e) {
             log.error("IO Exception: ", e);
@@ -86,6 +93,48 @@ public class POIExcelUtil {
         return new XSSFWorkbook();
     }
 
+    /**
+     * 创建流式写入的Excel工作簿(.xlsx)，内存中最多保留{@link SXSSFWorkbook#DEFAULT_WINDOW_SIZE}行，临时文件不压缩
+     *
+     * @return 新创建的excel工作薄(.xlsx)
+     * @see #createSXSSFWorkbook(int, boolean)
+     */
+    public static SXSSFWorkbook createSXSSFWorkbook() {
+        return createSXSSFWorkbook(SXSSFWorkbook.DEFAULT_WINDOW_SIZE, false);
+    }
+
+    /**
+     * 创建流式写入的Excel工作簿(.xlsx)。
+     * <p>
+     * 超出行访问窗口的行会被写入临时文件，不能再访问，因此导出任意行数的数据时内存占用都是有限的。写入完毕后应调用
+     * {@link #write(SXSSFWorkbook, OutputStream)}输出并删除临时文件。
+     *
+     * @param rowAccessWindowSize 行访问窗口大小，即内存中最多保留的行数
+     * @param compressTmpFiles    是否使用gzip压缩临时文件，压缩后临时文件更小但写入更慢
+     * @return 新创建的excel工作薄(.xlsx)
+     */
+    public static SXSSFWorkbook createSXSSFWorkbook(int rowAccessWindowSize, boolean compressTmpFiles) {
+        return new SXSSFWorkbook(null, rowAccessWindowSize, compressTmpFiles);
+    }
+
+    /**
+     * 输出流式写入的Excel工作簿，并删除写入过程中产生的临时文件
+     *
+     * @param workbook     流式写入的Excel工作簿
+     * @param outputStream 输出流，输出完毕后不会关闭
+     * @throws IOException IO异常
+     */
+    public static void write(SXSSFWorkbook workbook, OutputStream outputStream) throws IOException {
+        try {
+            workbook.write(outputStream);
+            outputStream.flush();
+        } finally {
+            if (!workbook.dispose()) {
+                log.warn("删除临时文件失败");
+            }
+        }
+    }
+
     /**
      * 创建Excel工作簿(.xls)
      *
@@ -110,8 +159,8 @@ public class POIExcelUtil {
      */
     public static HSSFWorkbook createHSSFWorkbook(File file) {
         HSSFWorkbook workbook = null;
-        try {
-            workbook = new HSSFWorkbook(new FileInputStream(file));
+        try (InputStream inputStream = new FileInputStream(file)) {
+            workbook = new HSSFWorkbook(inputStream);
         } catch (IOException e) {
             log.error("IO Exception: ", e);
         }
@@ -126,8 +175,8 @@ public class POIExcelUtil {
      */
     public static HSSFWorkbook createHSSFWorkbook(String filePath) {
         HSSFWorkbook workbook = null;
-        try {
-            workbook = new HSSFWorkbook(new FileInputStream(filePath));
+        try (InputStream inputStream = new FileInputStream(filePath)) {
+            workbook = new HSSFWorkbook(inputStream);
         } catch (IOException e) {
             log.error("IO Exception: ", e);
         }
@@ -158,8 +207,8 @@ public class POIExcelUtil {
      */
     public static XSSFWorkbook createXSSFWorkbook(File file) {
         XSSFWorkbook workbook = null;
-        try {
-            workbook = new XSSFWorkbook(new FileInputStream(file));
+        try (InputStream inputStream = new FileInputStream(file)) {
+            workbook = new XSSFWorkbook(inputStream);
         } catch (IOException e) {
             log.error("IO Exception: ", e);
         }
@@ -174,8 +223,8 @@ public class POIExcelUtil {
      */
     public static XSSFWorkbook createXSSFWorkbook(String filePath) {
         XSSFWorkbook workbook = null;
-        try {
-            workbook = new XSSFWorkbook(new FileInputStream(filePath));
+        try (InputStream inputStream = new FileInputStream(filePath)) {
+            workbook = new XSSFWorkbook(inputStream);
         } catch (IOException e) {
             log.error("IO Exception: ", e);
         }
@@ -231,20 +280,96 @@ public class POIExcelUtil {
     public static void setWorkbookData(Sheet sheet, List<List<Object>> dataList, CellStyle cellStyle) {
         if (dataList == null || dataList.isEmpty())
             return;
+        setWorkbookData(sheet, dataList.iterator(), cellStyle);
+    }
+
+    /**
+     * 逐行设置数据，数据按需从迭代器中获取。
+     * <p>
+     * 配合{@link #createSXSSFWorkbook(int, boolean)}创建的工作簿使用时，已写入的行会按窗口大小刷出到临时文件，
+     * 导出大量数据时无需将全部数据和行对象保留在内存中。
+     *
+     * @param sheet 工作表
+     * @param rows  数据行迭代器
+     * @return 写入的数据行数
+     */
+    public static int setWorkbookData(Sheet sheet, Iterator<? extends List<?>> rows) {
+        return setWorkbookData(sheet, rows, (CellStyle) null);
+    }
+
+    /**
+     * 逐行设置数据，数据按需从迭代器中获取
+     *
+     * @param sheet     工作表
+     * @param rows      数据行迭代器
+     * @param cellStyle 单元格样式
+     * @return 写入的数据行数
+     * @see #setWorkbookData(Sheet, Iterator)
+     */
+    public static int setWorkbookData(Sheet sheet, Iterator<? extends List<?>> rows, CellStyle cellStyle) {
+        return setWorkbookData(sheet, rows, cellStyle, null);
+    }
+
+    /**
+     * 逐行设置数据，按列设置单元格样式。
+     * <p>
+     * 每列的样式只需获取一次，建议通过{@link ExcelStyleRegistry}获取，避免重复创建样式。
+     *
+     * @param sheet        工作表
+     * @param rows         数据行迭代器
+     * @param columnStyles 每列的单元格样式，元素为null或超出数组长度的列不设置样式
+     * @return 写入的数据行数
+     * @see ExcelStyleRegistry#get(ExcelStyle...)
+     */
+    public static int setWorkbookData(Sheet sheet, Iterator<? extends List<?>> rows, CellStyle[] columnStyles) {
+        return setWorkbookData(sheet, rows, null, columnStyles);
+    }
+
+    private static int setWorkbookData(Sheet sheet, Iterator<? extends List<?>> rows, CellStyle cellStyle, CellStyle[] columnStyles) {
+        if (rows == null)
+            return 0;
         // 数据从第二行开始设置
         int line = ExcelConstants.DEFAUT_HEADER_SHOW_LINE + 1;
-        for (List<Object> datas : dataList) {
+        // .xls最多65536行，超出时POI抛出的异常难以定位，提前检查
+        int maxRows = (sheet.getWorkbook() instanceof HSSFWorkbook ? SpreadsheetVersion.EXCEL97 : SpreadsheetVersion.EXCEL2007).getMaxRows();
+        int styledColumns = columnStyles == null ? 0 : columnStyles.length;
+        while (rows.hasNext()) {
+            if (line >= maxRows) {
+                throw new IllegalArgumentException("数据行数超过工作表最大行数：" + maxRows);
+            }
+            List<?> datas = rows.next();
             Row dataRow = sheet.createRow(line++);
+            if (datas == null) {
+                continue;
+            }
             int col = 0;
             for (Object data : datas) {
                 // 单元格从0开始
-                Cell cell = dataRow.createCell(col++);
-                if (cellStyle != null) {
-                    cell.setCellStyle(cellStyle);
+                Cell cell = dataRow.createCell(col);
+                CellStyle style = col < styledColumns ? columnStyles[col] : cellStyle;
+                if (style != null) {
+                    cell.setCellStyle(style);
                 }
                 setCellValue(cell, data);
+                col++;
             }
         }
+        return line - ExcelConstants.DEFAUT_HEADER_SHOW_LINE - 1;
+    }
+
+    /**
+     * 逐行设置数据，数据按需从流中获取，流不会被关闭
+     *
+     * @param sheet     工作表
+     * @param rows      数据行流
+     * @param cellStyle 单元格样式
+     * @return 写入的数据行数
+     * @see #setWorkbookData(Sheet, Iterator)
+     */
+    public static int setWorkbookData(Sheet sheet, Stream<? extends List<?>> rows, CellStyle cellStyle) {
+        if (rows == null)
+            return 0;
+        return setWorkbookData(sheet, rows.iterator(), cellStyle);
     }
 
     /**
@@ -286,6 +411,9 @@ public class POIExcelUtil {
     public static void setErrorWorkbookData(Workbook workbook, Sheet sheet, List<List<Object>> dataList) {
         if (dataList == null || dataList.isEmpty())
             return;
+        // 样式按数据格式复用，避免每个单元格创建一个样式
+        ExcelStyleRegistry styleRegistry = new ExcelStyleRegistry(workbook);
+        CellStyle errorMsgStyle = styleRegistry.get(ExcelStyle.ERROR_MESSAGE);
         // 数据从第二行开始设置
         int line = ExcelConstants.DEFAUT_HEADER_SHOW_LINE + 1;
         for (List<Object> datas : dataList) {
@@ -299,9 +427,7 @@ public class POIExcelUtil {
                 } else if (data instanceof Cell) {
                     Cell errorCell = (Cell) data;
                     cell.setCellType(errorCell.getCellType());
-                    CellStyle cellStyle = workbook.createCellStyle();
-                    cellStyle.setDataFormat(errorCell.getCellStyle().getDataFormat());
-                    cell.setCellStyle(cellStyle);
+                    cell.setCellStyle(styleRegistry.getDataFormatStyle(errorCell.getCellStyle().getDataFormat()));
                     switch (errorCell.getCellType()) {
                         case Cell.CELL_TYPE_BOOLEAN:
                             cell.setCellValue(errorCell.getBooleanCellValue());
@@ -330,16 +456,13 @@ public class POIExcelUtil {
 
             // 设置最后一列错误信息字体为红色
             Cell errorMsgCell = dataRow.getCell(dataRow.getLastCellNum() - 1);
-            CellStyle cellStyle = workbook.createCellStyle();
-            Font font = workbook.createFont();
-            font.setColor(HSSFColor.RED.index);
-            cellStyle.setFont(font);
-            errorMsgCell.setCellStyle(cellStyle);
+            errorMsgCell.setCellStyle(errorMsgStyle);
         }
     }
 
     /**
-     * 获取默认单元格样式
+     * 获取默认单元格样式，每次调用都会在工作簿中创建新的样式，多次使用时应通过{@link ExcelStyleRegistry}获取
+     * {@link ExcelStyle#BORDERED}或{@link ExcelStyle#BORDERED_FILLED}
      *
      * @param workbook 工作簿
      * @param isFull   是否填充单元格
@@ -395,234 +518,308 @@ public class POIExcelUtil {
      * @return Excel工作表的数据集合，无匹配数据时返回空集合 <br>返回null表示的情况(原因保存在errorList中)：<br>1、当前excel工作表没有数据(包括空Excel或只有1行的情况，默认第一行为表头) <br>2、excel单元格与行模板表头列数量不匹配 <br>3、起始行号超过excel行数
      */
     public static List<List<Object>> getSheetData(Sheet sheet, ExcelRowDef excelRowDef, int startRow, List<Object> errorList) {
-        // Excel合法性验证
-        if (!isRightExcelSheet(sheet, excelRowDef, startRow, errorList)) {
+        if (!isSheetHeaderMatched(sheet, excelRowDef, startRow, errorList)) {
             return null;
         }
+        return getRowsData(sheet, excelRowDef, startRow, errorList);
+    }
 
-        // 表头匹配验证
-        Row headerRow = sheet.getRow(0);
-        for (int i = 0; i < excelRowDef.getExcelCellDefListSize(); i++) {
-            Cell headerCell = headerRow.getCell(i);
-            if (isCellEmpty(headerCell) || !excelRowDef.getCell(i).getName().equals(headerCell.toString())) {
-                errorList.add("表头与模板不匹配，解析失败！");
-                return null;
-            }
+    /**
+     * 按模板获取Excel工作表的数据，表头通过模板预先计算的哈希值校验，其他规则同{@link #getSheetData(Sheet, ExcelRowDef, int, List)}
+     *
+     * @param sheet     Excel工作表
+     * @param template  Excel模板
+     * @param startRow  起始行号
+     * @param errorList 错误记录信息集合，格式同{@link #getSheetData(Sheet, ExcelRowDef, int, List)}
+     * @return Excel工作表的数据集合，无匹配数据时返回空集合，工作表错误时返回null
+     */
+    public static List<List<Object>> getSheetData(Sheet sheet, ExcelTemplate template, int startRow, List<Object> errorList) {
+        ExcelErrorCode code = template.checkSheet(sheet, startRow);
+        if (code != null) {
+            errorList.add(code.getMessage(null));
+            return null;
         }
+        return getRowsData(sheet, template.getExcelRowDef(), startRow, errorList);
+    }
 
+    /**
+     * 获取表头校验通过的工作表的数据
+     */
+    private static List<List<Object>> getRowsData(Sheet sheet, ExcelRowDef excelRowDef, int startRow, List<Object> errorList) {
         // 数据集合
         List<List<Object>> list = new ArrayList<List<Object>>();
+        int cellCount = excelRowDef.getExcelCellDefListSize();
 
-        for (int i = startRow; i < getSheetRows(sheet); i++) {
-            Row row = sheet.getRow(i);
+        // 只访问实际存在的非空行，有空缺行时不会遗漏或访问到null行
+        ExcelRowCursor cursor = new ExcelRowCursor(sheet, startRow);
+        while (cursor.next()) {
+            ExcelCellValue[] cells = cursor.getCells();
             List<Object> cellValueList = new ArrayList<Object>();
             List<Object> errorValueList = new ArrayList<Object>();
             StringBuilder errorMsg = new StringBuilder();
-            int cellCount = excelRowDef.getExcelCellDefListSize();
-            int rowMaxCellNum = row.getLastCellNum();
-            int indexNum = cellCount;
+            int rowMaxCellNum = cursor.getCellNum();
+            int indexNum = Math.max(cellCount, rowMaxCellNum);
+
+            for (int j = 0; j < indexNum; j++) {
+                ExcelCellDef cellDef = null;
+                if (j < cellCount) {
+                    cellDef = excelRowDef.getCell(j);
+                }
+                ExcelCellValue cellValue = j < rowMaxCellNum ? cells[j] : EMPTY_CELL;
+                setCellData(cellValue, cursor.getCell(j), cellDef, cellValueList, errorValueList, errorMsg);
+            }
+
+            // 数据列比表头列多
             if (cellCount < rowMaxCellNum) {
-                indexNum = rowMaxCellNum;
+                cellValueList.clear();
+                errorMsg.delete(0, errorMsg.length());
+                ExcelErrorCode.COLUMN_COUNT_MISMATCH.appendTo(errorMsg, null);
             }
 
-            // 当前行不是空行
-            if (!isEmptyRow(row, rowMaxCellNum)) {
-                for (int j = 0; j < indexNum; j++) {
-                    Cell cell = row.getCell(j);
-                    ExcelCellDef cellDef = null;
-                    if (j < cellCount) {
-                        cellDef = excelRowDef.getCell(j);
-                    }
+            if (StringUtils.isNotBlank(errorMsg.toString())) {
+                cellValueList.clear();
+                // 去除最后一个空格
+                errorValueList.add(errorMsg.deleteCharAt(errorMsg.length() - 1).toString());
+                errorList.add(errorValueList);
+            }
 
-                    setCellData(cell, cellDef, cellValueList, errorValueList, errorMsg);
-                }
+            if (CollectionHelper.notNull(cellValueList)) {
+                list.add(cellValueList);
+            }
+        }
 
-                // 数据列比表头列多
-                if (cellCount < rowMaxCellNum) {
-                    cellValueList.clear();
-                    errorMsg.delete(0, errorMsg.length());
-                    errorMsg.append("当前行数据与表头不匹配！，");
-                }
+        return list;
+    }
 
-                if (StringUtils.isNotBlank(errorMsg.toString())) {
-                    cellValueList.clear();
-                    // 去除最后一个空格
-                    errorValueList.add(errorMsg.deleteCharAt(errorMsg.length() - 1).toString());
-                    errorList.add(errorValueList);
-                }
+    /**
+     * 获取Excel工作表的数据，校验失败的行和工作表错误回调错误处理器。
+     * <p>
+     * 校验规则与{@link #getSheetData(Sheet, ExcelRowDef, int, List)}一致，错误只记录行号、列号、错误代码和单元格原始值，
+     * 不引用工作簿中的单元格对象，配合{@link ErrorWorkbookSink}可以边读取边写出错误工作簿。
+     *
+     * @param sheet        Excel工作表
+     * @param excelRowDef  excel行对象
+     * @param startRow     起始行号
+     * @param errorHandler 错误处理器
+     * @return Excel工作表的数据集合，无匹配数据时返回空集合，工作表错误时返回null
+     */
+    public static List<List<Object>> getSheetData(Sheet sheet, ExcelRowDef excelRowDef, int startRow, ExcelImportErrorHandler errorHandler) {
+        return getSheetData(sheet, excelRowDef, null, startRow, errorHandler);
+    }
 
-                if (CollectionHelper.notNull(cellValueList)) {
-                    list.add(cellValueList);
-                }
-            }
+    /**
+     * 获取Excel工作表中投影列的数据，校验失败的行和工作表错误回调错误处理器，未投影的列不转换也不校验
+     *
+     * @param sheet        Excel工作表
+     * @param excelRowDef  excel行对象
+     * @param projection   列投影，为null时读取全部列
+     * @param startRow     起始行号
+     * @param errorHandler 错误处理器
+     * @return Excel工作表的数据集合，每行只包含投影的列，无匹配数据时返回空集合，工作表错误时返回null
+     */
+    public static List<List<Object>> getSheetData(Sheet sheet, ExcelRowDef excelRowDef, ExcelProjection projection, int startRow,
+                                                  ExcelImportErrorHandler errorHandler) {
+        ExcelErrorCode sheetError = checkSheet(sheet, excelRowDef, startRow);
+        if (sheetError != null) {
+            errorHandler.handleSheetError(ExcelImportError.sheetError(sheetError));
+            return null;
         }
 
+        List<List<Object>> list = new ArrayList<List<Object>>();
+        List<ExcelImportError> errors = new ArrayList<ExcelImportError>();
+        ExcelRowCursor cursor = new ExcelRowCursor(sheet, startRow, projection);
+        while (cursor.next()) {
+            List<Object> cellValueList = new ArrayList<Object>(excelRowDef.getExcelCellDefListSize());
+            errors.clear();
+            if (checkRowData(cursor.getCells(), cursor.getCellNum(), excelRowDef, projection, cursor.getRowNum(), cellValueList, errors)) {
+                list.add(cellValueList);
+            } else {
+                errorHandler.handleRowError(cursor.getRowNum(), cursor.getCells(), cursor.getCellNum(), errors);
+            }
+        }
         return list;
     }
 
     /**
-     * 验证是否是正确的EXCEL
+     * 校验并转换一行数据
+     *
+     * @param cells         单元格值，下标为列号
+     * @param cellNum       当前行的单元格数量，下标不小于该值的列视为空白单元格
+     * @param excelRowDef   excel行对象
+     * @param rowNum        行号，用于记录错误
+     * @param cellValueList 单元格数据存放List
+     * @param errors        错误存放List，数据列比表头列多时只记录一个整行错误
+     * @return 校验通过返回true
+     */
+    public static boolean checkRowData(ExcelCellValue[] cells, int cellNum, ExcelRowDef excelRowDef, int rowNum,
+                                       List<Object> cellValueList, List<ExcelImportError> errors) {
+        return checkRowData(cells, cellNum, excelRowDef, null, rowNum, cellValueList, errors);
+    }
+
+    /**
+     * 校验并转换一行中投影列的数据
+     *
+     * @param cells         单元格值，下标为列号
+     * @param cellNum       当前行的单元格数量，下标不小于该值的列视为空白单元格
+     * @param excelRowDef   excel行对象
+     * @param projection    列投影，为null时校验全部列
+     * @param rowNum        行号，用于记录错误
+     * @param cellValueList 单元格数据存放List，只添加投影的列
+     * @param errors        错误存放List，数据列比表头列多时只记录一个整行错误
+     * @return 校验通过返回true
+     */
+    public static boolean checkRowData(ExcelCellValue[] cells, int cellNum, ExcelRowDef excelRowDef, ExcelProjection projection,
+                                       int rowNum, List<Object> cellValueList, List<ExcelImportError> errors) {
+        int cellCount = excelRowDef.getExcelCellDefListSize();
+        // 数据列比表头列多
+        if (cellCount < cellNum) {
+            errors.add(ExcelImportError.rowError(rowNum, ExcelErrorCode.COLUMN_COUNT_MISMATCH));
+            return false;
+        }
+        int errorCount = errors.size();
+        for (int j = 0; j < cellCount; j++) {
+            if (projection != null && !projection.contains(j)) {
+                continue;
+            }
+            ExcelCellValue cell = j < cellNum ? cells[j] : EMPTY_CELL;
+            ExcelCellDef cellDef = excelRowDef.getCell(j);
+            ExcelErrorCode code = checkCellData(cell, cellDef, cellValueList);
+            if (code != null) {
+                errors.add(new ExcelImportError(rowNum, j, code, cellDef.getName(), cell.getRawValue()));
+            }
+        }
+        return errors.size() == errorCount;
+    }
+
+    /**
+     * 验证Excel工作表是否有数据以及表头是否与模板匹配
      *
      * @param sheet       Excel工作表
      * @param excelRowDef excel行对象
      * @param startRow    起始行号
      * @param errorList   错误记录信息
-     * @return 验证结果 true:正确;false:不正确
+     * @return 验证结果 true:正确;false:不正确，原因保存在errorList中
+     */
+    public static boolean isSheetHeaderMatched(Sheet sheet, ExcelRowDef excelRowDef, int startRow, List<Object> errorList) {
+        ExcelErrorCode code = checkSheet(sheet, excelRowDef, startRow);
+        if (code != null) {
+            errorList.add(code.getMessage(null));
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 验证Excel工作表是否有数据以及表头是否与模板匹配
+     *
+     * @param sheet       Excel工作表
+     * @param excelRowDef excel行对象
+     * @param startRow    起始行号
+     * @return 验证通过返回null，否则返回错误代码
+     */
+    public static ExcelErrorCode checkSheet(Sheet sheet, ExcelRowDef excelRowDef, int startRow) {
+        // Excel合法性验证
+        ExcelErrorCode code = checkExcelSheet(sheet, excelRowDef, startRow);
+        if (code != null) {
+            return code;
+        }
+
+        // 表头匹配验证
+        Row headerRow = sheet.getRow(0);
+        for (int i = 0; i < excelRowDef.getExcelCellDefListSize(); i++) {
+            Cell headerCell = headerRow.getCell(i);
+            if (isCellEmpty(headerCell) || !excelRowDef.getCell(i).getName().equals(headerCell.toString())) {
+                return ExcelErrorCode.HEADER_MISMATCH;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 验证是否是正确的EXCEL
+     *
+     * @param sheet       Excel工作表
+     * @param excelRowDef excel行对象
+     * @param startRow    起始行号
+     * @return 验证通过返回null，否则返回错误代码
      */
-    private static boolean isRightExcelSheet(Sheet sheet, ExcelRowDef excelRowDef, int startRow, List<Object> errorList) {
+    private static ExcelErrorCode checkExcelSheet(Sheet sheet, ExcelRowDef excelRowDef, int startRow) {
         int rows = getSheetRows(sheet);
 
         if (rows == 0) {
-            errorList.add("Excel无数据！");
-            return false;
+            return ExcelErrorCode.NO_DATA;
         }
 
-        if (sheet.getRow(0).getLastCellNum() != excelRowDef.getExcelCellDefListSize()) {
-            errorList.add("表头与模板不匹配，解析失败！");
-            return false;
+        Row headerRow = sheet.getRow(ExcelConstants.DEFAUT_HEADER_SHOW_LINE);
+        if (headerRow == null || headerRow.getLastCellNum() != excelRowDef.getExcelCellDefListSize()) {
+            return ExcelErrorCode.HEADER_MISMATCH;
         }
 
         if (rows == 1) {
-            errorList.add("Excel无数据！");
-            return false;
+            return ExcelErrorCode.NO_DATA;
         }
 
-        if (startRow >= rows) {
-            errorList.add("起始行号超过实际数据行数！");
-            return false;
+        // 有空缺行时物理行数小于最后一行的行号，按最后一行判断
+        if (startRow > sheet.getLastRowNum()) {
+            return ExcelErrorCode.START_ROW_OUT_OF_RANGE;
         }
 
-        return true;
+        return null;
     }
 
     /**
      * 封装单元格数据
      *
-     * @param cell           单元格
+     * @param cell           单元格值
+     * @param errorValue     单元格出错时记录到错误行中的值，工作簿对象模型中为{@link Cell}，流式读取时为单元格原始值
      * @param cellDef        单元格对象
      * @param cellValueList  单元格数据存放List
      * @param errorValueList 错误单元格数据存放List
      * @param errorMsg       错误信息
      */
-    private static void setCellData(Cell cell, ExcelCellDef cellDef, List<Object> cellValueList, List<Object> errorValueList, StringBuilder errorMsg) {
-        if (isCellEmpty(cell)) { // 单元格为空
-            errorValueList.add(null);
+    public static void setCellData(ExcelCellValue cell, Object errorValue, ExcelCellDef cellDef, List<Object> cellValueList, List<Object> errorValueList, StringBuilder errorMsg) {
+        errorValueList.add(cell.isEmpty() ? null : errorValue);
+        ExcelErrorCode code = checkCellData(cell, cellDef, cellValueList);
+        if (code != null) {
+            code.appendTo(errorMsg, cellDef.getName());
+        }
+    }
 
+    /**
+     * 校验并转换单元格数据
+     *
+     * @param cell          单元格值
+     * @param cellDef       单元格对象，为null时不校验
+     * @param cellValueList 单元格数据存放List，校验通过时添加转换后的值
+     * @return 校验通过返回null，否则返回错误代码
+     */
+    public static ExcelErrorCode checkCellData(ExcelCellValue cell, ExcelCellDef cellDef, List<Object> cellValueList) {
+        if (cell.isEmpty()) { // 单元格为空
             // 必填项
-            if (cellDef.isOptional()) {
-                errorMsg.append("单元格\"");
-                errorMsg.append(cellDef.getName());
-                errorMsg.append("\"必须填写，");
-            } else {
-                cellValueList.add(ExcelConstants.BLANK);
+            if (cellDef != null && cellDef.isOptional()) {
+                return ExcelErrorCode.REQUIRED;
             }
+            cellValueList.add(ExcelConstants.BLANK);
         } else if (null == cellDef) {
-            errorValueList.add(cell);
+            return null;
         } else if (cellDef.getType() == ExcelConstants.UNCHECKED ||
-                cell.getCellType() == cellDef.getType()) { // 不检查类型的单元格或者类型匹配的单元格
-            errorValueList.add(cell);
-
-            if (cell.getCellType() == Cell.CELL_TYPE_NUMERIC) {
-                try {
-                    if (ExcelDateFormat.isCellDateFormatted(cell)) {// 处理日期格式、时间格式
-                        if (Date.class.getName().equals(cellDef.getJavaType().getName())) {
-                            cellValueList.add(cell.getDateCellValue());
-                        } else {
-                            SimpleDateFormat sdf = null;
-                            if (cell.getCellStyle().getDataFormat() == BuiltinFormats.getBuiltinFormat("h:mm")) {
-                                sdf = new SimpleDateFormat("HH:mm");
-                            } else { // 日期
-                                sdf = new SimpleDateFormat("yyyy-MM-dd");
-                            }
-                            cellValueList.add(sdf.format(cell.getDateCellValue()));
-                        }
-                    } else {
-                        double value = cell.getNumericCellValue();
-                        int valueInt = (int) value;
-                        DecimalFormat format = new DecimalFormat("#");
-                        // 是否是整数
-                        boolean isIntegerNum = false;
-                        if (value == valueInt) {
-                            isIntegerNum = true;
-                        }
-
-                        if (Long.class.getName().equals(cellDef.getJavaType().getName())) {
-                            if (isIntegerNum) {
-                                cellValueList.add(Long.valueOf(format.format(value)));
-                            } else {
-                                errorMsg.append("单元格\"");
-                                errorMsg.append(cellDef.getName());
-                                errorMsg.append("\"格式错误，");
-                            }
-                        } else if (Integer.class.getName().equals(cellDef.getJavaType().getName())) {
-                            if (isIntegerNum) {
-                                cellValueList.add(Integer.valueOf(format.format(value)));
-                            } else {
-                                errorMsg.append("单元格\"");
-                                errorMsg.append(cellDef.getName());
-                                errorMsg.append("\"格式错误，");
-                            }
-                        } else if (Short.class.getName().equals(cellDef.getJavaType().getName())) {
-                            if (isIntegerNum) {
-                                cellValueList.add(Short.valueOf(format.format(value)));
-                            } else {
-                                errorMsg.append("单元格\"");
-                                errorMsg.append(cellDef.getName());
-                                errorMsg.append("\"格式错误，");
-                            }
-                        } else if (Byte.class.getName().equals(cellDef.getJavaType().getName())) {
-                            if (isIntegerNum) {
-                                cellValueList.add(Byte.valueOf(format.format(value)));
-                            } else {
-                                errorMsg.append("单元格\"");
-                                errorMsg.append(cellDef.getName());
-                                errorMsg.append("\"格式错误，");
-                            }
-                        } else if (Double.class.getName().equals(cellDef.getJavaType().getName())) {
-                            cellValueList.add(value);
-                        } else if (Float.class.getName().equals(cellDef.getJavaType().getName())) {
-                            cellValueList.add(Double.valueOf(value).floatValue());
-                        } else {
-                            cellValueList.add(String.valueOf(value));
-                        }
-                    }
-                } catch (Exception e) {
-                    log.info("格式转换错误！");
-                    errorMsg.append("单元格\"");
-                    errorMsg.append(cellDef.getName());
-                    errorMsg.append("\"格式错误，");
+                cell.getType() == cellDef.getType()) { // 不检查类型的单元格或者类型匹配的单元格
+            if (cell.getType() == Cell.CELL_TYPE_NUMERIC) {
+                Object value = cellDef.getConverter().convert(cell);
+                if (value == null) {
+                    return ExcelErrorCode.FORMAT_ERROR;
                 }
-            } else if (cell.getCellType() == Cell.CELL_TYPE_BOOLEAN) {
-                cellValueList.add(cell.toString().toLowerCase());
+                cellValueList.add(value);
+            } else if (cell.getType() == Cell.CELL_TYPE_BOOLEAN) {
+                cellValueList.add(cell.getBooleanValue() ? "true" : "false");
             } else {
                 cellValueList.add(cell.toString());
             }
         } else { // 不匹配的单元格
-            log.info("当前的类型:{}, 需要的类型:{}", cell.getCellType(), cellDef.getType());
-            errorMsg.append("单元格\"");
-            errorMsg.append(cellDef.getName());
-            errorMsg.append("\"格式错误，");
-
-            errorValueList.add(cell);
+            log.info("当前的类型:{}, 需要的类型:{}", cell.getType(), cellDef.getType());
+            return ExcelErrorCode.TYPE_MISMATCH;
         }
-    }
-
-    /**
-     * 判断当前行是否是空行
-     *
-     * @param row       当前行
-     * @param cellCount 当前行单元格数量
-     * @return true：是；false：否
-     */
-    private static boolean isEmptyRow(Row row, int cellCount) {
-        boolean isEmpty = true;
-        for (int j = 0; j < cellCount; j++) {
-            if (!isCellEmpty(row.getCell(j))) {
-                isEmpty = false;
-                break;
-            }
-        }
-        return isEmpty;
+        return null;
     }
 
     /**
@@ -0,0 +1,196 @@
+package com.belonk.msoffice.excel.util;
+
+import com.belonk.msoffice.excel.ExcelStyle;
+import com.belonk.msoffice.excel.ExcelTemplate;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * 多工作表并行导出(.xlsx)。
+ * <p>
+ * 基于{@link SXSSFWorkbook}，每个工作表的行数据写入各自的临时文件，工作表之间没有共享的可变状态，因此可以在线程池中
+ * 并行填充。工作表和样式在填充前由调用线程统一创建，填充完成后再由调用线程将各工作表的临时文件依次写入最终的xlsx压缩包。
+ * <p>
+ * 每个工作表的数据行由{@link Supplier}在填充线程中获取，如按区域查询数据库，查询与写入都可以并行进行。
+ */
+public class ParallelWorkbookExporter {
+    private static Logger log = LoggerFactory.getLogger(ParallelWorkbookExporter.class);
+
+    private final int rowAccessWindowSize;
+    private final boolean compressTmpFiles;
+    private final List<SheetDef> sheets = new ArrayList<SheetDef>();
+
+    /**
+     * 使用默认的行访问窗口，临时文件不压缩
+     */
+    public ParallelWorkbookExporter() {
+        this(SXSSFWorkbook.DEFAULT_WINDOW_SIZE, false);
+    }
+
+    /**
+     * @param rowAccessWindowSize 每个工作表的行访问窗口大小
+     * @param compressTmpFiles    是否使用gzip压缩临时文件
+     * @see POIExcelUtil#createSXSSFWorkbook(int, boolean)
+     */
+    public ParallelWorkbookExporter(int rowAccessWindowSize, boolean compressTmpFiles) {
+        this.rowAccessWindowSize = rowAccessWindowSize;
+        this.compressTmpFiles = compressTmpFiles;
+    }
+
+    /**
+     * 添加工作表
+     *
+     * @param sheetName 工作表名称
+     * @param titles    表头名称
+     * @param rows      数据行，在填充线程中调用
+     * @return 导出器
+     */
+    public ParallelWorkbookExporter addSheet(String sheetName, String[] titles, Supplier<? extends Iterator<? extends List<?>>> rows) {
+        return addSheet(sheetName, titles, null, rows, null);
+    }
+
+    /**
+     * 添加工作表
+     *
+     * @param sheetName    工作表名称
+     * @param titles       表头名称
+     * @param headerStyle  表头样式，为null时不设置
+     * @param rows         数据行，在填充线程中调用
+     * @param columnStyles 每列的数据样式，为null时不设置
+     * @return 导出器
+     */
+    public ParallelWorkbookExporter addSheet(String sheetName, String[] titles, ExcelStyle headerStyle,
+                                             Supplier<? extends Iterator<? extends List<?>>> rows, ExcelStyle[] columnStyles) {
+        sheets.add(new SheetDef(sheetName, titles, headerStyle, rows, columnStyles));
+        return this;
+    }
+
+    /**
+     * 按模板添加工作表，表头和样式使用模板中的定义
+     *
+     * @param sheetName 工作表名称
+     * @param template  模板
+     * @param rows      数据行，在填充线程中调用
+     * @return 导出器
+     */
+    public ParallelWorkbookExporter addTemplateSheet(String sheetName, ExcelTemplate template, Supplier<? extends Iterator<? extends List<?>>> rows) {
+        return addSheet(sheetName, template.getTitles(), template.getHeaderStyle(), rows, template.getColumnStyles());
+    }
+
+    /**
+     * 使用指定数量的线程填充工作表并输出，输出完毕后关闭线程池
+     *
+     * @param outputStream 输出流，输出完毕后不会关闭
+     * @param threads      线程数量
+     * @throws IOException IO异常
+     */
+    public void export(OutputStream outputStream, int threads) throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, sheets.size())));
+        try {
+            export(outputStream, executor);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 使用指定的线程池填充工作表并输出
+     *
+     * @param outputStream 输出流，输出完毕后不会关闭
+     * @param executor     线程池，不会被关闭
+     * @throws IOException IO异常
+     */
+    public void export(OutputStream outputStream, ExecutorService executor) throws IOException {
+        SXSSFWorkbook workbook = POIExcelUtil.createSXSSFWorkbook(rowAccessWindowSize, compressTmpFiles);
+        try {
+            // 工作表和样式在调用线程中创建，填充线程只读取
+            ExcelStyleRegistry styleRegistry = new ExcelStyleRegistry(workbook);
+            List<Future<Integer>> futures = new ArrayList<Future<Integer>>(sheets.size());
+            for (SheetDef sheetDef : sheets) {
+                final Sheet sheet = workbook.createSheet(sheetDef.sheetName);
+                final String[] titles = sheetDef.titles;
+                final CellStyle headerStyle = sheetDef.headerStyle == null ? null : styleRegistry.get(sheetDef.headerStyle);
+                final CellStyle[] columnStyles = sheetDef.columnStyles == null ? null : styleRegistry.get(sheetDef.columnStyles);
+                final Supplier<? extends Iterator<? extends List<?>>> rows = sheetDef.rows;
+                futures.add(executor.submit(() -> {
+                    if (titles != null) {
+                        POIExcelUtil.setHeader(sheet, titles, headerStyle);
+                    }
+                    return POIExcelUtil.setWorkbookData(sheet, rows.get(), columnStyles);
+                }));
+            }
+            awaitAll(futures);
+        } catch (IOException | RuntimeException | Error e) {
+            workbook.dispose();
+            throw e;
+        }
+        POIExcelUtil.write(workbook, outputStream);
+    }
+
+    /**
+     * 等待所有工作表填充完毕，任一工作表失败时在全部任务结束后抛出第一个异常。正在填充的任务会写入临时文件，
+     * 必须等待其结束后才能删除临时文件。
+     */
+    private void awaitAll(List<Future<Integer>> futures) throws IOException {
+        Throwable error = null;
+        boolean interrupted = false;
+        for (Future<Integer> future : futures) {
+            while (true) {
+                try {
+                    log.debug("工作表填充完毕，行数：{}", future.get());
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    if (error == null) {
+                        error = e.getCause();
+                    }
+                    break;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (error instanceof IOException) {
+            throw (IOException) error;
+        } else if (error instanceof RuntimeException) {
+            throw (RuntimeException) error;
+        } else if (error instanceof Error) {
+            throw (Error) error;
+        } else if (error != null) {
+            throw new IOException(error);
+        }
+    }
+
+    private static class SheetDef {
+        private final String sheetName;
+        private final String[] titles;
+        private final ExcelStyle headerStyle;
+        private final Supplier<? extends Iterator<? extends List<?>>> rows;
+        private final ExcelStyle[] columnStyles;
+
+        SheetDef(String sheetName, String[] titles, ExcelStyle headerStyle,
+                 Supplier<? extends Iterator<? extends List<?>>> rows, ExcelStyle[] columnStyles) {
+            this.sheetName = sheetName;
+            this.titles = titles;
+            this.headerStyle = headerStyle;
+            this.rows = rows;
+            this.columnStyles = columnStyles;
+        }
+    }
+}
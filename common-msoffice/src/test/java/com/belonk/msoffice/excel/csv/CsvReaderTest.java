@@ -0,0 +1,100 @@
+package com.belonk.msoffice.excel.csv;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * CSV读取器测试。
+ */
+public class CsvReaderTest {
+    // 与CsvReader的缓冲区大小一致
+    private static final int BUFFER_SIZE = 8192;
+
+    @Test
+    public void testQuotedSeparator() throws IOException {
+        List<List<String>> rows = read("a,\"b,c\",d\r\n\",\",\"\"");
+        assertEquals(Arrays.asList("a", "b,c", "d"), rows.get(0));
+        assertEquals(Arrays.asList(",", ""), rows.get(1));
+        assertEquals(Arrays.asList("a;b", "c,d"), read("\"a;b\";c,d", ';').get(0));
+    }
+
+    @Test
+    public void testDoubledQuotes() throws IOException {
+        List<List<String>> rows = read("\"say \"\"hi\"\"\",\"\"\"\",\"\"\r\n");
+        assertEquals(1, rows.size());
+        assertEquals(Arrays.asList("say \"hi\"", "\"", ""), rows.get(0));
+    }
+
+    @Test
+    public void testEmbeddedLineBreaks() throws IOException {
+        List<List<String>> rows = read("\"line1\r\nline2\",z\r\n\"a\rb\nc\"\r\nnext");
+        assertEquals(3, rows.size());
+        assertEquals(Arrays.asList("line1\r\nline2", "z"), rows.get(0));
+        assertEquals(Arrays.asList("a\rb\nc"), rows.get(1));
+        assertEquals(Arrays.asList("next"), rows.get(2));
+    }
+
+    @Test
+    public void testCrAtBufferBoundary() throws IOException {
+        String field = repeat('a', BUFFER_SIZE - 1);
+        // CRLF跨越缓冲区边界，不能多出空行
+        List<List<String>> rows = read(field + "\r\nb");
+        assertEquals(2, rows.size());
+        assertEquals(Arrays.asList(field), rows.get(0));
+        assertEquals(Arrays.asList("b"), rows.get(1));
+        // 单独的CR位于缓冲区末尾，下一个缓冲区的第一个字符属于下一行
+        rows = read(field + "\rb\rc");
+        assertEquals(3, rows.size());
+        assertEquals(Arrays.asList(field), rows.get(0));
+        assertEquals(Arrays.asList("b"), rows.get(1));
+        assertEquals(Arrays.asList("c"), rows.get(2));
+        // 文件以CR结尾
+        rows = read(field + "\r");
+        assertEquals(1, rows.size());
+        assertEquals(Arrays.asList(field), rows.get(0));
+    }
+
+    @Test
+    public void testBom() throws IOException {
+        byte[] bytes = "\uFEFFname,age\r\n\uFEFFx,1".getBytes(StandardCharsets.UTF_8);
+        List<List<String>> rows = read(CsvReader.create(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8));
+        assertEquals(Arrays.asList("name", "age"), rows.get(0));
+        // 只跳过开头的BOM
+        assertEquals(Arrays.asList("\uFEFFx", "1"), rows.get(1));
+        // 只有BOM的文件没有数据行
+        assertEquals(0, read("\uFEFF").size());
+    }
+
+    private static List<List<String>> read(String csv) throws IOException {
+        return read(new CsvReader(new StringReader(csv)));
+    }
+
+    private static List<List<String>> read(String csv, char separator) throws IOException {
+        return read(new CsvReader(new StringReader(csv), separator));
+    }
+
+    private static List<List<String>> read(CsvReader reader) throws IOException {
+        List<List<String>> rows = new ArrayList<List<String>>();
+        List<String> fields = new ArrayList<String>();
+        while (reader.readRow(fields)) {
+            rows.add(new ArrayList<String>(fields));
+        }
+        reader.close();
+        return rows;
+    }
+
+    private static String repeat(char c, int count) {
+        char[] chars = new char[count];
+        Arrays.fill(chars, c);
+        return new String(chars);
+    }
+}
@@ -0,0 +1,160 @@
+package com.belonk.msoffice.excel.stream;
+
+import com.belonk.msoffice.excel.ExcelConstants;
+import com.belonk.msoffice.excel.ExcelFormat;
+import com.belonk.msoffice.excel.ExcelRowDef;
+import com.belonk.msoffice.excel.mapping.ExcelColumn;
+import com.belonk.msoffice.excel.mapping.ExcelRowMapper;
+import org.apache.poi.ss.usermodel.Cell;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * CSV导入测试，类型推断和转换规则与Excel一致。
+ */
+public class CsvSheetParserTest {
+    private static final String[] TITLES = {"编号", "数量", "金额", "启用", "备注"};
+
+    @Test
+    public void testExactIntegral() throws IOException {
+        ExcelRowDef rowDef = new ExcelRowDef();
+        rowDef.addCell("id", ExcelConstants.UNCHECKED, Long.class);
+        rowDef.addCell("count", ExcelConstants.UNCHECKED, Integer.class);
+        RowCollector collector = new RowCollector();
+        read(new ExcelStreamReader(rowDef, collector), "id,count\r\n"
+                + "9007199254740993,2.0\r\n"
+                + "9223372036854775808,1\r\n"
+                + "1,2147483648\r\n"
+                + "-9223372036854775808,1e3\r\n"
+                + "1.5,1\r\n");
+        // 超出double精度的Long值不舍入
+        assertEquals(Arrays.<Object>asList(9007199254740993L, 2), collector.rows.get(1));
+        assertEquals(Arrays.<Object>asList(Long.MIN_VALUE, 1000), collector.rows.get(4));
+        // 超出JAVA类型范围或不是整数时为格式错误
+        assertEquals(Arrays.asList(2, 3, 5), new ArrayList<Integer>(collector.errors.keySet()));
+    }
+
+    @Test
+    public void testExactIntegralMapping() throws IOException {
+        List<Object> errorList = new ArrayList<Object>();
+        ObjectCollector<Item> collector = new ObjectCollector<Item>();
+        byte[] csv = ("id,count\r\n"
+                + "9007199254740993,7\r\n"
+                + "9007199254740993.5,7\r\n"
+                + "9223372036854775808,7\r\n"
+                + "1,2147483648\r\n").getBytes(StandardCharsets.UTF_8);
+        new ExcelStreamReader(ExcelRowMapper.of(Item.class), collector)
+                .readCsv(new ByteArrayInputStream(csv), StandardCharsets.UTF_8, errorList);
+        assertEquals(1, collector.rows.size());
+        assertEquals(9007199254740993L, collector.rows.get(1).id);
+        assertEquals(7, collector.rows.get(1).count);
+        assertEquals(Arrays.asList(2, 3, 4), new ArrayList<Integer>(collector.errors.keySet()));
+    }
+
+    @Test
+    public void testBigDecimalKeepsText() throws IOException {
+        ExcelRowDef rowDef = new ExcelRowDef();
+        rowDef.addCell("amount", ExcelConstants.UNCHECKED, BigDecimal.class);
+        RowCollector collector = new RowCollector();
+        read(new ExcelStreamReader(rowDef, collector), "amount\r\n12345678901234567890.12\r\n");
+        assertEquals(Arrays.<Object>asList("12345678901234567890.12"), collector.rows.get(1));
+    }
+
+    @Test
+    public void testCsvAndXlsxRoundTrip() throws IOException {
+        List<List<?>> data = new ArrayList<List<?>>();
+        data.add(Arrays.asList(1.0, 3.0, 2.5, Boolean.TRUE, "001"));
+        data.add(Arrays.asList(123456789.0, 0.0, -0.125, Boolean.FALSE, "a,\"b\"\nc"));
+        RowCollector csv = roundTrip(ExcelFormat.CSV, data);
+        // xlsx中的换行统一为LF，CRLF见CsvReaderTest
+        RowCollector xlsx = roundTrip(ExcelFormat.XLSX, data);
+        assertTrue(csv.errors.isEmpty());
+        assertTrue(xlsx.errors.isEmpty());
+        assertEquals(xlsx.rows, csv.rows);
+        assertEquals(Arrays.<Object>asList(1L, 3, 2.5, "true", "001"), csv.rows.get(1));
+        assertEquals(Arrays.<Object>asList(123456789L, 0, -0.125, "false", "a,\"b\"\nc"), csv.rows.get(2));
+    }
+
+    /**
+     * 不要求数值类型的字符串列，CSV保留原始文本，Excel的数值单元格转换为double的文本，见{@link ExcelFormat#CSV}
+     */
+    @Test
+    public void testStringColumnDifference() throws IOException {
+        List<List<?>> data = new ArrayList<List<?>>();
+        data.add(Arrays.asList(1.0, 3.0, 2.5, Boolean.TRUE, 2.0));
+        assertEquals("2", roundTrip(ExcelFormat.CSV, data).rows.get(1).get(4));
+        assertEquals("2.0", roundTrip(ExcelFormat.XLSX, data).rows.get(1).get(4));
+    }
+
+    private static RowCollector roundTrip(ExcelFormat format, List<List<?>> data) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        format.write(outputStream, TITLES, data.iterator());
+        ExcelRowDef rowDef = new ExcelRowDef();
+        rowDef.addCell(TITLES[0], ExcelConstants.UNCHECKED, Long.class);
+        rowDef.addCell(TITLES[1], Cell.CELL_TYPE_NUMERIC, Integer.class);
+        rowDef.addCell(TITLES[2], ExcelConstants.UNCHECKED, Double.class);
+        rowDef.addCell(TITLES[3], Cell.CELL_TYPE_BOOLEAN, Boolean.class);
+        rowDef.addCell(TITLES[4], ExcelConstants.UNCHECKED, String.class);
+        RowCollector collector = new RowCollector();
+        List<Object> errorList = new ArrayList<Object>();
+        new ExcelStreamReader(rowDef, collector).read(new ByteArrayInputStream(outputStream.toByteArray()), format, 0, errorList);
+        assertTrue(errorList.isEmpty());
+        return collector;
+    }
+
+    private static void read(ExcelStreamReader reader, String csv) throws IOException {
+        List<Object> errorList = new ArrayList<Object>();
+        reader.readCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8, errorList);
+        assertTrue(errorList.isEmpty());
+    }
+
+    public static class Item {
+        @ExcelColumn(index = 0, name = "id")
+        private long id;
+        @ExcelColumn(index = 1, name = "count")
+        private int count;
+    }
+
+    private static class RowCollector implements ExcelRowHandler {
+        private final Map<Integer, List<Object>> rows = new TreeMap<Integer, List<Object>>();
+        private final Map<Integer, List<Object>> errors = new TreeMap<Integer, List<Object>>();
+
+        @Override
+        public void handle(int rowNum, List<Object> rowData) {
+            rows.put(rowNum, new ArrayList<Object>(rowData));
+        }
+
+        @Override
+        public void handleError(int rowNum, List<Object> errorData) {
+            errors.put(rowNum, new ArrayList<Object>(errorData));
+        }
+    }
+
+    private static class ObjectCollector<T> implements ExcelObjectHandler<T> {
+        private final Map<Integer, T> rows = new TreeMap<Integer, T>();
+        private final Map<Integer, List<Object>> errors = new TreeMap<Integer, List<Object>>();
+
+        @Override
+        public void handle(int rowNum, T row) {
+            rows.put(rowNum, row);
+        }
+
+        @Override
+        public void handleError(int rowNum, List<Object> errorData) {
+            errors.put(rowNum, new ArrayList<Object>(errorData));
+        }
+    }
+}
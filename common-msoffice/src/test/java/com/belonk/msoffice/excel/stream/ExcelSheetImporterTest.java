@@ -0,0 +1,139 @@
+package com.belonk.msoffice.excel.stream;
+
+import com.belonk.msoffice.excel.ExcelRowDef;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * 多工作表导入测试。
+ */
+public class ExcelSheetImporterTest {
+    private static final int ROWS = 20000;
+
+    @Test
+    public void testImportSheets() throws Exception {
+        File file = workbook();
+        try {
+            List<ExcelSheetData> sheets = importer().importSheets(file, 2);
+            assertEquals(2, sheets.size());
+            assertEquals(ROWS, sheets.get(0).getDataList().size());
+            assertEquals(Collections.<Object>singletonList("row" + ROWS), sheets.get(1).getDataList().get(ROWS - 1));
+        } finally {
+            assertTrue(file.delete());
+        }
+    }
+
+    /**
+     * 线程池拒绝后续任务时，已提交的任务不能在解析器关闭后继续读取共享字符串
+     */
+    @Test
+    public void testRejectedSubmit() throws Exception {
+        File file = workbook();
+        RejectingExecutor executor = new RejectingExecutor();
+        try {
+            try {
+                importer().importSheets(file, executor);
+                fail("Second task must be rejected");
+            } catch (RejectedExecutionException e) {
+                // 期望的结果
+            }
+            // 任务要么在放弃导入前已结束，要么不再解析，都不会读取已关闭的共享字符串
+            assertNull(executor.first.get(10, TimeUnit.SECONDS));
+        } finally {
+            assertTrue(file.delete());
+        }
+    }
+
+    private static ExcelSheetImporter importer() {
+        ExcelRowDef rowDef = new ExcelRowDef();
+        rowDef.addCell("name");
+        return new ExcelSheetImporter(rowDef).sharedStringsCache(100);
+    }
+
+    /**
+     * 两个工作表，每个都有大量使用共享字符串的数据行
+     */
+    private static File workbook() throws IOException {
+        XSSFWorkbook workbook = new XSSFWorkbook();
+        for (int s = 0; s < 2; s++) {
+            Sheet sheet = workbook.createSheet();
+            sheet.createRow(0).createCell(0).setCellValue("name");
+            for (int i = 1; i <= ROWS; i++) {
+                sheet.createRow(i).createCell(0).setCellValue("row" + i);
+            }
+        }
+        File file = File.createTempFile("sheets", ".xlsx");
+        try (OutputStream outputStream = new FileOutputStream(file)) {
+            workbook.write(outputStream);
+        }
+        return file;
+    }
+
+    /**
+     * 第一个任务在新线程中执行，开始执行后拒绝其他任务
+     */
+    private static class RejectingExecutor extends AbstractExecutorService {
+        private final CountDownLatch started = new CountDownLatch(1);
+        private volatile Future<?> first;
+
+        @Override
+        public void execute(Runnable command) {
+            if (first != null) {
+                try {
+                    started.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new RejectedExecutionException("Rejected for test");
+            }
+            // submit提交的任务是FutureTask
+            first = (Future<?>) command;
+            new Thread(() -> {
+                started.countDown();
+                command.run();
+            }).start();
+        }
+
+        @Override
+        public void shutdown() {
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return false;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return false;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.belonk.msoffice.excel.stream;
+
+import com.belonk.msoffice.excel.ExcelFormat;
+import com.belonk.msoffice.excel.ExcelRowDef;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * xlsx解析测试，上传的文件中的DOCTYPE和外部实体必须被拒绝。
+ */
+public class XSSFWorkbookParserTest {
+    private static final String SECRET = "secret-from-local-file";
+
+    @Test
+    public void testRejectExternalEntityInSheet() throws IOException {
+        File secret = secretFile();
+        try {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            List<List<?>> rows = Collections.<List<?>>singletonList(Arrays.asList("value"));
+            ExcelFormat.XLSX.write(outputStream, new String[]{"name"}, rows.iterator());
+            byte[] xlsx = injectDoctype(outputStream.toByteArray(), "xl/worksheets/sheet1.xml", secret);
+
+            ExcelRowDef rowDef = new ExcelRowDef();
+            rowDef.addCell("name");
+            List<Object> imported = new ArrayList<Object>();
+            ExcelStreamReader reader = new ExcelStreamReader(rowDef, new ExcelRowHandler() {
+                @Override
+                public void handle(int rowNum, List<Object> rowData) {
+                    imported.addAll(rowData);
+                }
+
+                @Override
+                public void handleError(int rowNum, List<Object> errorData) {
+                    imported.addAll(errorData);
+                }
+            });
+            try {
+                reader.read(new ByteArrayInputStream(xlsx), 0, new ArrayList<Object>());
+                fail("DOCTYPE in sheet must be rejected");
+            } catch (IOException e) {
+                assertTrue(imported.toString(), !imported.toString().contains(SECRET));
+            }
+        } finally {
+            assertTrue(secret.delete());
+        }
+    }
+
+    @Test
+    public void testSharedStrings() throws IOException {
+        byte[] xlsx = sharedStringsWorkbook();
+        assertEquals(Arrays.<Object>asList("value"), readFirstRow(xlsx, 0));
+        assertEquals(Arrays.<Object>asList("value"), readFirstRow(xlsx, 10));
+    }
+
+    @Test
+    public void testRejectExternalEntityInSharedStrings() throws IOException {
+        File secret = secretFile();
+        try {
+            byte[] xlsx = injectDoctype(sharedStringsWorkbook(), "xl/sharedStrings.xml", secret);
+            // 全部读入内存和写入临时文件两种方式
+            for (int cacheSize : new int[]{0, 10}) {
+                try {
+                    readFirstRow(xlsx, cacheSize);
+                    fail("DOCTYPE in shared strings must be rejected");
+                } catch (IOException e) {
+                    // 期望的结果
+                }
+            }
+        } finally {
+            assertTrue(secret.delete());
+        }
+    }
+
+    /**
+     * 使用共享字符串的工作簿，SXSSF写出的是内联字符串
+     */
+    private static byte[] sharedStringsWorkbook() throws IOException {
+        XSSFWorkbook workbook = new XSSFWorkbook();
+        Sheet sheet = workbook.createSheet();
+        sheet.createRow(0).createCell(0).setCellValue("name");
+        sheet.createRow(1).createCell(0).setCellValue("value");
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        workbook.write(outputStream);
+        return outputStream.toByteArray();
+    }
+
+    private static List<Object> readFirstRow(byte[] xlsx, int sharedStringsCacheSize) throws IOException {
+        ExcelRowDef rowDef = new ExcelRowDef();
+        rowDef.addCell("name");
+        List<Object> row = new ArrayList<Object>();
+        List<Object> errorList = new ArrayList<Object>();
+        new ExcelStreamReader(rowDef, new ExcelRowHandler() {
+            @Override
+            public void handle(int rowNum, List<Object> rowData) {
+                row.addAll(rowData);
+            }
+
+            @Override
+            public void handleError(int rowNum, List<Object> errorData) {
+                row.addAll(errorData);
+            }
+        }).sharedStringsCache(sharedStringsCacheSize).read(new ByteArrayInputStream(xlsx), 0, errorList);
+        assertTrue(errorList.toString(), errorList.isEmpty());
+        return row;
+    }
+
+    /**
+     * 在指定部件的xml声明之后插入引用本地文件的外部实体，并在第一个字符串中引用该实体
+     */
+    static byte[] injectDoctype(byte[] xlsx, String partName, File secret) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (ZipInputStream zipInputStream = new ZipInputStream(new ByteArrayInputStream(xlsx));
+             ZipOutputStream zipOutputStream = new ZipOutputStream(outputStream)) {
+            ZipEntry entry;
+            boolean injected = false;
+            while ((entry = zipInputStream.getNextEntry()) != null) {
+                byte[] content = readAll(zipInputStream);
+                if (entry.getName().equals(partName)) {
+                    String xml = new String(content, StandardCharsets.UTF_8);
+                    int declarationEnd = xml.indexOf("?>") + 2;
+                    xml = xml.substring(0, declarationEnd)
+                            + "<!DOCTYPE root [<!ENTITY xxe SYSTEM \"" + secret.toURI() + "\">]>"
+                            + xml.substring(declarationEnd).replaceFirst("<t>", "<t>&xxe;");
+                    content = xml.getBytes(StandardCharsets.UTF_8);
+                    injected = true;
+                }
+                zipOutputStream.putNextEntry(new ZipEntry(entry.getName()));
+                zipOutputStream.write(content);
+                zipOutputStream.closeEntry();
+            }
+            assertTrue("Part not found : " + partName, injected);
+        }
+        return outputStream.toByteArray();
+    }
+
+    static File secretFile() throws IOException {
+        File secret = File.createTempFile("xxe", ".txt");
+        Files.write(secret.toPath(), SECRET.getBytes(StandardCharsets.UTF_8));
+        return secret;
+    }
+
+    private static byte[] readAll(InputStream inputStream) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int n;
+        while ((n = inputStream.read(buffer)) > 0) {
+            outputStream.write(buffer, 0, n);
+        }
+        assertEquals(-1, inputStream.read());
+        return outputStream.toByteArray();
+    }
+}